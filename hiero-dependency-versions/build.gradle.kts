@@ -43,6 +43,8 @@ dependencies.constraints {
     api("org.assertj:assertj-core:3.27.3") { because("org.assertj.core") }
     api("org.junit.jupiter:junit-jupiter-api:5.11.4") { because("org.junit.jupiter.api") }
     api("org.mockito:mockito-core:5.15.2") { because("org.mockito") }
+    api("org.openjdk.jmh:jmh-core:1.37") { because("jmh.core") }
+    api("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 
     api("com.google.protobuf:protoc:$protobuf")
     api("io.grpc:protoc-gen-grpc-java:$grpc")
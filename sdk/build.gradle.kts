@@ -4,6 +4,7 @@ plugins {
     id("org.hiero.gradle.feature.protobuf")
     id("org.hiero.gradle.feature.test-integration")
     id("org.hiero.gradle.feature.publish-dependency-constraints")
+    id("org.hiero.gradle.feature.benchmark")
 }
 
 description = "Hedera™ Hashgraph SDK for Java"
@@ -42,6 +43,22 @@ testIntegrationModuleInfo {
     runtimeOnly("org.slf4j.simple")
 }
 
+jmhModuleInfo {
+    requires("jmh.core")
+
+    runtimeOnly("io.grpc.netty.shaded")
+    runtimeOnly("org.slf4j.simple")
+}
+
+// Benchmarks comparing ExecutionModel.PLATFORM_THREADS with ExecutionModel.VIRTUAL_THREADS need a runtime with
+// virtual threads
+jmh {
+    jvm =
+        javaToolchains
+            .launcherFor { languageVersion = JavaLanguageVersion.of(21) }
+            .map { it.executablePath.asFile.absolutePath }
+}
+
 protobuf {
     generateProtoTasks {
         all().configureEach {
@@ -0,0 +1,102 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares signing transactions for a third of mainnet with a remote signer which is called once per signature, once
+ * per transaction and once per batch of transactions. The remote signer is simulated by
+ * {@link InMemoryTransactionSigner} with a fixed round trip time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class AsyncTransactionSignerBenchmark {
+    private static final PrivateKey PRIVATE_KEY = PrivateKey.generateECDSA();
+    private static final AccountId ACCOUNT_ID = new AccountId(1800);
+
+    @Param({"10"})
+    public int nodeCount;
+
+    @Param({"20"})
+    public int transactionCount;
+
+    @Param({"5"})
+    public long roundTripMillis;
+
+    private InMemoryTransactionSigner signer;
+    private List<AccountId> nodeAccountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        signer = new InMemoryTransactionSigner(PRIVATE_KEY, Duration.ofMillis(roundTripMillis));
+        nodeAccountIds = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            nodeAccountIds.add(new AccountId(3 + i));
+        }
+    }
+
+    @Benchmark
+    public void perSignature() {
+        for (int i = 0; i < transactionCount; i++) {
+            newTransaction()
+                    .signWith(
+                            PRIVATE_KEY.getPublicKey(),
+                            body -> PresignedTransactionSigner.signNow(signer, body))
+                    .toBytes();
+        }
+    }
+
+    @Benchmark
+    public void perTransaction() {
+        for (int i = 0; i < transactionCount; i++) {
+            newTransaction().signWithAsync(PRIVATE_KEY.getPublicKey(), signer).toBytes();
+        }
+    }
+
+    @Benchmark
+    public void batched() {
+        var batchingSigner = new BatchingTransactionSigner(signer, nodeCount * transactionCount, Duration.ofSeconds(1));
+
+        var transactions = new ArrayList<TransferTransaction>(transactionCount);
+        var futures = new CompletableFuture<?>[transactionCount];
+        for (int i = 0; i < transactionCount; i++) {
+            var transaction = newTransaction().signWithAsync(PRIVATE_KEY.getPublicKey(), batchingSigner);
+            transactions.add(transaction);
+            futures[i] = transaction.requestAsyncSignatures();
+        }
+        CompletableFuture.allOf(futures).join();
+
+        for (var transaction : transactions) {
+            transaction.toBytes();
+        }
+    }
+
+    private TransferTransaction newTransaction() {
+        return new TransferTransaction()
+                .addHbarTransfer(ACCOUNT_ID, new Hbar(1).negated())
+                .addHbarTransfer(new AccountId(1801), new Hbar(1))
+                .setNodeAccountIds(nodeAccountIds)
+                .setTransactionId(TransactionId.generate(ACCOUNT_ID))
+                .freeze();
+    }
+}
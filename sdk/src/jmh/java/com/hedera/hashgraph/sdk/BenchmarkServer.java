@@ -0,0 +1,96 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.logger.LogLevel;
+import com.hedera.hashgraph.sdk.logger.Logger;
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+/**
+ * In-process consensus nodes for benchmarks, modeled after the {@code TestServer} used by the unit tests.
+ * <p>
+ * Responses can be delayed to simulate network latency without blocking the server threads.
+ */
+class BenchmarkServer implements AutoCloseable {
+    private static final PrivateKey OPERATOR_KEY = PrivateKey.fromString(
+            "302e020100300506032b657004220420d45e1557156908c967804615af59a000be88c7aa7058bfcbe0f46b16c28f887d");
+
+    private static final ScheduledExecutorService RESPONDER = Executors.newScheduledThreadPool(2, r -> {
+        Thread t = new Thread(r, "benchmark-server-responder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    final Client client;
+    private final Server[] grpcServers;
+
+    BenchmarkServer(String name, int nodeCount, BindableService... services) throws IOException {
+        this(name, nodeCount, nodeIndex -> services);
+    }
+
+    /**
+     * Constructor for nodes which behave differently, e.g. to simulate a slow node.
+     *
+     * @param name                      the name prefix of the in-process servers
+     * @param nodeCount                 the number of nodes
+     * @param servicesForNode           the services of the node with the given index
+     * @throws IOException              when a server fails to start
+     */
+    BenchmarkServer(String name, int nodeCount, IntFunction<BindableService[]> servicesForNode) throws IOException {
+        grpcServers = new Server[nodeCount];
+
+        var network = new HashMap<String, AccountId>();
+        for (int i = 0; i < nodeCount; i++) {
+            var serverBuilder = InProcessServerBuilder.forName(name + "[" + i + "]");
+            for (var service : servicesForNode.apply(i)) {
+                serverBuilder.addService(service);
+            }
+            grpcServers[i] = serverBuilder.directExecutor().build().start();
+            network.put("in-process:" + name + "[" + i + "]", new AccountId(3 + i));
+        }
+
+        client = Client.forNetwork(network)
+                .setOperator(new AccountId(1800), OPERATOR_KEY)
+                .setLogger(new Logger(LogLevel.SILENT));
+    }
+
+    /**
+     * Complete the call with the given response after the given latency.
+     *
+     * @param observer                  the response observer of the call
+     * @param response                  the response to send
+     * @param latency                   the simulated latency
+     * @param <T>                       the response type
+     */
+    static <T> void respond(StreamObserver<T> observer, T response, Duration latency) {
+        Runnable respond = () -> {
+            observer.onNext(response);
+            observer.onCompleted();
+        };
+
+        if (latency.isZero()) {
+            respond.run();
+        } else {
+            RESPONDER.schedule(respond, latency.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void close() throws TimeoutException, InterruptedException {
+        client.close();
+        for (var server : grpcServers) {
+            server.shutdown();
+            server.awaitTermination();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.logger.LogLevel;
+import com.hedera.hashgraph.sdk.logger.Logger;
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs bursts of concurrent account balance queries against one node with {@code channelsPerNode} connections to it.
+ * <p>
+ * In-process channels have no HTTP/2 connection, so the node is a gRPC server on a local port with the transport found
+ * at runtime (Netty). All streams of one connection share its flow control window and its event loop thread, which is
+ * what more connections per node spread out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ChannelPoolBenchmark {
+    private static final AccountId ACCOUNT_ID = new AccountId(1800);
+
+    @Param({"1", "4"})
+    public int channelsPerNode;
+
+    @Param({"1000"})
+    public int concurrentRequests;
+
+    @Param({"5"})
+    public long latencyMillis;
+
+    private Server server;
+    private Client client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = ServerBuilder.forPort(0)
+                .addService(new BalanceService(Duration.ofMillis(latencyMillis)))
+                .build()
+                .start();
+        client = Client.forNetwork(Map.of("127.0.0.1:" + server.getPort(), new AccountId(3)))
+                .setChannelsPerNode(channelsPerNode)
+                .setLogger(new Logger(LogLevel.SILENT));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws TimeoutException, InterruptedException {
+        client.close();
+        server.shutdown();
+        server.awaitTermination();
+    }
+
+    @Benchmark
+    public void executeAsync() {
+        var futures = new CompletableFuture<?>[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures[i] = new AccountBalanceQuery().setAccountId(ACCOUNT_ID).executeAsync(client);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private static class BalanceService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        private static final Response RESPONSE = Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                        .setAccountID(ACCOUNT_ID.toProtobuf())
+                        .setBalance(100))
+                .build();
+
+        private final Duration latency;
+
+        BalanceService(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+            BenchmarkServer.respond(responseObserver, RESPONSE, latency);
+        }
+    }
+}
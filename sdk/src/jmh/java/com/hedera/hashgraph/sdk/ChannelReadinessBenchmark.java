@@ -0,0 +1,88 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cold start latency from a new client to its first successful request, which includes waiting for the
+ * channel of the selected node to become ready.
+ * <p>
+ * {@code unreachableNodes} adds nodes without a server to the network. Their channels fail to connect, so a request
+ * which selects one of them first pays for detecting that before it moves on to another node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 50)
+public class ChannelReadinessBenchmark {
+    private static final AccountId ACCOUNT_ID = new AccountId(1800);
+    private static final AtomicInteger SERVER_COUNT = new AtomicInteger();
+
+    @Param({"0", "2"})
+    public int unreachableNodes;
+
+    private BenchmarkServer server;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException, TimeoutException, InterruptedException {
+        var name = "channel-readiness-benchmark-" + SERVER_COUNT.incrementAndGet();
+        server = new BenchmarkServer(name, 2, new BalanceService());
+
+        var network = new HashMap<>(server.client.getNetwork());
+        for (int i = 0; i < unreachableNodes; i++) {
+            network.put("in-process:" + name + "-unreachable[" + i + "]", new AccountId(100 + i));
+        }
+        server.client.setNetwork(network);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws TimeoutException, InterruptedException {
+        server.close();
+    }
+
+    @Benchmark
+    public AccountBalance firstRequest() throws TimeoutException, PrecheckStatusException {
+        return new AccountBalanceQuery().setAccountId(ACCOUNT_ID).execute(server.client, Duration.ofSeconds(30));
+    }
+
+    private static class BalanceService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        private static final Response RESPONSE = Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                        .setAccountID(ACCOUNT_ID.toProtobuf())
+                        .setBalance(100))
+                .build();
+
+        @Override
+        public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+            BenchmarkServer.respond(responseObserver, RESPONSE, Duration.ZERO);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.FileServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import com.hedera.hashgraph.sdk.proto.TransactionReceipt;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the upload rate of a 1 MB file append against in-process nodes which accept each chunk and answer each
+ * receipt query after a simulated network latency.
+ * <p>
+ * One operation uploads 1 MB, so the reported operations per second are MB/s. A {@code maxChunksInFlight} of 1 is the
+ * serial execution, which waits for the receipt of each chunk before it submits the next one. Larger values submit each
+ * chunk once the node accepted the previous one and wait for up to that many receipts at the same time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class ChunkedTransactionPipelineBenchmark {
+    private static final int FILE_SIZE = 1024 * 1024;
+    private static final FileId FILE_ID = new FileId(1900);
+
+    @Param({"1", "8", "32"})
+    public int maxChunksInFlight;
+
+    @Param({"4096"})
+    public int chunkSize;
+
+    @Param({"20"})
+    public long latencyMillis;
+
+    private final byte[] contents = new byte[FILE_SIZE];
+
+    private BenchmarkServer server;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        new Random(42).nextBytes(contents);
+
+        var latency = Duration.ofMillis(latencyMillis);
+        server = new BenchmarkServer(
+                "chunked-transaction-pipeline-benchmark", 2, new AppendService(latency), new ReceiptService(latency));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws TimeoutException, InterruptedException {
+        server.close();
+    }
+
+    @Benchmark
+    public Object uploadOneMegabyte() throws TimeoutException, PrecheckStatusException {
+        return new FileAppendTransaction()
+                .setFileId(FILE_ID)
+                .setContents(contents)
+                .setChunkSize(chunkSize)
+                .setMaxChunks(FILE_SIZE / chunkSize)
+                .setMaxChunksInFlight(maxChunksInFlight)
+                .executeAll(server.client);
+    }
+
+    private static class AppendService extends FileServiceGrpc.FileServiceImplBase {
+        private static final TransactionResponse RESPONSE = TransactionResponse.newBuilder()
+                .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                .build();
+
+        private final Duration latency;
+
+        AppendService(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public void appendContent(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+            BenchmarkServer.respond(responseObserver, RESPONSE, latency);
+        }
+    }
+
+    private static class ReceiptService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        private static final Response RESPONSE = Response.newBuilder()
+                .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                        .setReceipt(TransactionReceipt.newBuilder().setStatus(ResponseCodeEnum.SUCCESS)))
+                .build();
+
+        private final Duration latency;
+
+        ReceiptService(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public void getTransactionReceipts(Query request, StreamObserver<Response> responseObserver) {
+            BenchmarkServer.respond(responseObserver, RESPONSE, latency);
+        }
+    }
+}
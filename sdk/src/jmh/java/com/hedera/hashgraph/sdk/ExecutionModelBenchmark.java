@@ -0,0 +1,120 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ExecutionModel#PLATFORM_THREADS} with {@link ExecutionModel#VIRTUAL_THREADS} by running a burst of
+ * concurrent account balance queries against in-process nodes which answer after a simulated network latency.
+ * <p>
+ * {@code executeAsync} measures the asynchronous API as is. {@code executeBlocking} measures the common pattern of
+ * running the synchronous API on the client's threads, which with platform threads is limited by the pool size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ExecutionModelBenchmark {
+    private static final AccountId ACCOUNT_ID = new AccountId(1800);
+
+    @Param({"PLATFORM_THREADS", "VIRTUAL_THREADS"})
+    public ExecutionModel executionModel;
+
+    @Param({"100", "10000"})
+    public int concurrentRequests;
+
+    @Param({"20"})
+    public long latencyMillis;
+
+    private BenchmarkServer server;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new BenchmarkServer(
+                "execution-model-benchmark", 2, new BalanceService(Duration.ofMillis(latencyMillis)));
+        server.client.setExecutionModel(executionModel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws TimeoutException, InterruptedException {
+        server.close();
+    }
+
+    @Benchmark
+    public void executeAsync() {
+        var futures = new CompletableFuture<?>[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures[i] = new AccountBalanceQuery().setAccountId(ACCOUNT_ID).executeAsync(server.client);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    @Benchmark
+    public void executeBlocking() {
+        var client = server.client;
+        Executor executor = executionModel == ExecutionModel.VIRTUAL_THREADS
+                ? client.getVirtualThreadExecutor()
+                : client.executor;
+
+        var futures = new CompletableFuture<?>[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures[i] = CompletableFuture.runAsync(
+                    () -> {
+                        try {
+                            new AccountBalanceQuery().setAccountId(ACCOUNT_ID).execute(client);
+                        } catch (TimeoutException | PrecheckStatusException e) {
+                            throw new RuntimeException(e);
+                        }
+                    },
+                    executor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private static class BalanceService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        private static final Response RESPONSE = Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                        .setAccountID(ACCOUNT_ID.toProtobuf())
+                        .setBalance(100))
+                .build();
+
+        private final Duration latency;
+
+        BalanceService(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+            BenchmarkServer.respond(responseObserver, RESPONSE, latency);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how picking nodes for a request scales with the number of threads submitting requests at the same time.
+ * <p>
+ * Each operation does what every execution of a request does with the network: pick the nodes, resolve the proxies of
+ * the first node and report a successful response to it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NetworkContentionBenchmark {
+    @Param({"30"})
+    public int nodeCount;
+
+    @Param({"random", "latencyAware"})
+    public String nodeSelector;
+
+    private ExecutorService executor;
+    private Network network;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var nodes = new HashMap<String, AccountId>();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.put("in-process:network-contention-benchmark[" + i + "]", new AccountId(3 + i));
+        }
+
+        executor = Executors.newSingleThreadExecutor();
+        network = Network.forNetwork(executor, nodes)
+                .setNodeSelector(
+                        nodeSelector.equals("latencyAware") ? NodeSelector.latencyAware() : NodeSelector.random());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Node> threads1() throws InterruptedException {
+        return pickNodes();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Node> threads8() throws InterruptedException {
+        return pickNodes();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public List<Node> threads64() throws InterruptedException {
+        return pickNodes();
+    }
+
+    private List<Node> pickNodes() throws InterruptedException {
+        var nodeAccountIds = network.getNodeAccountIdsForExecute();
+        var proxies = network.getNodeProxies(nodeAccountIds.get(0));
+        network.decreaseBackoff(proxies.get(0));
+        return proxies;
+    }
+}
@@ -0,0 +1,105 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import io.grpc.BindableService;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link NodeSelector#random()} with {@link NodeSelector#latencyAware()} on a network where one node is much
+ * slower than the others.
+ * <p>
+ * Each operation is a burst of concurrent account balance queries, so its time is dominated by the slowest queries of
+ * the burst. The sample time mode reports the distribution of the burst times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class NodeSelectorBenchmark {
+    private static final AccountId ACCOUNT_ID = new AccountId(1800);
+    private static final int NODE_COUNT = 6;
+
+    @Param({"random", "latencyAware"})
+    public String nodeSelector;
+
+    @Param({"200"})
+    public int concurrentRequests;
+
+    @Param({"5"})
+    public long fastLatencyMillis;
+
+    @Param({"100"})
+    public long slowLatencyMillis;
+
+    private BenchmarkServer server;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // the first node is the slow one
+        server = new BenchmarkServer("node-selector-benchmark", NODE_COUNT, nodeIndex -> new BindableService[] {
+            new BalanceService(Duration.ofMillis(nodeIndex == 0 ? slowLatencyMillis : fastLatencyMillis))
+        });
+        server.client.setNodeSelector(
+                nodeSelector.equals("latencyAware") ? NodeSelector.latencyAware() : NodeSelector.random());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws TimeoutException, InterruptedException {
+        server.close();
+    }
+
+    @Benchmark
+    public void executeAsync() {
+        var futures = new CompletableFuture<?>[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures[i] = new AccountBalanceQuery().setAccountId(ACCOUNT_ID).executeAsync(server.client);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private static class BalanceService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        private static final Response RESPONSE = Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                        .setAccountID(ACCOUNT_ID.toProtobuf())
+                        .setBalance(100))
+                .build();
+
+        private final Duration latency;
+
+        BalanceService(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+            BenchmarkServer.respond(responseObserver, RESPONSE, latency);
+        }
+    }
+}
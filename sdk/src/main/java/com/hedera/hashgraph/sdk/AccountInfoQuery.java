@@ -54,6 +54,12 @@ public final class AccountInfoQuery extends Query<AccountInfo, AccountInfoQuery>
         }
     }
 
+    @Override
+    @Nullable
+    Object getCachedEntityId() {
+        return accountId;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         var builder = CryptoGetInfoQuery.newBuilder();
@@ -220,9 +220,17 @@ public class AddressBookQuery {
                             returnFuture.completeExceptionally(error);
                             return;
                         }
-                        warnAndDelay(attempt, error);
+                        var delay = warnAndGetDelay(attempt, error);
                         addresses.clear();
-                        executeAsync(client, deadline, returnFuture, attempt + 1);
+
+                        // Wait without blocking the thread of the call
+                        Delayer.delayFor(delay, client.executor).thenRun(() -> {
+                            try {
+                                executeAsync(client, deadline, returnFuture, attempt + 1);
+                            } catch (RuntimeException e) {
+                                returnFuture.completeExceptionally(e);
+                            }
+                        });
                     }
 
                     @Override
@@ -261,7 +269,7 @@ public class AddressBookQuery {
         }
     }
 
-    private void warnAndDelay(int attempt, Throwable error) {
+    private long warnAndGetDelay(int attempt, Throwable error) {
         var delay = Math.min(500 * (long) Math.pow(2, attempt), maxBackoff.toMillis());
         LOGGER.warn(
                 "Error fetching address book at FileId {} during attempt #{}. Waiting {} ms before next attempt: {}",
@@ -269,6 +277,11 @@ public class AddressBookQuery {
                 attempt,
                 delay,
                 error.getMessage());
+        return delay;
+    }
+
+    private void warnAndDelay(int attempt, Throwable error) {
+        var delay = warnAndGetDelay(attempt, error);
 
         try {
             Thread.sleep(delay);
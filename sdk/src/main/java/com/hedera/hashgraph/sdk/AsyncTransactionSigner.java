@@ -0,0 +1,26 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Signs transaction bodies asynchronously, e.g. by sending them to a remote key management service or HSM.
+ * <p>
+ * A transaction hands all of its bodies which still need a signature from this signer over in one call: one body per
+ * node and, for chunked transactions, per chunk. Use {@link BatchingTransactionSigner} to also combine the bodies of
+ * many transactions into one call.
+ *
+ * @see Transaction#signWithAsync(PublicKey, AsyncTransactionSigner)
+ * @see Client#setOperatorWithAsync(AccountId, PublicKey, AsyncTransactionSigner)
+ */
+@FunctionalInterface
+public interface AsyncTransactionSigner {
+    /**
+     * Sign the given transaction bodies.
+     *
+     * @param bodies the serialized transaction bodies to sign
+     * @return future of the signatures, in the same order as the bodies
+     */
+    CompletableFuture<List<byte[]>> sign(List<byte[]> bodies);
+}
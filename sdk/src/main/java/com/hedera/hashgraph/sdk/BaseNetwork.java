@@ -5,14 +5,21 @@ import com.google.common.annotations.VisibleForTesting;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 
 /**
  * Abstracts away most of the similar functionality between {@link Network} and {@link MirrorNetwork}
+ * <p>
+ * Changes to the nodes are made while holding the monitor of the network and are then published as an immutable
+ * {@link Snapshot}. Picking nodes for a request only reads the current snapshot and the health of each node, so it
+ * never waits for the monitor.
  *
  * @param <BaseNetworkT> - The network that is extending this class. This is used for builder pattern setter methods.
  * @param <KeyT> - The identifying type for the network.
@@ -23,24 +30,26 @@ abstract class BaseNetwork<
         KeyT,
         BaseNodeT extends BaseNode<BaseNodeT, KeyT>> {
     protected static final Integer DEFAULT_MAX_NODE_ATTEMPTS = -1;
-    protected static final Random random = new Random();
 
     protected final ExecutorService executor;
 
     /**
      * Map of node identifiers to nodes. Used to quickly fetch node for identifier.
+     * Only modified while holding the monitor, followed by {@link #publishSnapshot()}.
      */
     protected Map<KeyT, List<BaseNodeT>> network = new ConcurrentHashMap<>();
 
     /**
      * The list of all nodes.
+     * Only modified while holding the monitor, followed by {@link #publishSnapshot()}.
      */
     protected List<BaseNodeT> nodes = new ArrayList<>();
 
     /**
-     * The list of currently healthy nodes.
+     * The nodes as seen by requests.
      */
-    protected List<BaseNodeT> healthyNodes = new ArrayList<>();
+    private final AtomicReference<Snapshot<KeyT, BaseNodeT>> snapshot =
+            new AtomicReference<>(new Snapshot<>(List.of(), Map.of()));
 
     /**
      * The current minimum backoff for the nodes in the network. This backoff is used when nodes return a bad
@@ -62,7 +71,7 @@ abstract class BaseNetwork<
     /**
      * Limit for how many times we retry a node which has returned a bad gRPC status
      */
-    protected int maxNodeAttempts = DEFAULT_MAX_NODE_ATTEMPTS;
+    protected volatile int maxNodeAttempts = DEFAULT_MAX_NODE_ATTEMPTS;
 
     /**
      * Is the network using transport security
@@ -70,19 +79,30 @@ abstract class BaseNetwork<
     protected boolean transportSecurity;
 
     /**
-     * The min time to wait before attempting to readmit nodes.
+     * The min time a node which received a bad gRPC status is not used for, even when its backoff is shorter.
      */
     protected Duration minNodeReadmitTime = Client.DEFAULT_MIN_NODE_BACKOFF;
 
     /**
-     * The max time to wait for readmitting nodes.
+     * The max time a node which received a bad gRPC status is not used for, even when its backoff is longer.
      */
     protected Duration maxNodeReadmitTime = Client.DEFAULT_MAX_NODE_BACKOFF;
 
     /**
-     * The instant that readmission will happen after.
+     * The number of connections to each node, see {@link ChannelPool}.
      */
-    protected Instant earliestReadmitTime;
+    protected int channelsPerNode = 1;
+
+    /**
+     * Tunes the channels to the nodes before they are built.
+     */
+    @Nullable
+    protected ChannelConfigurer channelConfigurer = null;
+
+    /**
+     * The strategy used to pick nodes from the healthy nodes.
+     */
+    protected volatile NodeSelector nodeSelector = NodeSelector.random();
 
     /**
      * The name of the network. This corresponds to ledger ID in entity ID checksum calculations
@@ -95,7 +115,23 @@ abstract class BaseNetwork<
 
     protected BaseNetwork(ExecutorService executor) {
         this.executor = executor;
-        earliestReadmitTime = Instant.now().plus(minNodeReadmitTime);
+    }
+
+    /**
+     * Publish the current {@link #nodes} and {@link #network} to requests. Must be called while holding the monitor
+     * after any change to them.
+     */
+    protected void publishSnapshot() {
+        snapshot.set(new Snapshot<>(nodes, network));
+    }
+
+    /**
+     * Extract the nodes as seen by requests.
+     *
+     * @return                          the current snapshot
+     */
+    Snapshot<KeyT, BaseNodeT> getSnapshot() {
+        return snapshot.get();
     }
 
     /**
@@ -206,7 +242,7 @@ abstract class BaseNetwork<
     }
 
     /**
-     * Assign the minimum node readmit time.
+     * Assign the minimum node readmit time and readmit all nodes.
      *
      * @param minNodeReadmitTime        the minimum node readmit time
      */
@@ -214,6 +250,7 @@ abstract class BaseNetwork<
         this.minNodeReadmitTime = minNodeReadmitTime;
 
         for (var node : nodes) {
+            node.setMinReadmitTime(minNodeReadmitTime);
             node.readmitTime = Instant.now();
         }
     }
@@ -223,7 +260,7 @@ abstract class BaseNetwork<
      *
      * @return                          the maximum node readmit time
      */
-    public Duration getMaxNodeReadmitTime() {
+    public synchronized Duration getMaxNodeReadmitTime() {
         return maxNodeReadmitTime;
     }
 
@@ -232,8 +269,89 @@ abstract class BaseNetwork<
      *
      * @param maxNodeReadmitTime        the maximum node readmit time
      */
-    public void setMaxNodeReadmitTime(Duration maxNodeReadmitTime) {
+    public synchronized void setMaxNodeReadmitTime(Duration maxNodeReadmitTime) {
         this.maxNodeReadmitTime = maxNodeReadmitTime;
+
+        for (var node : nodes) {
+            node.setMaxReadmitTime(maxNodeReadmitTime);
+        }
+    }
+
+    /**
+     * Extract the number of connections to each node.
+     *
+     * @return                          the number of connections to each node
+     */
+    synchronized int getChannelsPerNode() {
+        return channelsPerNode;
+    }
+
+    /**
+     * Assign the number of connections to each node. Nodes whose channel is already open keep their connections until
+     * it is closed.
+     *
+     * @param channelsPerNode           the number of connections to each node
+     * @return {@code this}
+     */
+    synchronized BaseNetworkT setChannelsPerNode(int channelsPerNode) {
+        this.channelsPerNode = channelsPerNode;
+
+        for (var node : nodes) {
+            node.setChannelCount(channelsPerNode);
+        }
+
+        // noinspection unchecked
+        return (BaseNetworkT) this;
+    }
+
+    /**
+     * Extract the configurer of the channels to the nodes.
+     *
+     * @return                          the channel configurer
+     */
+    @Nullable
+    synchronized ChannelConfigurer getChannelConfigurer() {
+        return channelConfigurer;
+    }
+
+    /**
+     * Assign the configurer of the channels to the nodes. Nodes whose channel is already open keep it until it is
+     * closed.
+     *
+     * @param channelConfigurer         the channel configurer
+     * @return {@code this}
+     */
+    synchronized BaseNetworkT setChannelConfigurer(@Nullable ChannelConfigurer channelConfigurer) {
+        this.channelConfigurer = channelConfigurer;
+
+        for (var node : nodes) {
+            node.setChannelConfigurer(channelConfigurer);
+        }
+
+        // noinspection unchecked
+        return (BaseNetworkT) this;
+    }
+
+    /**
+     * Extract the node selector.
+     *
+     * @return                          the node selector
+     */
+    NodeSelector getNodeSelector() {
+        return nodeSelector;
+    }
+
+    /**
+     * Assign the strategy used to pick nodes from the healthy nodes.
+     *
+     * @param nodeSelector              the node selector
+     * @return {@code this}
+     */
+    synchronized BaseNetworkT setNodeSelector(NodeSelector nodeSelector) {
+        this.nodeSelector = Objects.requireNonNull(nodeSelector);
+
+        // noinspection unchecked
+        return (BaseNetworkT) this;
     }
 
     /**
@@ -316,7 +434,6 @@ abstract class BaseNetwork<
      */
     synchronized BaseNetworkT setNetwork(Map<String, KeyT> network) throws TimeoutException, InterruptedException {
         var newNodes = new ArrayList<BaseNodeT>();
-        var newHealthyNodes = new ArrayList<BaseNodeT>();
         var newNetwork = new HashMap<KeyT, List<BaseNodeT>>();
         var newNodeKeys = new HashSet<KeyT>();
         var newNodeAddresses = new HashSet<String>();
@@ -344,7 +461,11 @@ abstract class BaseNetwork<
         }
 
         for (var entry : network.entrySet()) {
-            var node = createNodeFromNetworkEntry(entry);
+            var node = createNodeFromNetworkEntry(entry)
+                    .setMinReadmitTime(minNodeReadmitTime)
+                    .setMaxReadmitTime(maxNodeReadmitTime)
+                    .setChannelCount(channelsPerNode)
+                    .setChannelConfigurer(channelConfigurer);
 
             if (newNodeKeys.contains(node.getKey())
                     && newNodeAddresses.contains(node.getAddress().toString())) {
@@ -362,28 +483,72 @@ abstract class BaseNetwork<
                 list.add(node);
                 newNetwork.put(node.getKey(), list);
             }
-
-            newHealthyNodes.add(node);
         }
 
-        // Atomically set all the variables
         nodes = newNodes;
         this.network = newNetwork;
-        healthyNodes = newHealthyNodes;
+        publishSnapshot();
 
         // noinspection unchecked
         return (BaseNetworkT) this;
     }
 
-    synchronized void increaseBackoff(BaseNodeT node) {
+    /**
+     * Close the channels to the nodes which have no active streams and were not used for the given time. The nodes
+     * reconnect on their next request.
+     *
+     * @param idleTimeout               the time without use after which a channel is closed
+     * @return                          the number of channels which were closed
+     */
+    int closeIdleChannels(Duration idleTimeout) {
+        int closed = 0;
+        for (var node : snapshot.get().nodes) {
+            if (node.closeChannelIfIdle(idleTimeout)) {
+                closed++;
+            }
+        }
+        return closed;
+    }
+
+    void increaseBackoff(BaseNodeT node) {
+        // The node is unhealthy until its backoff has elapsed, there is no shared list to update
         node.increaseBackoff();
-        healthyNodes.remove(node);
     }
 
-    synchronized void decreaseBackoff(BaseNodeT node) {
+    void decreaseBackoff(BaseNodeT node) {
         node.decreaseBackoff();
     }
 
+    /**
+     * Open the channels to all nodes concurrently and wait until they are ready, so the first requests do not pay for
+     * connecting. Nodes whose channel fails to connect are marked unhealthy, as after a bad gRPC status.
+     *
+     * @param timeout                   the time to wait for the channels
+     * @return                          the nodes which are not ready, because they failed or are still connecting
+     */
+    CompletableFuture<List<BaseNodeT>> warmUp(Duration timeout) {
+        var nodes = snapshot.get().nodes;
+        var notReady = Collections.synchronizedList(new ArrayList<BaseNodeT>());
+        var attempts = new CompletableFuture<?>[nodes.size()];
+
+        for (int i = 0; i < nodes.size(); i++) {
+            var node = nodes.get(i);
+            // Completes with null when the node is still connecting at the deadline
+            attempts[i] = node.channelFailedToConnectAsync()
+                    .completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .thenAccept(failed -> {
+                        if (Boolean.TRUE.equals(failed)) {
+                            increaseBackoff(node);
+                        }
+                        if (!Boolean.FALSE.equals(failed)) {
+                            notReady.add(node);
+                        }
+                    });
+        }
+
+        return CompletableFuture.allOf(attempts).thenApply(ignored -> List.copyOf(notReady));
+    }
+
     private void removeNodeFromNetwork(BaseNodeT node) {
         var nodesForKey = this.network.get(node.getKey());
         nodesForKey.remove(node);
@@ -407,8 +572,10 @@ abstract class BaseNetwork<
      *
      * @throws InterruptedException - when shutting down nodes
      */
-    protected void removeDeadNodes() throws InterruptedException {
+    protected synchronized void removeDeadNodes() throws InterruptedException {
         if (maxNodeAttempts > 0) {
+            var removed = false;
+
             for (int i = nodes.size() - 1; i >= 0; i--) {
                 var node = Objects.requireNonNull(nodes.get(i));
 
@@ -416,67 +583,83 @@ abstract class BaseNetwork<
                     node.close(closeTimeout);
                     removeNodeFromNetwork(node);
                     nodes.remove(i);
+                    removed = true;
                 }
             }
+
+            if (removed) {
+                publishSnapshot();
+            }
         }
     }
 
     /**
-     * Readmits nodes from the `nodes` list into the `healthyNodes` list when the time is passed the
-     * {@code earliestReadmitTime}. While readmitting nodes the `earliestReadmitTime` will be updated to
-     * a new value. This value is either the value of the node with the smallest readmission time from now,
-     * or `minNodeReadmitTime` or `maxNodeReadmitTime`.
+     * Check without taking the monitor whether {@link #removeDeadNodes()} has anything to do.
+     *
+     * @param nodes                     the nodes to check
+     * @return                          whether any node has exceeded the {@link BaseNetwork#maxNodeAttempts} limit
      */
-    synchronized void readmitNodes() {
-        var now = Instant.now();
-
-        if (now.toEpochMilli() > earliestReadmitTime.toEpochMilli()) {
-            var nextEarliestReadmitTime = now.plus(maxNodeReadmitTime);
-
-            for (var node : this.nodes) {
-                if (node.readmitTime.isAfter(now) && node.readmitTime.isBefore(nextEarliestReadmitTime)) {
-                    nextEarliestReadmitTime = node.readmitTime;
-                }
-            }
+    private boolean hasDeadNodes(List<BaseNodeT> nodes) {
+        var maxNodeAttempts = this.maxNodeAttempts;
+        if (maxNodeAttempts <= 0) {
+            return false;
+        }
 
-            this.earliestReadmitTime = nextEarliestReadmitTime;
-            if (this.earliestReadmitTime.isBefore(now.plus(minNodeReadmitTime))) {
-                this.earliestReadmitTime = now.plus(minNodeReadmitTime);
+        for (var node : nodes) {
+            if (node.getBadGrpcStatusCount() >= maxNodeAttempts) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            outer:
-            for (var i = 0; i < this.nodes.size(); i++) {
-                // Check if `healthyNodes` already contains this node
-                for (var j = 0; j < this.healthyNodes.size(); j++) {
-                    if (this.nodes.get(i) == this.healthyNodes.get(j)) {
-                        continue outer;
-                    }
-                }
-
-                // If `healthyNodes` doesn't contain the node, check the `readmitTime` on the node
-                if (this.nodes.get(i).readmitTime.isBefore(now)) {
-                    this.healthyNodes.add(this.nodes.get(i));
-                }
+    /**
+     * Extract the nodes which are currently healthy. Nodes which received a bad gRPC status are readmitted as soon as
+     * their backoff has elapsed.
+     *
+     * @param snapshot                  the nodes to choose from
+     * @return                          the healthy nodes
+     */
+    private List<BaseNodeT> getHealthyNodes(Snapshot<KeyT, BaseNodeT> snapshot) {
+        var healthyNodes = new ArrayList<BaseNodeT>(snapshot.nodes.size());
+        for (var node : snapshot.nodes) {
+            if (node.isHealthy()) {
+                healthyNodes.add(node);
             }
         }
+        return healthyNodes;
     }
 
     /**
-     * Get a random healthy node.
+     * Get a healthy node chosen by the {@link #nodeSelector}.
      *
      * @return                          the node
      */
-    synchronized BaseNodeT getRandomNode() {
-        // Attempt to readmit nodes each time a node is fetched.
-        // Note: Readmitting nodes will only happen periodically so calling it each time should not harm
-        // performance.
-        readmitNodes();
+    BaseNodeT getRandomNode() {
+        var healthyNodes = getHealthyNodes(snapshot.get());
 
         if (healthyNodes.isEmpty()) {
             throw new IllegalStateException("No healthy node was found");
         }
 
-        return healthyNodes.get(random.nextInt(healthyNodes.size()));
+        return select(healthyNodes, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Let the {@link #nodeSelector} pick one of the candidates.
+     *
+     * @param candidates                the candidates, never empty
+     * @param random                    the source of randomness
+     * @return                          the selected node
+     */
+    private BaseNodeT select(List<BaseNodeT> candidates, Random random) {
+        var selected = nodeSelector.select(Collections.unmodifiableList(candidates), random);
+        for (var candidate : candidates) {
+            if (candidate == selected) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("The node selector " + nodeSelector + " did not select one of the candidates");
     }
 
     /**
@@ -485,41 +668,45 @@ abstract class BaseNetwork<
      * @param key                       the desired key
      * @return                          the list of node proxies
      */
-    synchronized List<BaseNodeT> getNodeProxies(KeyT key) {
-        // Attempt to readmit nodes each time a node is fetched.
-        // Note: Readmitting nodes will only happen periodically so calling it each time should not harm
-        // performance.
-        readmitNodes();
-
-        return network.get(key);
+    @Nullable
+    List<BaseNodeT> getNodeProxies(KeyT key) {
+        return snapshot.get().proxies.get(key);
     }
 
     /**
      * Returns `count` number of the most healthy nodes. Healthy-ness is determined by sort order; leftmost being most
      * healthy. This will also remove any nodes which have hit or exceeded {@link BaseNetwork#maxNodeAttempts}.
      *
+     * Nodes are picked by the {@link #nodeSelector} one after another from the healthy nodes not picked yet, so the
+     * leftmost node is the one the selector prefers most.
+     *
      * Returns a list of nodes where each node has a unique key.
      *
      * @param count                     number of nodes to return
      * @return                          List of nodes to use
      * @throws InterruptedException     when a thread is interrupted while it's waiting, sleeping, or otherwise occupied
      */
-    protected synchronized List<BaseNodeT> getNumberOfMostHealthyNodes(int count) throws InterruptedException {
-        readmitNodes();
-        removeDeadNodes();
+    protected List<BaseNodeT> getNumberOfMostHealthyNodes(int count) throws InterruptedException {
+        if (hasDeadNodes(snapshot.get().nodes)) {
+            removeDeadNodes();
+        }
 
-        var returnNodes = new HashMap<KeyT, BaseNodeT>(count);
+        var candidates = getHealthyNodes(snapshot.get());
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No healthy node was found");
+        }
 
-        for (var i = 0; i < count; i++) {
-            var node = getRandomNode();
+        var random = ThreadLocalRandom.current();
+        var returnList = new ArrayList<BaseNodeT>(count);
 
-            if (!returnNodes.containsKey(node.getKey())) {
-                returnNodes.put(node.getKey(), node);
-            }
+        while (returnList.size() < count && !candidates.isEmpty()) {
+            var node = select(candidates, random);
+            returnList.add(node);
+
+            // Also drops the other proxies of the same node so each key is returned once
+            candidates.removeIf(candidate -> candidate.getKey().equals(node.getKey()));
         }
 
-        var returnList = new ArrayList<BaseNodeT>();
-        returnList.addAll(returnNodes.values());
         return returnList;
     }
 
@@ -564,6 +751,43 @@ abstract class BaseNetwork<
         } finally {
             nodes.clear();
             network.clear();
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * Immutable view of the nodes of a network. A new snapshot replaces the old one whenever the nodes change, so
+     * requests can read it without synchronization. The health of the nodes is not part of the snapshot, it is kept
+     * by each node.
+     *
+     * @param <KeyT>                    the identifying type for the network
+     * @param <N>                       the node type
+     */
+    static final class Snapshot<KeyT, N> {
+        /**
+         * All nodes.
+         */
+        final List<N> nodes;
+
+        /**
+         * The nodes for each key.
+         */
+        final Map<KeyT, List<N>> proxies;
+
+        /**
+         * Constructor.
+         *
+         * @param nodes                 the nodes to copy
+         * @param proxies               the nodes for each key to copy
+         */
+        Snapshot(List<N> nodes, Map<KeyT, List<N>> proxies) {
+            this.nodes = List.copyOf(nodes);
+
+            var copy = new HashMap<KeyT, List<N>>(proxies.size());
+            for (var entry : proxies.entrySet()) {
+                copy.put(entry.getKey(), List.copyOf(entry.getValue()));
+            }
+            this.proxies = Collections.unmodifiableMap(copy);
         }
     }
 }
@@ -12,8 +12,13 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 
 /**
@@ -22,11 +27,17 @@ import javax.annotation.Nullable;
  * @param <N>                           the n type
  * @param <KeyT>                        the key t type
  */
-abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
-    private static final int GET_STATE_INTERVAL_MILLIS = 50;
+abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> implements NodeSelector.Candidate {
     private static final int GET_STATE_TIMEOUT_MILLIS = 10000;
-    private static final int GET_STATE_MAX_ATTEMPTS = GET_STATE_TIMEOUT_MILLIS / GET_STATE_INTERVAL_MILLIS;
-    private boolean hasConnected = false;
+    // Weight of the newest sample in the latency moving average
+    private static final double LATENCY_EWMA_WEIGHT = 0.2;
+    private volatile boolean hasConnected = false;
+
+    /**
+     * The connection attempt of the current channel, shared by all requests which wait for it. Completes with whether
+     * the channel failed to connect.
+     */
+    private final AtomicReference<CompletableFuture<Boolean>> connectionAttempt = new AtomicReference<>();
 
     protected final ExecutorService executor;
 
@@ -38,7 +49,7 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
     /**
      * Timestamp of when this node will be considered healthy again
      */
-    protected Instant readmitTime;
+    protected volatile Instant readmitTime;
 
     /**
      * The current backoff duration. Uses exponential backoff so think 1s, 2s, 4s, 8s, etc until maxBackoff is hit
@@ -55,10 +66,51 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
      */
     protected Duration maxBackoff;
 
+    /**
+     * Minimum time the node is not used for after receiving a bad gRPC status
+     */
+    protected volatile Duration minReadmitTime;
+
+    /**
+     * Maximum time the node is not used for after receiving a bad gRPC status
+     */
+    protected volatile Duration maxReadmitTime;
+
     /**
      * Number of times this node has received a bad gRPC status
      */
-    protected long badGrpcStatusCount;
+    protected volatile long badGrpcStatusCount;
+
+    /**
+     * Exponentially weighted moving average of the response latency in nanoseconds, or -1 when unknown
+     */
+    private final AtomicLong latencyEstimate = new AtomicLong(-1);
+
+    /**
+     * Number of gRPC calls to this node which have not completed yet
+     */
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+    /**
+     * Number of connections to this node, see {@link ChannelPool}
+     */
+    private int channelCount = 1;
+
+    /**
+     * Tunes the channels to this node before they are built
+     */
+    @Nullable
+    private ChannelConfigurer channelConfigurer = null;
+
+    /**
+     * Number of connections opened to this node, including the ones which were closed again
+     */
+    private final AtomicLong openedConnections = new AtomicLong();
+
+    /**
+     * Number of connections to this node which were closed because they were idle
+     */
+    private final AtomicLong idleClosedConnections = new AtomicLong();
 
     @Nullable
     protected ManagedChannel channel = null;
@@ -75,6 +127,8 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         this.currentBackoff = Client.DEFAULT_MIN_NODE_BACKOFF;
         this.minBackoff = Client.DEFAULT_MIN_NODE_BACKOFF;
         this.maxBackoff = Client.DEFAULT_MAX_NODE_BACKOFF;
+        this.minReadmitTime = Client.DEFAULT_MIN_NODE_BACKOFF;
+        this.maxReadmitTime = Client.DEFAULT_MAX_NODE_BACKOFF;
         this.readmitTime = Instant.EPOCH;
     }
 
@@ -90,9 +144,14 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         this.executor = node.executor;
         this.minBackoff = node.minBackoff;
         this.maxBackoff = node.maxBackoff;
+        this.minReadmitTime = node.minReadmitTime;
+        this.maxReadmitTime = node.maxReadmitTime;
         this.readmitTime = node.readmitTime;
         this.currentBackoff = node.currentBackoff;
         this.badGrpcStatusCount = node.badGrpcStatusCount;
+        this.latencyEstimate.set(node.getLatencyEstimate());
+        this.channelCount = node.getChannelCount();
+        this.channelConfigurer = node.getChannelConfigurer();
     }
 
     /**
@@ -111,6 +170,17 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
      */
     abstract KeyT getKey();
 
+    /**
+     * Extract the account id of this node.
+     *
+     * @return                          the account id, or {@code null} when the node has none
+     */
+    @Override
+    @Nullable
+    public AccountId getAccountId() {
+        return null;
+    }
+
     /**
      * Get the address of this node
      *
@@ -167,6 +237,32 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         return (N) this;
     }
 
+    /**
+     * Set the minimum time the node is not used for after receiving a bad gRPC status
+     *
+     * @param minReadmitTime            the minimum readmit time
+     * @return {@code this}
+     */
+    N setMinReadmitTime(Duration minReadmitTime) {
+        this.minReadmitTime = minReadmitTime;
+
+        // noinspection unchecked
+        return (N) this;
+    }
+
+    /**
+     * Set the maximum time the node is not used for after receiving a bad gRPC status
+     *
+     * @param maxReadmitTime            the maximum readmit time
+     * @return {@code this}
+     */
+    N setMaxReadmitTime(Duration maxReadmitTime) {
+        this.maxReadmitTime = maxReadmitTime;
+
+        // noinspection unchecked
+        return (N) this;
+    }
+
     /**
      * Get the number of times this node has received a bad gRPC status
      *
@@ -201,7 +297,11 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
      */
     synchronized void increaseBackoff() {
         this.badGrpcStatusCount++;
-        this.readmitTime = Instant.now().plus(this.currentBackoff);
+
+        // The node is readmitted after its backoff, but not before the minimum or after the maximum readmit time
+        var readmitDelay = currentBackoff.compareTo(minReadmitTime) > 0 ? currentBackoff : minReadmitTime;
+        readmitDelay = readmitDelay.compareTo(maxReadmitTime) < 0 ? readmitDelay : maxReadmitTime;
+        this.readmitTime = Instant.now().plus(readmitDelay);
         this.currentBackoff = currentBackoff.multipliedBy(2);
         this.currentBackoff = currentBackoff.compareTo(maxBackoff) < 0 ? currentBackoff : maxBackoff;
     }
@@ -217,6 +317,47 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         this.currentBackoff = currentBackoff.compareTo(minBackoff) > 0 ? currentBackoff : minBackoff;
     }
 
+    /**
+     * Extract the moving average of the response latency of this node.
+     *
+     * @return                          the latency in nanoseconds, or -1 when no request has completed yet
+     */
+    @Override
+    public long getLatencyEstimate() {
+        return latencyEstimate.get();
+    }
+
+    /**
+     * Extract the number of requests which were sent to this node and have not completed yet.
+     *
+     * @return                          the number of outstanding requests
+     */
+    @Override
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    /**
+     * Used when a gRPC call to this node is started.
+     */
+    void onRequestStarted() {
+        outstandingRequests.incrementAndGet();
+    }
+
+    /**
+     * Used when a gRPC call to this node has completed, failed or was cancelled.
+     *
+     * @param latencyNanos              the time since the call was started
+     */
+    void onRequestFinished(long latencyNanos) {
+        outstandingRequests.decrementAndGet();
+        latencyEstimate.accumulateAndGet(
+                latencyNanos,
+                (average, latency) -> average < 0
+                        ? latency
+                        : average + Math.round(LATENCY_EWMA_WEIGHT * (latency - average)));
+    }
+
     /**
      * Get the amount of time the node has to wait until it's healthy again
      *
@@ -235,16 +376,133 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         return TlsChannelCredentials.create();
     }
 
+    /**
+     * Get the number of connections to this node.
+     *
+     * @return                          the number of connections
+     */
+    synchronized int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * Set the number of connections to this node. Takes effect when the next channel is created.
+     *
+     * @param channelCount              the number of connections
+     * @return {@code this}
+     */
+    synchronized N setChannelCount(int channelCount) {
+        this.channelCount = channelCount;
+
+        // noinspection unchecked
+        return (N) this;
+    }
+
+    /**
+     * Get the configurer of the channels to this node.
+     *
+     * @return                          the channel configurer
+     */
+    @Nullable
+    synchronized ChannelConfigurer getChannelConfigurer() {
+        return channelConfigurer;
+    }
+
+    /**
+     * Set the configurer of the channels to this node. Takes effect when the next channel is created.
+     *
+     * @param channelConfigurer         the channel configurer
+     * @return {@code this}
+     */
+    synchronized N setChannelConfigurer(@Nullable ChannelConfigurer channelConfigurer) {
+        this.channelConfigurer = channelConfigurer;
+
+        // noinspection unchecked
+        return (N) this;
+    }
+
+    /**
+     * Extract the number of active streams on each connection to this node.
+     *
+     * @return                          the number of active streams, by connection, or none without a channel
+     */
+    synchronized int[] getActiveStreams() {
+        return channel instanceof ChannelPool pool ? pool.getActiveStreams() : new int[0];
+    }
+
     /**
      * Get the gRPC channel for this node
      *
      * @return                          the channel
      */
     synchronized ManagedChannel getChannel() {
-        if (channel != null) {
-            return channel;
+        if (channel == null) {
+            channel = new ChannelPool(channelCount, this::buildChannel);
+            openedConnections.addAndGet(channelCount);
+        }
+
+        if (channel instanceof ChannelPool pool) {
+            // Keeps the channel from being closed as idle while the caller starts its call
+            pool.touch();
+        }
+
+        return channel;
+    }
+
+    /**
+     * Close the channel of this node when it has no active streams and was not used for the given time. The next
+     * request opens a new channel.
+     *
+     * @param idleTimeout               the time without use after which the channel is closed
+     * @return                          whether the channel was closed
+     */
+    synchronized boolean closeChannelIfIdle(Duration idleTimeout) {
+        if (!(channel instanceof ChannelPool pool) || !pool.isIdleFor(idleTimeout.toNanos())) {
+            return false;
         }
 
+        channel = null;
+        connectionAttempt.set(null);
+        hasConnected = false;
+
+        pool.shutdown();
+        idleClosedConnections.addAndGet(pool.size());
+        return true;
+    }
+
+    /**
+     * Extract the number of open connections to this node.
+     *
+     * @return                          the number of open connections
+     */
+    synchronized int getOpenConnections() {
+        return channel instanceof ChannelPool pool && !pool.isShutdown() ? pool.size() : 0;
+    }
+
+    /**
+     * Extract the number of connections opened to this node, including the ones which were closed again.
+     *
+     * @return                          the number of opened connections
+     */
+    long getOpenedConnections() {
+        return openedConnections.get();
+    }
+
+    /**
+     * Extract the number of connections to this node which were closed because they were idle.
+     *
+     * @return                          the number of connections closed as idle
+     */
+    long getIdleClosedConnections() {
+        return idleClosedConnections.get();
+    }
+
+    /**
+     * Build a channel with a connection of its own to this node. Must be called while holding the monitor.
+     *
+     * @return                          the channel
+     */
+    private ManagedChannel buildChannel() {
         ManagedChannelBuilder<?> channelBuilder;
 
         if (address.isInProcess()) {
@@ -260,15 +518,18 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
             channelBuilder = ManagedChannelBuilder.forTarget(address.toString()).usePlaintext();
         }
 
-        channel = channelBuilder
+        channelBuilder
                 .keepAliveTimeout(10, TimeUnit.SECONDS)
                 .keepAliveWithoutCalls(true)
                 .disableRetry()
                 .userAgent(getUserAgent())
-                .executor(executor)
-                .build();
+                .executor(executor);
 
-        return channel;
+        if (channelConfigurer != null) {
+            channelConfigurer.configure(address.toString(), channelBuilder);
+        }
+
+        return channelBuilder.build();
     }
 
     /**
@@ -280,46 +541,95 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         return channelFailedToConnect(Instant.MAX);
     }
 
+    /**
+     * Did we fail to connect before the given time?
+     * <p>
+     * Returns {@code false} when the time passes while the channel is still connecting.
+     *
+     * @param timeoutTime               the time until which to wait
+     * @return                          did we fail to connect
+     */
     boolean channelFailedToConnect(Instant timeoutTime) {
         if (hasConnected) {
             return false;
         }
-        hasConnected = (getChannel().getState(true) == ConnectivityState.READY);
+
+        var attempt = channelFailedToConnectAsync();
         try {
-            for (int i = 0; i < GET_STATE_MAX_ATTEMPTS && !hasConnected; i++) {
-                Duration currentTimeout = Duration.between(Instant.now(), timeoutTime);
-                if (currentTimeout.isNegative() || currentTimeout.isZero()) {
-                    return false;
-                }
-                TimeUnit.MILLISECONDS.sleep(GET_STATE_INTERVAL_MILLIS);
-                hasConnected = (getChannel().getState(true) == ConnectivityState.READY);
+            if (timeoutTime.equals(Instant.MAX)) {
+                return attempt.get();
+            }
+
+            var remaining = Duration.between(Instant.now(), timeoutTime);
+            if (remaining.isNegative() || remaining.isZero()) {
+                return attempt.getNow(false);
             }
+            return attempt.get(remaining.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return false;
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            return true;
         }
-        return !hasConnected;
-    }
-
-    private CompletableFuture<Boolean> channelFailedToConnectAsync(int i, ConnectivityState state) {
-        hasConnected = (state == ConnectivityState.READY);
-        if (i >= GET_STATE_MAX_ATTEMPTS || hasConnected) {
-            return CompletableFuture.completedFuture(!hasConnected);
-        }
-        return Delayer.delayFor(GET_STATE_INTERVAL_MILLIS, executor).thenCompose(ignored -> {
-            return channelFailedToConnectAsync(i + 1, getChannel().getState(true));
-        });
     }
 
     /**
      * Asynchronously determine if the channel failed to connect.
+     * <p>
+     * The channel reports its state changes, so no thread waits for it. All callers share one attempt per channel,
+     * which fails as soon as the channel reports a transient failure, and otherwise after
+     * {@link #GET_STATE_TIMEOUT_MILLIS}. A failed attempt is forgotten, so the next call starts a new one. Every caller
+     * gets a copy of the shared future, so cancelling it does not affect the others.
      *
      * @return                          did we fail to connect
      */
-    CompletableFuture<Boolean> channelFailedToConnectAsync() {
+    synchronized CompletableFuture<Boolean> channelFailedToConnectAsync() {
         if (hasConnected) {
             return CompletableFuture.completedFuture(false);
         }
-        return channelFailedToConnectAsync(0, getChannel().getState(true));
+        var current = connectionAttempt.get();
+        if (current != null) {
+            return current.copy();
+        }
+
+        var channel = getChannel();
+        var attempt = new CompletableFuture<Boolean>();
+        connectionAttempt.set(attempt);
+
+        // Runs on the thread which reports the state, so it must not wait for the lock of this node
+        attempt.completeOnTimeout(true, GET_STATE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .thenAccept(failed -> {
+                    if (failed) {
+                        connectionAttempt.compareAndSet(attempt, null);
+                    } else {
+                        hasConnected = true;
+                    }
+                });
+        awaitReady(channel, channel.getState(true), attempt);
+
+        return attempt.copy();
+    }
+
+    /**
+     * Complete the connection attempt once the channel is ready or failed, or wait for its next state change.
+     *
+     * @param channel                   the channel which connects
+     * @param state                     the current state of the channel
+     * @param attempt                   the connection attempt
+     */
+    private static void awaitReady(
+            ManagedChannel channel, ConnectivityState state, CompletableFuture<Boolean> attempt) {
+        if (attempt.isDone()) {
+            return;
+        }
+
+        switch (state) {
+            case READY -> attempt.complete(false);
+            case TRANSIENT_FAILURE, SHUTDOWN -> attempt.complete(true);
+            default -> channel.notifyWhenStateChanged(
+                    state, () -> awaitReady(channel, channel.getState(true), attempt));
+        }
     }
 
     /**
@@ -333,6 +643,7 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
             channel.shutdown();
             channel.awaitTermination(timeout.getSeconds(), TimeUnit.SECONDS);
             channel = null;
+            connectionAttempt.set(null);
         }
     }
 
@@ -0,0 +1,174 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An {@link AsyncTransactionSigner} which combines the requests of many transactions into one request to another
+ * signer, so one round trip to a remote signer is shared by all of them.
+ * <p>
+ * A batch is sent once it holds {@code maxBatchSize} bodies or when {@code maxDelay} has passed since its first
+ * request, whichever comes first. A single request larger than {@code maxBatchSize} is sent as one batch. A batch which
+ * is sent because its delay passed is handed to the delegate on the given executor.
+ */
+public final class BatchingTransactionSigner implements AsyncTransactionSigner {
+    private final AsyncTransactionSigner delegate;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final Executor executor;
+
+    private List<Request> pending = new ArrayList<>();
+    private int pendingBodies = 0;
+    private boolean flushScheduled = false;
+
+    // Counts the batches taken so far, so the timer of a batch which was already sent does not flush the next one
+    private long batchGeneration = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate     the signer which signs the combined batches
+     * @param maxBatchSize the number of bodies after which a batch is sent right away
+     * @param maxDelay     the maximum time a request waits for other requests to join its batch
+     */
+    public BatchingTransactionSigner(AsyncTransactionSigner delegate, int maxBatchSize, Duration maxDelay) {
+        this(delegate, maxBatchSize, maxDelay, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate     the signer which signs the combined batches
+     * @param maxBatchSize the number of bodies after which a batch is sent right away
+     * @param maxDelay     the maximum time a request waits for other requests to join its batch
+     * @param executor     runs the delegate for batches sent after their delay, e.g. the executor of the client
+     */
+    public BatchingTransactionSigner(
+            AsyncTransactionSigner delegate, int maxBatchSize, Duration maxDelay, Executor executor) {
+        Objects.requireNonNull(delegate);
+        Objects.requireNonNull(maxDelay);
+        Objects.requireNonNull(executor);
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than zero");
+        } else if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay must be a positive duration");
+        }
+
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<List<byte[]>> sign(List<byte[]> bodies) {
+        var future = new CompletableFuture<List<byte[]>>();
+        List<Request> batch = null;
+        var scheduledGeneration = -1L;
+
+        synchronized (this) {
+            pending.add(new Request(bodies, future));
+            pendingBodies += bodies.size();
+
+            if (pendingBodies >= maxBatchSize) {
+                batch = takePending();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduledGeneration = batchGeneration;
+            }
+        }
+
+        if (batch != null) {
+            send(batch);
+        } else if (scheduledGeneration >= 0) {
+            var generation = scheduledGeneration;
+            Delayer.delayFor(maxDelay.toMillis(), executor).thenRun(() -> flush(generation));
+        }
+
+        return future;
+    }
+
+    /**
+     * Send the pending requests right away.
+     */
+    public void flush() {
+        List<Request> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void flush(long generation) {
+        List<Request> batch;
+        synchronized (this) {
+            if (generation != batchGeneration) {
+                // This batch was already sent because it was full or flushed
+                return;
+            }
+            batch = takePending();
+        }
+
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private List<Request> takePending() {
+        var batch = pending;
+        pending = new ArrayList<>();
+        pendingBodies = 0;
+        flushScheduled = false;
+        batchGeneration++;
+        return batch;
+    }
+
+    private void send(List<Request> batch) {
+        var bodies = new ArrayList<byte[]>();
+        for (var request : batch) {
+            bodies.addAll(request.bodies);
+        }
+
+        PresignedTransactionSigner.sign(delegate, bodies).whenComplete((signatures, error) -> {
+            var offset = 0;
+            for (var request : batch) {
+                if (error != null) {
+                    request.future.completeExceptionally(error);
+                } else {
+                    var end = offset + request.bodies.size();
+                    request.future.complete(new ArrayList<>(signatures.subList(offset, end)));
+                    offset = end;
+                }
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("delegate", delegate)
+                .add("maxBatchSize", maxBatchSize)
+                .add("maxDelay", maxDelay)
+                .toString();
+    }
+
+    private static final class Request {
+        final List<byte[]> bodies;
+        final CompletableFuture<List<byte[]>> future;
+
+        Request(List<byte[]> bodies, CompletableFuture<List<byte[]>> future) {
+            this.bodies = bodies;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Utility class used internally by the sdk to wait for asynchronous work from the blocking API.
+ */
+final class BlockingFutures {
+    /**
+     * Constructor.
+     */
+    private BlockingFutures() {}
+
+    /**
+     * Wait for the result of a future, rethrowing its failure as thrown by the blocking API.
+     *
+     * @param future                    the future
+     * @param timeout                   the maximum time to wait
+     * @return                          the result of the future
+     * @throws TimeoutException         when the future times out or fails with a timeout
+     * @throws PrecheckStatusException  when the future fails with a precheck status
+     */
+    static <O> O await(CompletableFuture<O> future, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw (TimeoutException) cause;
+            } else if (cause instanceof PrecheckStatusException) {
+                throw (PrecheckStatusException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Tunes the gRPC channels to the nodes and mirror nodes before they are built.
+ * <p>
+ * The builder comes with the defaults of the SDK: a keepalive timeout of 10 seconds, keepalive without calls, no
+ * retries by gRPC, the user agent of the SDK and the executor of the client. The configurer runs after them, so it can
+ * override any of them, e.g. {@code maxInboundMessageSize}, {@code idleTimeout} or {@code keepAliveTime}.
+ * <p>
+ * Settings of a specific transport are available by casting the builder, e.g. the HTTP/2 flow control window, a
+ * shared event loop group or the epoll channel type of {@code NettyChannelBuilder}:
+ * <pre>{@code
+ * client.setChannelConfigurer((address, builder) -> {
+ *     if (builder instanceof NettyChannelBuilder netty) {
+ *         netty.eventLoopGroup(sharedEventLoopGroup)
+ *                 .channelType(EpollSocketChannel.class)
+ *                 .flowControlWindow(4 * 1024 * 1024);
+ *     }
+ * });
+ * }</pre>
+ *
+ * @see Client#setChannelConfigurer(ChannelConfigurer)
+ */
+@FunctionalInterface
+public interface ChannelConfigurer {
+    /**
+     * Configure the builder of a channel.
+     *
+     * @param address the address of the node, as in {@link Client#getNetwork()} or {@link Client#getMirrorNetwork()}
+     * @param builder the builder of the channel
+     */
+    void configure(String address, ManagedChannelBuilder<?> builder);
+}
@@ -0,0 +1,285 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * A fixed number of channels to the same node, each with a connection of its own.
+ * <p>
+ * All calls over one channel share one HTTP/2 connection, which limits the number of concurrent streams and their flow
+ * control window. The pool starts each call on the channel with the fewest active streams, so concurrent calls to a
+ * node are spread over its connections.
+ * <p>
+ * The state of the pool is the best state of its channels, so it is ready as soon as one connection is.
+ */
+final class ChannelPool extends ManagedChannel {
+    // The states from the best to the worst
+    private static final ConnectivityState[] STATE_ORDER = {
+        ConnectivityState.READY,
+        ConnectivityState.CONNECTING,
+        ConnectivityState.IDLE,
+        ConnectivityState.TRANSIENT_FAILURE,
+        ConnectivityState.SHUTDOWN
+    };
+
+    private final ManagedChannel[] channels;
+
+    /**
+     * Number of streams which were started and not closed yet, per channel
+     */
+    private final AtomicIntegerArray activeStreams;
+
+    /**
+     * Where the search for the least busy channel starts, so calls are spread over channels which are equally busy
+     */
+    private final AtomicInteger nextChannel = new AtomicInteger();
+
+    /**
+     * When the pool was last handed out or a stream last started or closed, see {@link System#nanoTime()}
+     */
+    private volatile long lastUsedNanos = System.nanoTime();
+
+    /**
+     * Constructor.
+     *
+     * @param size                      the number of channels
+     * @param channelFactory            creates each channel
+     */
+    ChannelPool(int size, Supplier<ManagedChannel> channelFactory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("a channel pool must have at least one channel");
+        }
+
+        channels = new ManagedChannel[size];
+        for (int i = 0; i < size; i++) {
+            channels[i] = channelFactory.get();
+        }
+        activeStreams = new AtomicIntegerArray(size);
+    }
+
+    /**
+     * Extract the number of channels.
+     *
+     * @return                          the number of channels
+     */
+    int size() {
+        return channels.length;
+    }
+
+    /**
+     * Extract the number of active streams of each channel.
+     *
+     * @return                          the number of active streams, by channel
+     */
+    int[] getActiveStreams() {
+        var streams = new int[channels.length];
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = activeStreams.get(i);
+        }
+        return streams;
+    }
+
+    /**
+     * Record that the pool is about to be used.
+     */
+    void touch() {
+        lastUsedNanos = System.nanoTime();
+    }
+
+    /**
+     * Whether no stream is active and the pool was not used for the given time.
+     *
+     * @param idleNanos                 the time without use in nanoseconds
+     * @return                          whether the pool is idle
+     */
+    boolean isIdleFor(long idleNanos) {
+        for (int i = 0; i < channels.length; i++) {
+            if (activeStreams.get(i) > 0) {
+                return false;
+            }
+        }
+        return System.nanoTime() - lastUsedNanos >= idleNanos;
+    }
+
+    private int leastBusyChannel() {
+        if (channels.length == 1) {
+            return 0;
+        }
+
+        var start = Math.floorMod(nextChannel.getAndIncrement(), channels.length);
+        var best = start;
+        var bestStreams = activeStreams.get(start);
+        for (int i = 1; i < channels.length && bestStreams > 0; i++) {
+            var index = (start + i) % channels.length;
+            var streams = activeStreams.get(index);
+            if (streams < bestStreams) {
+                best = index;
+                bestStreams = streams;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> newCall(
+            MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions) {
+        var index = leastBusyChannel();
+        var call = channels[index].newCall(methodDescriptor, callOptions);
+
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(call) {
+            @Override
+            public void start(Listener<ResponseT> responseListener, Metadata headers) {
+                activeStreams.incrementAndGet(index);
+                touch();
+                try {
+                    super.start(
+                            new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                                @Override
+                                public void onClose(Status status, Metadata trailers) {
+                                    touch();
+                                    activeStreams.decrementAndGet(index);
+                                    super.onClose(status, trailers);
+                                }
+                            },
+                            headers);
+                } catch (RuntimeException e) {
+                    activeStreams.decrementAndGet(index);
+                    throw e;
+                }
+            }
+        };
+    }
+
+    @Override
+    public String authority() {
+        return channels[0].authority();
+    }
+
+    @Override
+    public ConnectivityState getState(boolean requestConnection) {
+        var best = STATE_ORDER.length - 1;
+        for (var channel : channels) {
+            var state = channel.getState(requestConnection);
+            for (int i = 0; i < best; i++) {
+                if (STATE_ORDER[i] == state) {
+                    best = i;
+                    break;
+                }
+            }
+        }
+        return STATE_ORDER[best];
+    }
+
+    /**
+     * Run the callback once the state of the pool is no longer the given state. It may run right away when the state
+     * already changed.
+     *
+     * @param source                    the state which is expected to change
+     * @param callback                  the callback
+     */
+    @Override
+    public void notifyWhenStateChanged(ConnectivityState source, Runnable callback) {
+        if (getState(false) != source) {
+            callback.run();
+            return;
+        }
+
+        var notified = new AtomicBoolean();
+        for (var channel : channels) {
+            notifyWhenStateChanged(channel, source, notified, callback);
+        }
+    }
+
+    private void notifyWhenStateChanged(
+            ManagedChannel channel, ConnectivityState source, AtomicBoolean notified, Runnable callback) {
+        channel.notifyWhenStateChanged(channel.getState(false), () -> {
+            if (notified.get()) {
+                return;
+            }
+
+            if (getState(false) != source) {
+                if (notified.compareAndSet(false, true)) {
+                    callback.run();
+                }
+            } else {
+                // This connection changed without changing the pool, wait for its next change
+                notifyWhenStateChanged(channel, source, notified, callback);
+            }
+        });
+    }
+
+    @Override
+    public void resetConnectBackoff() {
+        for (var channel : channels) {
+            channel.resetConnectBackoff();
+        }
+    }
+
+    @Override
+    public void enterIdle() {
+        for (var channel : channels) {
+            channel.enterIdle();
+        }
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+        for (var channel : channels) {
+            channel.shutdown();
+        }
+        return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        for (var channel : channels) {
+            channel.shutdownNow();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (var channel : channels) {
+            if (!channel.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (var channel : channels) {
+            if (!channel.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        var deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (var channel : channels) {
+            var remaining = deadline - System.nanoTime();
+            if (!channel.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
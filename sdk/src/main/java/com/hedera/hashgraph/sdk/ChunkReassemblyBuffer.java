@@ -0,0 +1,175 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * Reassembles the messages in chunks of a topic subscription.
+ * <p>
+ * The chunks of incomplete messages are held until all chunks of their message have been received, within limits on
+ * the number of incomplete messages, the bytes of their chunks and how long they are held. A message which exceeds a
+ * limit is dropped, oldest first, and reported as an {@link IncompleteTopicMessageException}. How long a message is
+ * held is measured in consensus time, i.e. it is dropped once the subscription received a chunk with a consensus
+ * timestamp more than the time to live after the first chunk of the message, so replaying old messages behaves the
+ * same as streaming new ones.
+ * <p>
+ * A buffer usually belongs to one subscription, but is thread safe so that the concurrent streams of a replay can share
+ * one. Its metrics may be shared as well.
+ */
+final class ChunkReassemblyBuffer {
+    private final int maxMessages;
+    private final long maxBytes;
+    private final Duration timeToLive;
+    private final Metrics metrics;
+    private final Consumer<IncompleteTopicMessageException> onDropped;
+
+    // In the order the first chunk of each message was received
+    private final LinkedHashMap<TransactionID, PendingMessage> pending = new LinkedHashMap<>();
+    private long pendingBytes = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param maxMessages               the maximum number of incomplete messages
+     * @param maxBytes                  the maximum number of bytes of the chunks of incomplete messages
+     * @param timeToLive                the consensus time after which an incomplete message is dropped
+     * @param metrics                   the metrics to update
+     * @param onDropped                 called for every incomplete message which is dropped
+     */
+    ChunkReassemblyBuffer(
+            int maxMessages,
+            long maxBytes,
+            Duration timeToLive,
+            Metrics metrics,
+            Consumer<IncompleteTopicMessageException> onDropped) {
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.timeToLive = timeToLive;
+        this.metrics = metrics;
+        this.onDropped = onDropped;
+    }
+
+    /**
+     * Add a response.
+     *
+     * @param response                  the response
+     * @return                          the message, or {@code null} while chunks of it are missing
+     */
+    @Nullable
+    synchronized TopicMessage add(ConsensusTopicResponse response) {
+        // Short circuit for no chunks or 1/1 chunks
+        if (!response.hasChunkInfo() || response.getChunkInfo().getTotal() == 1) {
+            return TopicMessage.ofSingle(response);
+        }
+
+        var chunkInfo = response.getChunkInfo();
+        var consensusTimestamp = InstantConverter.fromProtobuf(response.getConsensusTimestamp());
+        dropExpired(consensusTimestamp);
+
+        var initialTransactionId = chunkInfo.getInitialTransactionID();
+        var message = pending.get(initialTransactionId);
+        if (message == null) {
+            message = new PendingMessage(chunkInfo.getTotal(), consensusTimestamp);
+            pending.put(initialTransactionId, message);
+            metrics.pendingMessages.incrementAndGet();
+        }
+
+        var index = chunkInfo.getNumber() - 1;
+        if (index >= 0 && index < message.chunks.length && message.chunks[index] == null) {
+            var size = response.getMessage().size();
+            message.chunks[index] = response;
+            message.receivedChunks++;
+            if (message.latest == null || response.getSequenceNumber() > message.latest.getSequenceNumber()) {
+                message.latest = response;
+            }
+            message.bytes += size;
+            pendingBytes += size;
+            metrics.pendingBytes.addAndGet(size);
+        }
+
+        if (message.receivedChunks == message.chunks.length) {
+            remove(initialTransactionId, message);
+            metrics.reassembledMessages.incrementAndGet();
+            // The chunks of concurrent streams arrive out of order, the message is as of its latest chunk
+            return TopicMessage.ofChunks(message.chunks, Objects.requireNonNull(message.latest), (int) message.bytes);
+        }
+
+        while (!pending.isEmpty() && (pending.size() > maxMessages || pendingBytes > maxBytes)) {
+            dropEldest(pending.size() > maxMessages ? "too many incomplete messages" : "too many bytes in chunks");
+        }
+
+        return null;
+    }
+
+    /**
+     * Drop all incomplete messages without reporting them, e.g. when the subscription ends.
+     */
+    synchronized void clear() {
+        metrics.pendingMessages.addAndGet(-pending.size());
+        metrics.pendingBytes.addAndGet(-pendingBytes);
+        pending.clear();
+        pendingBytes = 0;
+    }
+
+    private void dropExpired(Instant consensusTimestamp) {
+        while (!pending.isEmpty()) {
+            var eldest = pending.values().iterator().next();
+            if (!eldest.firstConsensusTimestamp.plus(timeToLive).isBefore(consensusTimestamp)) {
+                return;
+            }
+
+            dropEldest("time to live exceeded");
+        }
+    }
+
+    private void dropEldest(String reason) {
+        var eldest = pending.entrySet().iterator().next();
+        var message = eldest.getValue();
+        remove(eldest.getKey(), message);
+        metrics.droppedMessages.incrementAndGet();
+
+        var transactionId = TransactionId.fromProtobuf(eldest.getKey());
+        onDropped.accept(new IncompleteTopicMessageException(
+                transactionId, message.receivedChunks, message.chunks.length, reason));
+    }
+
+    private void remove(TransactionID initialTransactionId, PendingMessage message) {
+        pending.remove(initialTransactionId);
+        pendingBytes -= message.bytes;
+        metrics.pendingMessages.decrementAndGet();
+        metrics.pendingBytes.addAndGet(-message.bytes);
+    }
+
+    private static final class PendingMessage {
+        final ConsensusTopicResponse[] chunks;
+        final Instant firstConsensusTimestamp;
+        int receivedChunks = 0;
+        long bytes = 0;
+
+        @Nullable
+        ConsensusTopicResponse latest;
+
+        PendingMessage(int totalChunks, Instant firstConsensusTimestamp) {
+            this.chunks = new ConsensusTopicResponse[totalChunks];
+            this.firstConsensusTimestamp = firstConsensusTimestamp;
+        }
+    }
+
+    /**
+     * Counters of the chunk reassembly, shared by the subscriptions of a query.
+     */
+    static final class Metrics {
+        final AtomicLong pendingMessages = new AtomicLong();
+        final AtomicLong pendingBytes = new AtomicLong();
+        final AtomicLong reassembledMessages = new AtomicLong();
+        final AtomicLong droppedMessages = new AtomicLong();
+    }
+}
@@ -0,0 +1,86 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import io.grpc.MethodDescriptor;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Submits one chunk of a {@link ChunkedTransaction} which has already been built and signed for each node.
+ * <p>
+ * Unlike executing the chunked transaction itself, this does not change the state of the transaction, so the chunks
+ * of a transaction can be submitted concurrently.
+ */
+final class ChunkSubmission
+        extends Executable<
+                ChunkSubmission,
+                com.hedera.hashgraph.sdk.proto.Transaction,
+                com.hedera.hashgraph.sdk.proto.TransactionResponse,
+                TransactionResponse> {
+    private final Transaction<?> transaction;
+    private final TransactionId transactionId;
+    private final List<com.hedera.hashgraph.sdk.proto.Transaction> requests;
+
+    /**
+     * Constructor. The retry settings are taken from the chunked transaction.
+     *
+     * @param transaction               the chunked transaction
+     * @param transactionId             the transaction ID of the chunk
+     * @param nodeAccountIds            the nodes the chunk may be submitted to
+     * @param requests                  the signed chunk for each node, in the same order as the nodes
+     */
+    ChunkSubmission(
+            Transaction<?> transaction,
+            TransactionId transactionId,
+            List<AccountId> nodeAccountIds,
+            List<com.hedera.hashgraph.sdk.proto.Transaction> requests) {
+        this.transaction = transaction;
+        this.transactionId = transactionId;
+        this.requests = requests;
+        this.maxAttempts = transaction.maxAttempts;
+        this.minBackoff = transaction.minBackoff;
+        this.maxBackoff = transaction.maxBackoff;
+        this.grpcDeadline = transaction.grpcDeadline;
+        setNodeAccountIds(nodeAccountIds);
+    }
+
+    @Override
+    void onExecute(Client client) {
+        // The chunk is already signed
+    }
+
+    @Override
+    CompletableFuture<Void> onExecuteAsync(Client client) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    com.hedera.hashgraph.sdk.proto.Transaction makeRequest() {
+        return requests.get(nodeAccountIds.getIndex());
+    }
+
+    @Override
+    TransactionResponse mapResponse(
+            com.hedera.hashgraph.sdk.proto.TransactionResponse response,
+            AccountId nodeId,
+            com.hedera.hashgraph.sdk.proto.Transaction request) {
+        var hash = Transaction.hash(request.getSignedTransactionBytes().toByteArray());
+        return new TransactionResponse(nodeId, transactionId, hash, null, transaction);
+    }
+
+    @Override
+    Status mapResponseStatus(com.hedera.hashgraph.sdk.proto.TransactionResponse response) {
+        return Status.valueOf(response.getNodeTransactionPrecheckCode());
+    }
+
+    @Override
+    MethodDescriptor<com.hedera.hashgraph.sdk.proto.Transaction, com.hedera.hashgraph.sdk.proto.TransactionResponse>
+            getMethodDescriptor() {
+        return transaction.getMethodDescriptor();
+    }
+
+    @Override
+    TransactionId getTransactionIdInternal() {
+        return transactionId;
+    }
+}
@@ -3,11 +3,21 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 import com.hedera.hashgraph.sdk.proto.SignatureMap;
 import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import com.hedera.hashgraph.sdk.proto.TransactionID;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -18,6 +28,7 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -40,6 +51,11 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
      */
     private int maxChunks = 20;
 
+    /**
+     * Maximum number of chunks which are submitted but not yet complete at the same time.
+     */
+    private int maxChunksInFlight = 1;
+
     /**
      * Constructor.
      *
@@ -119,6 +135,76 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         return (T) this;
     }
 
+    /**
+     * Assign the data via a byte buffer.
+     * <p>
+     * The remaining bytes of the buffer are used without copying them, so the buffer must not be modified afterwards.
+     *
+     * @param data                      the byte buffer
+     * @return {@code this}
+     */
+    T setData(ByteBuffer data) {
+        requireNotFrozen();
+        this.data = UnsafeByteOperations.unsafeWrap(data.slice());
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
+    /**
+     * Assign the data via the contents of a file.
+     * <p>
+     * The file is mapped into memory instead of being read onto the heap, and each chunk reads its part of the file
+     * when it is built. The file must not be modified until the transaction has been executed.
+     *
+     * @param path                      the path of the file
+     * @return {@code this}
+     * @throws IOException              when the file can not be mapped
+     */
+    T setData(Path path) throws IOException {
+        requireNotFrozen();
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("file of " + size + " bytes is too large to be chunked");
+            }
+
+            // The mapping stays valid after the channel is closed
+            this.data = UnsafeByteOperations.unsafeWrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
+    /**
+     * Assign the data via the remaining bytes of an input stream. The stream is read to its end but not closed.
+     * <p>
+     * The stream is copied to a temporary file which is then mapped into memory like {@link #setData(Path)}, so the
+     * data is not held on the heap. The temporary file is deleted right away, or when the JVM exits on platforms which
+     * do not allow deleting a mapped file.
+     *
+     * @param stream                    the input stream
+     * @return {@code this}
+     * @throws IOException              when reading the stream or writing the temporary file fails
+     */
+    T setData(InputStream stream) throws IOException {
+        requireNotFrozen();
+
+        var file = Files.createTempFile("chunked-transaction", ".data");
+        try {
+            Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+            return setData(file);
+        } finally {
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
     /**
      * Retrieve the maximum number of chunks.
      *
@@ -165,6 +251,39 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         return (T) this;
     }
 
+    /**
+     * Retrieve the maximum number of chunks in flight.
+     *
+     * @return                          the maximum number of chunks in flight
+     */
+    public int getMaxChunksInFlight() {
+        return maxChunksInFlight;
+    }
+
+    /**
+     * Assign the maximum number of chunks which are in flight at the same time when executing all chunks.
+     * <p>
+     * With the default of 1 each chunk is submitted after the previous one is complete. With a larger value the
+     * chunks are submitted in a pipeline: a chunk is submitted as soon as the chunk {@code maxChunksInFlight} places
+     * before it is complete. Chunks which must be applied in order, like those of a file append, are submitted one
+     * after the other to the node which accepted the first chunk, each once that node accepted the previous chunk, and
+     * are complete once their receipt shows that they succeeded. After a chunk failed at consensus the chunks which
+     * were not submitted yet are not submitted.
+     *
+     * @param maxChunksInFlight         the maximum number of chunks in flight
+     * @return {@code this}
+     */
+    public T setMaxChunksInFlight(int maxChunksInFlight) {
+        if (maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("maxChunksInFlight must be at least 1");
+        }
+
+        this.maxChunksInFlight = maxChunksInFlight;
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
     @Override
     public byte[] getTransactionHash() {
         if (outerTransactions.size() > nodeAccountIds.size()) {
@@ -311,10 +430,20 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
             throws PrecheckStatusException, TimeoutException {
         freezeAndSign(client);
 
+        if (isPipelined()) {
+            transactionIds.setLocked(true);
+            nodeAccountIds.setLocked(true);
+
+            // Every chunk has its own timeout, this only bounds the wait in case they do not overlap at all
+            var timeout = timeoutPerChunk.multipliedBy(2L * transactionIds.size());
+            return BlockingFutures.await(executeAllPipelinedAsync(client, timeoutPerChunk), timeout);
+        }
+
         var responses = new ArrayList<TransactionResponse>(transactionIds.size());
 
         for (var i = 0; i < transactionIds.size(); i++) {
             var response = super.execute(client, timeoutPerChunk);
+            releaseChunk(i);
 
             if (shouldGetReceipt()) {
                 new TransactionReceiptQuery()
@@ -349,12 +478,23 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
     public CompletableFuture<List<TransactionResponse>> executeAllAsync(Client client, Duration timeoutPerChunk) {
         freezeAndSign(client);
 
+        if (isPipelined()) {
+            transactionIds.setLocked(true);
+            nodeAccountIds.setLocked(true);
+
+            return executeAllPipelinedAsync(client, timeoutPerChunk);
+        }
+
         CompletableFuture<List<com.hedera.hashgraph.sdk.TransactionResponse>> future =
                 CompletableFuture.supplyAsync(() -> new ArrayList<>(transactionIds.size()));
 
         for (var i = 0; i < transactionIds.size(); i++) {
+            var chunk = i;
             future = future.thenCompose(list -> {
-                var responseFuture = super.executeAsync(client, timeoutPerChunk);
+                var responseFuture = super.executeAsync(client, timeoutPerChunk).thenApply(response -> {
+                    releaseChunk(chunk);
+                    return response;
+                });
 
                 Function<TransactionResponse, ? extends CompletionStage<TransactionResponse>> receiptFuture =
                         (TransactionResponse response) -> response.getReceiptAsync(client, timeoutPerChunk)
@@ -376,6 +516,135 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         return future;
     }
 
+    private boolean isPipelined() {
+        return maxChunksInFlight > 1 && transactionIds.size() > 1;
+    }
+
+    /**
+     * Submit the chunks with at most {@link #maxChunksInFlight} of them in flight.
+     * <p>
+     * A chunk is signed and built when it is submitted, and only for the nodes it may be submitted to, and it is
+     * released once its submission is done, so only the chunks in flight are held in memory.
+     * <p>
+     * A chunk is in flight from its submission until it is complete, which is when the node accepted it or, for
+     * chunks which must be applied in order, when its receipt shows that it succeeded. A chunk which must be applied
+     * in order is submitted to the same node as the previous chunk once that node accepted the previous chunk, so the
+     * node receives the chunks in order while their receipts are awaited together. Once a receipt shows that a chunk
+     * failed, the chunks which were not submitted yet fail without being submitted.
+     *
+     * @param client                    the client with which the chunks are submitted
+     * @param timeoutPerChunk           the timeout of each submission and receipt
+     * @return                          the future responses of all chunks
+     */
+    private CompletableFuture<List<TransactionResponse>> executeAllPipelinedAsync(
+            Client client, Duration timeoutPerChunk) {
+        var chunkCount = transactionIds.size();
+        var nodes = new ArrayList<>(nodeAccountIds.getList());
+        var ordered = shouldGetReceipt();
+
+        var submitted = new ArrayList<CompletableFuture<TransactionResponse>>(chunkCount);
+        var completed = new ArrayList<CompletableFuture<TransactionResponse>>(chunkCount);
+        var receiptFailure = new AtomicReference<Throwable>();
+
+        for (var i = 0; i < chunkCount; i++) {
+            var chunk = i;
+            CompletableFuture<?> slot = i >= maxChunksInFlight
+                    ? completed.get(i - maxChunksInFlight)
+                    : CompletableFuture.completedFuture(null);
+
+            CompletableFuture<List<AccountId>> chunkNodes = ordered && i > 0
+                    ? slot.thenCombine(submitted.get(i - 1), (v, previous) -> List.of(previous.nodeId))
+                    : slot.thenApply(v -> nodes);
+
+            var submission = chunkNodes.thenComposeAsync(
+                    targets -> {
+                        var failure = receiptFailure.get();
+                        return failure != null
+                                ? CompletableFuture.<TransactionResponse>failedFuture(failure)
+                                : submitChunkAsync(client, chunk, targets, timeoutPerChunk);
+                    },
+                    client.executor);
+            submitted.add(submission);
+
+            if (ordered) {
+                // The receipt fails with a ReceiptStatusException unless the chunk succeeded
+                completed.add(submission
+                        .thenCompose(response -> response.getReceiptAsync(client, timeoutPerChunk)
+                                .thenApply(receipt -> response))
+                        .whenComplete((response, error) -> {
+                            if (error instanceof ReceiptStatusException) {
+                                receiptFailure.compareAndSet(null, error);
+                            } else if (error != null && error.getCause() instanceof ReceiptStatusException) {
+                                receiptFailure.compareAndSet(null, error.getCause());
+                            }
+                        }));
+            } else {
+                completed.add(submission);
+            }
+        }
+
+        return CompletableFuture.allOf(completed.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    var responses = new ArrayList<TransactionResponse>(chunkCount);
+                    for (var future : completed) {
+                        responses.add(future.join());
+                    }
+                    return responses;
+                });
+    }
+
+    private CompletableFuture<TransactionResponse> submitChunkAsync(
+            Client client, int chunk, List<AccountId> targets, Duration timeout) {
+        var nodeCount = nodeAccountIds.size();
+        var indexes = new ArrayList<Integer>(targets.size());
+        for (var nodeId : targets) {
+            indexes.add(chunk * nodeCount + nodeAccountIds.getList().indexOf(nodeId));
+        }
+
+        // The targets are either all nodes or a single one, so their entries are one range
+        return requestAsyncSignatures(Collections.min(indexes), Collections.max(indexes) + 1)
+                .thenComposeAsync(
+                        v -> {
+                            var requests = new ArrayList<com.hedera.hashgraph.sdk.proto.Transaction>(targets.size());
+                            for (var index : indexes) {
+                                // Each chunk only touches its own entries, so chunks can be built concurrently
+                                buildTransaction(index);
+                                requests.add(outerTransactions.get(index));
+                            }
+
+                            return new ChunkSubmission(this, transactionIds.get(chunk), targets, requests)
+                                    .executeAsync(client, timeout);
+                        },
+                        client.executor)
+                .whenComplete((response, error) -> releaseChunk(chunk));
+    }
+
+    /**
+     * Drop the built transactions of a chunk which was submitted, and the asynchronous signatures which were requested
+     * for the nodes it was not built for. They are built again if they are needed later, e.g. by {@link #toBytes()}.
+     *
+     * @param chunk                     the index of the chunk
+     */
+    private void releaseChunk(int chunk) {
+        var nodeCount = nodeAccountIds.size();
+        var fromIndex = chunk * nodeCount;
+        var toIndex = Math.min(fromIndex + nodeCount, outerTransactions.size());
+
+        for (var signer : signers) {
+            if (signer instanceof PresignedTransactionSigner presigned) {
+                for (var index = fromIndex; index < toIndex; index++) {
+                    if (outerTransactions.get(index) == null) {
+                        presigned.discard(innerSignedTransactions.get(index).getBodyBytes());
+                    }
+                }
+            }
+        }
+
+        for (var index = fromIndex; index < toIndex; index++) {
+            outerTransactions.set(index, null);
+        }
+    }
+
     /**
      * Execute this transaction or query asynchronously.
      *
@@ -470,39 +739,70 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
 
     @Override
     void wipeTransactionLists(int requiredChunks) {
-        sigPairLists = new ArrayList<>(requiredChunks * nodeAccountIds.size());
-        outerTransactions = new ArrayList<>(requiredChunks * nodeAccountIds.size());
-        innerSignedTransactions = new ArrayList<>(requiredChunks * nodeAccountIds.size());
+        var count = requiredChunks * nodeAccountIds.size();
+        sigPairLists = new ArrayList<>(count);
+        outerTransactions = new ArrayList<>(count);
+
+        // For each chunk and node there is a transaction, the body of which is only built when it is needed
+        for (int i = 0; i < count; i++) {
+            sigPairLists.add(SignatureMap.newBuilder());
+            outerTransactions.add(null);
+        }
 
-        for (int i = 0; i < requiredChunks; i++) {
-            if (!transactionIds.isEmpty()) {
-                var startIndex = i * chunkSize;
-                var endIndex = startIndex + chunkSize;
+        innerSignedTransactions = new ChunkBodies(Objects.requireNonNull(frozenBodyBuilder).build(), requiredChunks);
+    }
 
-                if (endIndex > this.data.size()) {
-                    endIndex = this.data.size();
-                }
+    /**
+     * The bodies of all chunks for all nodes, by chunk and then by node.
+     * <p>
+     * A body is built from the frozen body each time it is read, with its chunk of the data as a view of
+     * {@link #data}, so the bodies are not held in memory and building them does not change the frozen body.
+     */
+    private final class ChunkBodies extends AbstractList<SignedTransaction.Builder> {
+        private final TransactionBody frozenBody;
+        private final int chunkCount;
+        private final int nodeCount;
+
+        /**
+         * Constructor.
+         *
+         * @param frozenBody                the body shared by all chunks
+         * @param chunkCount                the number of chunks
+         */
+        ChunkBodies(TransactionBody frozenBody, int chunkCount) {
+            this.frozenBody = frozenBody;
+            this.chunkCount = chunkCount;
+            this.nodeCount = nodeAccountIds.size();
+        }
+
+        @Override
+        public SignedTransaction.Builder get(int index) {
+            Objects.checkIndex(index, size());
+
+            var chunk = index / nodeCount;
+            var body = frozenBody.toBuilder().setNodeAccountID(nodeAccountIds.get(index % nodeCount).toProtobuf());
+
+            if (!transactionIds.isEmpty()) {
+                var startIndex = chunk * chunkSize;
+                var endIndex = Math.min(startIndex + chunkSize, data.size());
 
                 onFreezeChunk(
-                        Objects.requireNonNull(frozenBodyBuilder)
-                                .setTransactionID(transactionIds.get(i).toProtobuf()),
+                        body.setTransactionID(transactionIds.get(chunk).toProtobuf()),
                         transactionIds.get(0).toProtobuf(),
                         startIndex,
                         endIndex,
-                        i,
-                        requiredChunks);
+                        chunk,
+                        chunkCount);
             }
 
-            // For each node we add a transaction with that node
-            for (var nodeId : nodeAccountIds) {
-                sigPairLists.add(SignatureMap.newBuilder());
-                innerSignedTransactions.add(SignedTransaction.newBuilder()
-                        .setBodyBytes(frozenBodyBuilder
-                                .setNodeAccountID(nodeId.toProtobuf())
-                                .build()
-                                .toByteString()));
-                outerTransactions.add(null);
-            }
+            return SignedTransaction.newBuilder()
+                    .setBodyBytes(body.build().toByteString())
+                    .setSigMap(sigPairLists.get(index));
+        }
+
+        @Override
+        public int size() {
+            return chunkCount * nodeCount;
         }
     }
 
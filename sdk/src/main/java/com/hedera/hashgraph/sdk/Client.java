@@ -28,8 +28,11 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -53,9 +56,12 @@ public final class Client implements AutoCloseable {
     static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofMinutes(2L);
     static final Duration DEFAULT_GRPC_DEADLINE = Duration.ofSeconds(10L);
     static final Duration DEFAULT_NETWORK_UPDATE_PERIOD = Duration.ofHours(24);
+    private static final long MIN_CHANNEL_REAP_INTERVAL_MILLIS = 1000;
     // Initial delay of 10 seconds before we update the network for the first time,
     // so that this doesn't happen in unit tests.
     static final Duration NETWORK_UPDATE_INITIAL_DELAY = Duration.ofSeconds(10);
+    // Half of the default valid duration of a transaction, so a pooled payment is never about to expire when sent.
+    static final Duration PAYMENT_TRANSACTION_MAX_AGE = Duration.ofSeconds(60);
     private static final Hbar DEFAULT_MAX_QUERY_PAYMENT = new Hbar(1);
     private static final String MAINNET = "mainnet";
     private static final String TESTNET = "testnet";
@@ -89,8 +95,40 @@ public final class Client implements AutoCloseable {
     @Nullable
     private CompletableFuture<Void> networkUpdateFuture;
 
+    // If channelIdleTimeout is null, idle channels are not closed
+    @Nullable
+    private Duration channelIdleTimeout;
+
+    @Nullable
+    private CompletableFuture<Void> channelReapFuture;
+
     private Logger logger = new Logger(LogLevel.SILENT);
 
+    private volatile ExecutionModel executionModel = ExecutionModel.PLATFORM_THREADS;
+
+    @Nullable
+    private ExecutorService virtualThreadExecutor;
+
+    @Nullable
+    private volatile HedgingPolicy hedgingPolicy;
+
+    @Nullable
+    private volatile QueryCostCache queryCostCache;
+
+    @Nullable
+    private volatile QueryCoalescer queryCoalescer;
+
+    @Nullable
+    private volatile QueryResultCache queryResultCache;
+
+    @Nullable
+    private volatile ReceiptTracker receiptTracker;
+
+    private int paymentTransactionPoolSize = 0;
+
+    @Nullable
+    private volatile PaymentTransactionPool paymentTransactionPool;
+
     /**
      * Constructor.
      *
@@ -137,6 +175,31 @@ public final class Client implements AutoCloseable {
                 new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
+    /**
+     * Create an executor that starts a new virtual thread for every task.
+     * <p>
+     * The SDK is compiled for Java 17, so the virtual thread API is looked up reflectively.
+     *
+     * @return the executor service
+     * @throws UnsupportedOperationException when the runtime does not support virtual threads
+     */
+    static ExecutorService createVirtualThreadExecutor() {
+        try {
+            var builderClass = Class.forName("java.lang.Thread$Builder");
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass
+                    .getMethod("name", String.class, long.class)
+                    .invoke(builder, "hedera-sdk-virtual-", 0L);
+            var threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads require a Java 21 or newer runtime", e);
+        }
+    }
+
     /**
      *
      * Construct a client given a set of nodes.
@@ -420,6 +483,37 @@ public final class Client implements AutoCloseable {
         }
     }
 
+    private synchronized void scheduleChannelReap() {
+        if (channelIdleTimeout == null) {
+            channelReapFuture = null;
+            return;
+        }
+
+        // Closes a channel at most half the idle timeout after it became idle
+        var idleTimeout = channelIdleTimeout;
+        var future = Delayer.delayFor(Math.max(MIN_CHANNEL_REAP_INTERVAL_MILLIS, idleTimeout.toMillis() / 2), executor);
+        channelReapFuture = future;
+        future.thenRun(() -> {
+            network.closeIdleChannels(idleTimeout);
+            mirrorNetwork.closeIdleChannels(idleTimeout);
+            rescheduleChannelReap(future);
+        });
+    }
+
+    private synchronized void rescheduleChannelReap(CompletableFuture<Void> previous) {
+        // Not when the timeout was changed or the client was closed in the meantime
+        if (channelReapFuture == previous) {
+            scheduleChannelReap();
+        }
+    }
+
+    private synchronized void cancelScheduledChannelReap() {
+        if (channelReapFuture != null) {
+            channelReapFuture.cancel(true);
+            channelReapFuture = null;
+        }
+    }
+
     private void cancelAllSubscriptions() {
         subscriptions.forEach(SubscriptionHandle::unsubscribe);
     }
@@ -745,6 +839,52 @@ public final class Client implements AutoCloseable {
         ConsumerHelper.twoConsumers(pingAllAsync(timeoutPerPing), onSuccess, onFailure);
     }
 
+    /**
+     * Open the channels to all nodes and mirror nodes concurrently and wait until they are ready, so the first
+     * requests do not pay for connecting. Nodes which fail to connect are marked unhealthy until their backoff has
+     * elapsed.
+     *
+     * @param timeout The time to wait for the channels.
+     * @return the addresses of the nodes and mirror nodes which are not ready
+     * @throws InterruptedException when the thread is interrupted while waiting
+     */
+    public List<String> warmUp(Duration timeout) throws InterruptedException {
+        try {
+            return warmUpAsync(timeout).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Open the channels to all nodes and mirror nodes concurrently and wait until they are ready, so the first
+     * requests do not pay for connecting. Nodes which fail to connect are marked unhealthy until their backoff has
+     * elapsed.
+     *
+     * @param timeout The time to wait for the channels.
+     * @return a future of the addresses of the nodes and mirror nodes which are not ready
+     */
+    public synchronized CompletableFuture<List<String>> warmUpAsync(Duration timeout) {
+        Objects.requireNonNull(timeout);
+
+        var nodes = network.warmUp(timeout);
+        var mirrorNodes = mirrorNetwork.warmUp(timeout);
+
+        return nodes.thenCombine(mirrorNodes, (notReadyNodes, notReadyMirrorNodes) -> {
+            var notReady = new ArrayList<String>(notReadyNodes.size() + notReadyMirrorNodes.size());
+            for (var node : notReadyNodes) {
+                notReady.add(node.getAddress().toString());
+            }
+            for (var node : notReadyMirrorNodes) {
+                notReady.add(node.getAddress().toString());
+            }
+            if (!notReady.isEmpty()) {
+                logger.warn("Nodes not ready after warm-up: {}", notReady);
+            }
+            return notReady;
+        });
+    }
+
     /**
      * Set the account that will, by default, be paying for transactions and queries built with this client.
      * <p>
@@ -776,9 +916,32 @@ public final class Client implements AutoCloseable {
      */
     public synchronized Client setOperatorWith(
             AccountId accountId, PublicKey publicKey, UnaryOperator<byte[]> transactionSigner) {
+        return setOperatorInternal(new Operator(accountId, publicKey, transactionSigner));
+    }
+
+    /**
+     * Sets the account that will, by default, by paying for transactions and queries built with this client, with a
+     * signer which signs asynchronously, e.g. a remote key management service.
+     * <p>
+     * Transactions executed by this client request the operator signatures for all of their nodes and chunks in one
+     * call to the `transactionSigner`, and {@link Executable#executeAsync(Client)} waits for it without blocking a
+     * thread. Query payments are signed one at a time.
+     *
+     * @param accountId         The AccountId of the operator
+     * @param publicKey         The PublicKey of the operator
+     * @param transactionSigner The asynchronous signer for the operator
+     * @return {@code this}
+     */
+    public synchronized Client setOperatorWithAsync(
+            AccountId accountId, PublicKey publicKey, AsyncTransactionSigner transactionSigner) {
+        Objects.requireNonNull(transactionSigner);
+        return setOperatorInternal(new Operator(accountId, publicKey, transactionSigner));
+    }
+
+    private Client setOperatorInternal(Operator operator) {
         if (getNetworkName() != null) {
             try {
-                accountId.validateChecksum(this);
+                operator.accountId.validateChecksum(this);
             } catch (BadEntityIdException exc) {
                 throw new IllegalArgumentException(
                         "Tried to set the client operator account ID to an account ID with an invalid checksum: "
@@ -786,7 +949,8 @@ public final class Client implements AutoCloseable {
             }
         }
 
-        this.operator = new Operator(accountId, publicKey, transactionSigner);
+        this.operator = operator;
+        resetPaymentTransactionPool();
         return this;
     }
 
@@ -998,6 +1162,77 @@ public final class Client implements AutoCloseable {
         return this;
     }
 
+    /**
+     * The number of connections to each node in the network.
+     *
+     * @return the number of connections to each node
+     */
+    public synchronized int getChannelsPerNode() {
+        return network.getChannelsPerNode();
+    }
+
+    /**
+     * Set the number of connections to each node in the network.
+     * <p>
+     * All concurrent requests to a node share one HTTP/2 connection by default, which under heavy load limits them by
+     * the number of concurrent streams and the flow control window of that connection. With more connections, each
+     * request is sent over the connection with the fewest active streams. Nodes which are already connected keep
+     * their connections until the client is closed.
+     *
+     * @param channelsPerNode the number of connections to each node, at least 1
+     * @return {@code this}
+     */
+    public synchronized Client setChannelsPerNode(int channelsPerNode) {
+        if (channelsPerNode < 1) {
+            throw new IllegalArgumentException("channelsPerNode must be at least 1");
+        }
+
+        network.setChannelsPerNode(channelsPerNode);
+        return this;
+    }
+
+    /**
+     * The configurer of the channels to the nodes and mirror nodes.
+     *
+     * @return the channel configurer, or {@code null} when the defaults are used
+     */
+    @Nullable
+    public synchronized ChannelConfigurer getChannelConfigurer() {
+        return network.getChannelConfigurer();
+    }
+
+    /**
+     * Set a configurer which tunes the channels to the nodes and mirror nodes before they are built, e.g. their HTTP/2
+     * flow control window, maximum inbound message size, idle timeout, keepalive, or the event loop group and native
+     * transport of Netty. Nodes which are already connected keep their channels until the client is closed.
+     *
+     * @param channelConfigurer the channel configurer, or {@code null} to use the defaults
+     * @return {@code this}
+     */
+    public synchronized Client setChannelConfigurer(@Nullable ChannelConfigurer channelConfigurer) {
+        network.setChannelConfigurer(channelConfigurer);
+        mirrorNetwork.setChannelConfigurer(channelConfigurer);
+        return this;
+    }
+
+    /**
+     * Extract the number of active streams on each connection to the nodes in the network, by node address. Nodes
+     * which have not been connected to have no connections.
+     *
+     * @return the number of active streams, by node address and connection
+     */
+    public Map<String, List<Integer>> getActiveStreamsPerConnection() {
+        var activeStreams = new HashMap<String, List<Integer>>();
+        for (var node : network.getSnapshot().nodes) {
+            var streams = new ArrayList<Integer>();
+            for (var count : node.getActiveStreams()) {
+                streams.add(count);
+            }
+            activeStreams.put(node.getAddress().toString(), streams);
+        }
+        return activeStreams;
+    }
+
     /**
      * Extract the minimum node readmit time.
      *
@@ -1008,7 +1243,8 @@ public final class Client implements AutoCloseable {
     }
 
     /**
-     * Assign the minimum node readmit time.
+     * Assign the minimum time a node which received a bad gRPC status is not used for, even when its backoff is
+     * shorter. All nodes are readmitted right away.
      *
      * @param minNodeReadmitTime the requested duration
      * @return {@code this}
@@ -1028,7 +1264,8 @@ public final class Client implements AutoCloseable {
     }
 
     /**
-     * Assign the maximum node readmit time.
+     * Assign the maximum time a node which received a bad gRPC status is not used for, even when its backoff is
+     * longer.
      *
      * @param maxNodeReadmitTime the maximum node readmit time
      * @return {@code this}
@@ -1307,6 +1544,383 @@ public final class Client implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Extract the time without use after which the channel to a node is closed.
+     *
+     * @return the channel idle timeout, or {@code null} when idle channels are kept open
+     */
+    @Nullable
+    public synchronized Duration getChannelIdleTimeout() {
+        return channelIdleTimeout;
+    }
+
+    /**
+     * Set the time without use after which the channel to a node or mirror node is closed. A channel is only closed
+     * when it has no active calls or subscriptions, and the next request to the node opens a new one.
+     * <p>
+     * Channels keep their connections alive even without calls, so on large networks where only a few nodes are used
+     * per request this saves connections, file descriptors and keepalive traffic. Defaults to {@code null}, which keeps
+     * idle channels open.
+     *
+     * @param channelIdleTimeout the channel idle timeout, or {@code null} to keep idle channels open
+     * @return {@code this}
+     */
+    public synchronized Client setChannelIdleTimeout(@Nullable Duration channelIdleTimeout) {
+        if (channelIdleTimeout != null && (channelIdleTimeout.isNegative() || channelIdleTimeout.isZero())) {
+            throw new IllegalArgumentException("channelIdleTimeout must be positive");
+        }
+
+        cancelScheduledChannelReap();
+        this.channelIdleTimeout = channelIdleTimeout;
+        scheduleChannelReap();
+        return this;
+    }
+
+    /**
+     * Extract the number of open connections to the nodes and mirror nodes, each of which holds a socket.
+     *
+     * @return the number of open connections
+     */
+    public long getOpenConnectionCount() {
+        long count = 0;
+        for (var node : network.getSnapshot().nodes) {
+            count += node.getOpenConnections();
+        }
+        for (var node : mirrorNetwork.getSnapshot().nodes) {
+            count += node.getOpenConnections();
+        }
+        return count;
+    }
+
+    /**
+     * Extract the number of connections which were opened to the current nodes and mirror nodes, including the ones
+     * which were closed again.
+     *
+     * @return the number of opened connections
+     */
+    public long getOpenedConnectionCount() {
+        long count = 0;
+        for (var node : network.getSnapshot().nodes) {
+            count += node.getOpenedConnections();
+        }
+        for (var node : mirrorNetwork.getSnapshot().nodes) {
+            count += node.getOpenedConnections();
+        }
+        return count;
+    }
+
+    /**
+     * Extract the number of connections to the current nodes and mirror nodes which were closed because they were
+     * idle for longer than {@link #getChannelIdleTimeout()}.
+     *
+     * @return the number of connections closed as idle
+     */
+    public long getIdleClosedConnectionCount() {
+        long count = 0;
+        for (var node : network.getSnapshot().nodes) {
+            count += node.getIdleClosedConnections();
+        }
+        for (var node : mirrorNetwork.getSnapshot().nodes) {
+            count += node.getIdleClosedConnections();
+        }
+        return count;
+    }
+
+    /**
+     * Extract the execution model.
+     *
+     * @return the execution model
+     */
+    public ExecutionModel getExecutionModel() {
+        return executionModel;
+    }
+
+    /**
+     * Set the threading model used to run requests executed with this client.
+     * <p>
+     * With {@link ExecutionModel#VIRTUAL_THREADS} every asynchronous execution, including its retries, backoff delays
+     * and receipt polls, runs to completion on its own virtual thread instead of being chained on the client's
+     * executor. Synchronous executions always run on the calling thread.
+     *
+     * @param executionModel the desired execution model
+     * @return {@code this}
+     * @throws UnsupportedOperationException when {@link ExecutionModel#VIRTUAL_THREADS} is requested on a runtime
+     *                                       older than Java 21
+     */
+    public synchronized Client setExecutionModel(ExecutionModel executionModel) {
+        Objects.requireNonNull(executionModel);
+
+        if (executionModel == ExecutionModel.VIRTUAL_THREADS && virtualThreadExecutor == null) {
+            virtualThreadExecutor = createVirtualThreadExecutor();
+        } else if (executionModel == ExecutionModel.PLATFORM_THREADS) {
+            shutdownVirtualThreadExecutor();
+        }
+
+        this.executionModel = executionModel;
+        return this;
+    }
+
+    /**
+     * Extract the executor used for the virtual thread execution model.
+     *
+     * @return the virtual thread executor, or {@code null} when the client uses platform threads
+     */
+    @Nullable
+    synchronized ExecutorService getVirtualThreadExecutor() {
+        if (executionModel != ExecutionModel.VIRTUAL_THREADS) {
+            return null;
+        }
+
+        // The executor is shut down when the client is closed, but the client may be re-used afterward
+        if (virtualThreadExecutor == null) {
+            virtualThreadExecutor = createVirtualThreadExecutor();
+        }
+
+        return virtualThreadExecutor;
+    }
+
+    private void shutdownVirtualThreadExecutor() {
+        if (virtualThreadExecutor != null) {
+            // Executions which are already running are allowed to finish
+            virtualThreadExecutor.shutdown();
+            virtualThreadExecutor = null;
+        }
+    }
+
+    /**
+     * Extract the hedging policy.
+     *
+     * @return the hedging policy, or {@code null} when hedging is disabled
+     */
+    @Nullable
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * Set the policy for hedged requests. When set, an attempt which is slower than the configured latency percentile
+     * of recent responses is duplicated to the next healthy node and the first successful response is used.
+     * <p>
+     * Hedging is disabled by default.
+     *
+     * @param hedgingPolicy the hedging policy, or {@code null} to disable hedging
+     * @return {@code this}
+     */
+    public Client setHedgingPolicy(@Nullable HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+        return this;
+    }
+
+    /**
+     * Extract the strategy used to pick the nodes a request is sent to.
+     *
+     * @return the node selector
+     */
+    public synchronized NodeSelector getNodeSelector() {
+        return network.getNodeSelector();
+    }
+
+    /**
+     * Set the strategy used to pick the nodes a request is sent to, when the nodes are not set explicitly on the
+     * request. {@link NodeSelector#latencyAware()} prefers the nodes which respond fastest and have the fewest
+     * requests in flight. Applications can implement {@link NodeSelector} for a strategy of their own.
+     * <p>
+     * Defaults to {@link NodeSelector#random()}.
+     *
+     * @param nodeSelector the node selector
+     * @return {@code this}
+     */
+    public synchronized Client setNodeSelector(NodeSelector nodeSelector) {
+        network.setNodeSelector(nodeSelector);
+        return this;
+    }
+
+    /**
+     * Extract how long the cost of a paid query is remembered.
+     *
+     * @return the time to live of cached query costs, {@link Duration#ZERO} when the cache is disabled
+     */
+    public Duration getQueryCostCacheTtl() {
+        var cache = queryCostCache;
+        return cache != null ? cache.getTtl() : Duration.ZERO;
+    }
+
+    /**
+     * Set how long the cost of a paid query is remembered. While a cost is remembered, queries of the same type sent
+     * to the same node are paid for with it directly instead of asking the node for the cost first. A cost is
+     * forgotten when a node rejects a payment based on it with {@link Status#INSUFFICIENT_QUERY_PAYMENT} or
+     * {@link Status#INSUFFICIENT_TX_FEE}, and the query is then retried once with a freshly queried cost.
+     * <p>
+     * The cost is remembered per query type, so this should only be enabled when the cost of the queries does not
+     * depend on their content, e.g. the number of records or the size of the file which is returned.
+     * <p>
+     * Disabled by default.
+     *
+     * @param ttl the time to live of cached query costs, {@link Duration#ZERO} to disable the cache
+     * @return {@code this}
+     */
+    public Client setQueryCostCacheTtl(Duration ttl) {
+        Objects.requireNonNull(ttl);
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must be a positive duration");
+        }
+
+        queryCostCache = ttl.isZero() ? null : new QueryCostCache(ttl);
+        return this;
+    }
+
+    @Nullable
+    QueryCostCache getQueryCostCache() {
+        return queryCostCache;
+    }
+
+    /**
+     * Extract whether identical queries executed at the same time are coalesced.
+     *
+     * @return whether query coalescing is enabled
+     */
+    public boolean isQueryCoalescingEnabled() {
+        return queryCoalescer != null;
+    }
+
+    /**
+     * Set whether identical queries executed at the same time are coalesced. When enabled, a query which is executed
+     * while an identical query is in flight is not sent to the network; it completes with the result or error of the
+     * query in flight instead. Queries are identical when they have the same type, the same request body, the same
+     * explicitly set nodes, the same explicit query payment and the same maximum query payment.
+     * <p>
+     * The callers share the result object, so it should not be modified.
+     * <p>
+     * Disabled by default.
+     *
+     * @param enabled whether to coalesce identical queries
+     * @return {@code this}
+     */
+    public synchronized Client setQueryCoalescingEnabled(boolean enabled) {
+        if (enabled != (queryCoalescer != null)) {
+            queryCoalescer = enabled ? new QueryCoalescer() : null;
+        }
+
+        return this;
+    }
+
+    @Nullable
+    QueryCoalescer getQueryCoalescer() {
+        return queryCoalescer;
+    }
+
+    /**
+     * Extract the cache for query results.
+     *
+     * @return the query result cache, or {@code null} when query results are not cached
+     */
+    @Nullable
+    public QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
+    /**
+     * Set the cache for the results of queries which describe an entity: {@link AccountInfoQuery},
+     * {@link TokenInfoQuery}, {@link ContractInfoQuery}, {@link FileContentsQuery}, {@link TopicInfoQuery},
+     * {@link ScheduleInfoQuery} and {@link NetworkVersionInfoQuery}. These queries are answered from the cache while
+     * their result is cached.
+     * <p>
+     * When the receipt of a transaction executed with this client shows that it succeeded, the results for the
+     * entities it changed are invalidated, e.g. a {@link TokenUpdateTransaction} invalidates the info of its token.
+     * Changes made by other clients are only seen once the cached result expires.
+     * <p>
+     * Disabled by default.
+     *
+     * @param queryResultCache the query result cache, e.g. a {@link LruQueryResultCache}, or {@code null} to disable
+     *                         caching
+     * @return {@code this}
+     */
+    public Client setQueryResultCache(@Nullable QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+        return this;
+    }
+
+    /**
+     * Extract whether the receipts of transactions are fetched by a shared receipt tracker.
+     *
+     * @return whether receipt tracking is enabled
+     */
+    public boolean isReceiptTrackingEnabled() {
+        return receiptTracker != null;
+    }
+
+    /**
+     * Set whether the receipts of transactions are fetched by a shared receipt tracker. When enabled,
+     * {@link TransactionResponse#getReceipt(Client)} and {@link TransactionResponse#getReceiptAsync(Client)} don't
+     * each poll for their receipt. A single timer polls the nodes for all outstanding receipts instead, and the time
+     * of the first poll and the interval between polls adapt to the observed consensus latency. This reduces the
+     * number of threads and timers when many transactions are in flight. Closing the client fails the receipts which
+     * are still tracked with an {@link IllegalStateException}.
+     * <p>
+     * Disabled by default.
+     *
+     * @param enabled whether to track receipts with a shared receipt tracker
+     * @return {@code this}
+     */
+    public synchronized Client setReceiptTrackingEnabled(boolean enabled) {
+        if (enabled != (receiptTracker != null)) {
+            receiptTracker = enabled ? new ReceiptTracker(this) : null;
+        }
+
+        return this;
+    }
+
+    @Nullable
+    ReceiptTracker getReceiptTracker() {
+        return receiptTracker;
+    }
+
+    /**
+     * Extract the number of signed query payments kept ready per node and payment amount.
+     *
+     * @return the size of the payment transaction pool, 0 when the pool is disabled
+     */
+    public synchronized int getPaymentTransactionPoolSize() {
+        return paymentTransactionPoolSize;
+    }
+
+    /**
+     * Set the number of signed query payments kept ready per node and payment amount. Payments are built and signed
+     * with the operator in the background, so a query attempt only has to take one from the pool instead of building
+     * and signing it on the request path. Payments which are not used within a minute are discarded.
+     * <p>
+     * The pool is filled for a node and amount once the first query has paid that amount to that node, so it works
+     * best together with {@link #setQueryCostCacheTtl(Duration)} or an explicit {@link Query#setQueryPayment(Hbar)}.
+     * <p>
+     * Disabled by default.
+     *
+     * @param size the size of the payment transaction pool, 0 to disable the pool
+     * @return {@code this}
+     */
+    public synchronized Client setPaymentTransactionPoolSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must be non-negative");
+        }
+
+        this.paymentTransactionPoolSize = size;
+        resetPaymentTransactionPool();
+        return this;
+    }
+
+    private void resetPaymentTransactionPool() {
+        if (paymentTransactionPoolSize > 0 && operator != null) {
+            paymentTransactionPool = new PaymentTransactionPool(
+                    operator, paymentTransactionPoolSize, PAYMENT_TRANSACTION_MAX_AGE, executor);
+        } else {
+            paymentTransactionPool = null;
+        }
+    }
+
+    @Nullable
+    PaymentTransactionPool getPaymentTransactionPool() {
+        return paymentTransactionPool;
+    }
+
     public Logger getLogger() {
         return this.logger;
     }
@@ -1345,14 +1959,22 @@ public final class Client implements AutoCloseable {
 
         networkUpdatePeriod = null;
         cancelScheduledNetworkUpdate();
+        cancelScheduledChannelReap();
         cancelAllSubscriptions();
 
+        var tracker = receiptTracker;
+        if (tracker != null) {
+            tracker.close();
+        }
+
         network.beginClose();
         mirrorNetwork.beginClose();
 
         var networkError = network.awaitClose(closeDeadline, null);
         var mirrorNetworkError = mirrorNetwork.awaitClose(closeDeadline, networkError);
 
+        shutdownVirtualThreadExecutor();
+
         // https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/ExecutorService.html
         if (shouldShutdownExecutor) {
             try {
@@ -1383,10 +2005,22 @@ public final class Client implements AutoCloseable {
         final PublicKey publicKey;
         final UnaryOperator<byte[]> transactionSigner;
 
+        @Nullable
+        final AsyncTransactionSigner asyncTransactionSigner;
+
         Operator(AccountId accountId, PublicKey publicKey, UnaryOperator<byte[]> transactionSigner) {
             this.accountId = accountId;
             this.publicKey = publicKey;
             this.transactionSigner = transactionSigner;
+            this.asyncTransactionSigner = null;
+        }
+
+        Operator(AccountId accountId, PublicKey publicKey, AsyncTransactionSigner asyncTransactionSigner) {
+            this.accountId = accountId;
+            this.publicKey = publicKey;
+            // used where a single body is signed on its own, e.g. query payments
+            this.transactionSigner = body -> PresignedTransactionSigner.signNow(asyncTransactionSigner, body);
+            this.asyncTransactionSigner = asyncTransactionSigner;
         }
     }
 
@@ -63,6 +63,12 @@ public final class ContractInfoQuery extends Query<ContractInfo, ContractInfoQue
         }
     }
 
+    @Override
+    @Nullable
+    Object getCachedEntityId() {
+        return contractId;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         var builder = ContractGetInfoQuery.newBuilder();
@@ -1,9 +1,11 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
-import static com.hedera.hashgraph.sdk.FutureConverter.toCompletableFuture;
-
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.MessageLite;
 import com.hedera.hashgraph.sdk.logger.LogLevel;
 import com.hedera.hashgraph.sdk.logger.Logger;
@@ -21,6 +23,8 @@ import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
@@ -88,10 +92,20 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
     // Lambda responsible for executing synchronous gRPC requests. Pluggable for unit testing.
     @VisibleForTesting
     Function<GrpcRequest, ResponseT> blockingUnaryCall =
-            (grpcRequest) -> ClientCalls.blockingUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest());
+            (grpcRequest) -> {
+                try {
+                    return ClientCalls.blockingUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest());
+                } finally {
+                    grpcRequest.finishCall();
+                }
+            };
 
     private java.util.function.Function<ResponseT, ResponseT> responseListener;
 
+    // Called with the node of every attempt before the request is sent to it
+    @Nullable
+    private Consumer<AccountId> attemptListener;
+
     Executable() {
         requestListener = request -> {
             if (logger.isEnabledForLevel(LogLevel.TRACE)) {
@@ -285,6 +299,18 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         return (SdkRequestT) this;
     }
 
+    /**
+     * Set a callback which is called with the node of every attempt, including hedged ones, before the request is sent
+     * to it.
+     *
+     * @param attemptListener           the callback
+     * @return {@code this}
+     */
+    final SdkRequestT setAttemptListener(Consumer<AccountId> attemptListener) {
+        this.attemptListener = Objects.requireNonNull(attemptListener);
+        return (SdkRequestT) this;
+    }
+
     /**
      * Set the logger
      *
@@ -363,6 +389,14 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
      * @throws PrecheckStatusException when the precheck fails
      */
     public O execute(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        return executeBlocking(client, timeout);
+    }
+
+    /**
+     * Run the blocking retry loop on the calling thread. This is not overridable so that subclasses which change the
+     * meaning of {@link #execute(Client, Duration)} can still be executed on a virtual thread.
+     */
+    private O executeBlocking(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
         Throwable lastException = null;
 
         // If the logger on the request is not set, use the logger in client
@@ -407,8 +441,19 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
             currentTimeout = Duration.between(Instant.now(), timeoutTime);
             grpcRequest.setGrpcDeadline(currentTimeout);
 
+            var hedgingPolicy = client.getHedgingPolicy();
             try {
-                response = blockingUnaryCall.apply(grpcRequest);
+                if (hedgingPolicy != null && nodes.size() > 1) {
+                    // The request which answered first may have been sent to a different node
+                    grpcRequest = unaryCall(client, grpcRequest, hedgingPolicy).join();
+                    node = grpcRequest.getNode();
+                    if (grpcRequest.callError != null) {
+                        throw grpcRequest.callError;
+                    }
+                    response = grpcRequest.callResponse;
+                } else {
+                    response = blockingUnaryCall.apply(grpcRequest);
+                }
                 logTransaction(this.getTransactionIdInternal(), client, node, false, attempt, response, null);
             } catch (Throwable e) {
                 if (e instanceof StatusRuntimeException) {
@@ -480,6 +525,12 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
     public CompletableFuture<O> executeAsync(Client client, Duration timeout) {
         var retval = new CompletableFuture<O>().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
 
+        var virtualThreadExecutor = client.getVirtualThreadExecutor();
+        if (virtualThreadExecutor != null) {
+            executeOnVirtualThread(client, timeout, virtualThreadExecutor, retval);
+            return retval;
+        }
+
         mergeFromClient(client);
 
         onExecuteAsync(client)
@@ -496,6 +547,30 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         return retval;
     }
 
+    /**
+     * Run the blocking retry loop on its own virtual thread. Sleeping and waiting for gRPC responses only parks the
+     * virtual thread, so the number of requests in flight is not bounded by the size of a thread pool.
+     *
+     * @param client                the client with which this will be executed
+     * @param timeout               the timeout after which the execution attempt will be cancelled
+     * @param virtualThreadExecutor the executor that starts a virtual thread per task
+     * @param returnFuture          the future to complete with the result
+     */
+    private void executeOnVirtualThread(
+            Client client, Duration timeout, ExecutorService virtualThreadExecutor, CompletableFuture<O> returnFuture) {
+        try {
+            virtualThreadExecutor.execute(() -> {
+                try {
+                    returnFuture.complete(executeBlocking(client, timeout));
+                } catch (Throwable error) {
+                    returnFuture.completeExceptionally(new CompletionException(error));
+                }
+            });
+        } catch (RejectedExecutionException error) {
+            returnFuture.completeExceptionally(error);
+        }
+    }
+
     /**
      * Execute this transaction or query asynchronously.
      *
@@ -730,19 +805,21 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                             return;
                         }
 
-                        toCompletableFuture(
-                                        ClientCalls.futureUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest()))
-                                .handle((response, error) -> {
+                        unaryCall(client, grpcRequest, client.getHedgingPolicy())
+                                .thenAccept(completedRequest -> {
+                                    var response = completedRequest.callResponse;
+                                    var error = completedRequest.callError;
+
                                     logTransaction(
                                             this.getTransactionIdInternal(),
                                             client,
-                                            grpcRequest.getNode(),
+                                            completedRequest.getNode(),
                                             true,
                                             attempt,
                                             response,
                                             error);
 
-                                    if (grpcRequest.shouldRetryExceptionally(error)) {
+                                    if (completedRequest.shouldRetryExceptionally(error)) {
                                         // the transaction had a network failure reaching Hedera
                                         executeAsyncInternal(
                                                 client,
@@ -750,48 +827,47 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                                                 error,
                                                 returnFuture,
                                                 Duration.between(Instant.now(), timeoutTime));
-                                        return null;
+                                        return;
                                     }
 
                                     if (error != null) {
                                         // not a network failure, some other weirdness going on; just fail fast
                                         returnFuture.completeExceptionally(new CompletionException(error));
-                                        return null;
+                                        return;
                                     }
 
                                     var status = mapResponseStatus(response);
                                     var executionState = getExecutionState(status, response);
-                                    grpcRequest.handleResponse(response, status, executionState);
+                                    completedRequest.handleResponse(response, status, executionState);
 
                                     switch (executionState) {
                                         case SERVER_ERROR:
                                             executeAsyncInternal(
                                                     client,
                                                     attempt + 1,
-                                                    grpcRequest.mapStatusException(),
+                                                    completedRequest.mapStatusException(),
                                                     returnFuture,
                                                     Duration.between(Instant.now(), timeoutTime));
                                             break;
                                         case RETRY:
                                             Delayer.delayFor(
-                                                            (attempt < maxAttempts) ? grpcRequest.getDelay() : 0,
+                                                            (attempt < maxAttempts) ? completedRequest.getDelay() : 0,
                                                             client.executor)
                                                     .thenRun(() -> executeAsyncInternal(
                                                             client,
                                                             attempt + 1,
-                                                            grpcRequest.mapStatusException(),
+                                                            completedRequest.mapStatusException(),
                                                             returnFuture,
                                                             Duration.between(Instant.now(), timeoutTime)));
                                             break;
                                         case REQUEST_ERROR:
                                             returnFuture.completeExceptionally(
-                                                    new CompletionException(grpcRequest.mapStatusException()));
+                                                    new CompletionException(completedRequest.mapStatusException()));
                                             break;
                                         case SUCCESS:
                                         default:
-                                            returnFuture.complete(grpcRequest.mapResponse());
+                                            returnFuture.complete(completedRequest.mapResponse());
                                     }
-                                    return null;
                                 })
                                 .exceptionally(error -> {
                                     returnFuture.completeExceptionally(error);
@@ -805,6 +881,28 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         });
     }
 
+    /**
+     * Send the request of an attempt. If a hedging policy is given and the request has not been answered within the
+     * hedge delay, the same request is also sent to the next node.
+     *
+     * @param client        the client with which this is executed
+     * @param grpcRequest   the request of the current attempt
+     * @param hedgingPolicy the hedging policy, or {@code null} to send a single request
+     * @return a future which completes with the request whose call completed first, it never completes exceptionally
+     */
+    private CompletableFuture<GrpcRequest> unaryCall(
+            Client client, GrpcRequest grpcRequest, @Nullable HedgingPolicy hedgingPolicy) {
+        var call = new HedgedCall();
+        call.start(grpcRequest);
+
+        if (hedgingPolicy != null && nodes.size() > 1) {
+            Delayer.delayFor(client.network.getHedgeDelay(hedgingPolicy), client.executor)
+                    .thenRun(() -> call.hedge(client.network, grpcRequest));
+        }
+
+        return call.completed;
+    }
+
     abstract ProtoRequestT makeRequest();
 
     GrpcRequest getGrpcRequest(int attempt) {
@@ -852,6 +950,14 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         return false;
     }
 
+    /**
+     * Called with the status of every response a node sent for this request, before the response is acted upon.
+     *
+     * @param nodeAccountId             the node which sent the response
+     * @param status                    the status of the response
+     */
+    void onResponseStatus(AccountId nodeAccountId, Status status) {}
+
     /**
      * Default implementation, may be overridden in subclasses (especially for query case). Called just after receiving
      * the query response from Hedera. By default it triggers a retry when the pre-check status is {@code BUSY}.
@@ -879,21 +985,42 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         private final int attempt;
         // private final ClientCall<ProtoRequestT, ResponseT> call;
         private final ProtoRequestT request;
-        private final long startAt;
         private final long delay;
+        private long startAt;
         private Duration grpcDeadline;
         private ResponseT response;
         private double latency;
         private Status responseStatus;
 
+        // Whether a gRPC call was created which has not been reported to the node as finished yet
+        private boolean callInFlight;
+
+        // Outcome of the gRPC call when it was made through unaryCall()
+        @Nullable
+        private ResponseT callResponse;
+
+        @Nullable
+        private Throwable callError;
+
         GrpcRequest(@Nullable Network network, int attempt, Duration grpcDeadline) {
+            this(network, attempt, grpcDeadline, getNodeForExecute(attempt));
+        }
+
+        /**
+         * Constructor for a request to the given node, which must be the current node of the executable.
+         */
+        GrpcRequest(@Nullable Network network, int attempt, Duration grpcDeadline, Node node) {
             this.network = network;
             this.attempt = attempt;
             this.grpcDeadline = grpcDeadline;
-            this.node = getNodeForExecute(attempt);
+            this.node = node;
             this.request = getRequestForExecute(); // node index gets incremented here
             this.startAt = System.nanoTime();
 
+            if (attemptListener != null) {
+                attemptListener.accept(node.getAccountId());
+            }
+
             // Exponential back-off for Delayer: 250ms, 500ms, 1s, 2s, 4s, 8s, ... 8s
             delay = (long) Math.min(
                     Objects.requireNonNull(minBackoff).toMillis() * Math.pow(2, attempt - 1.0),
@@ -916,7 +1043,23 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
 
         public ClientCall<ProtoRequestT, ResponseT> createCall() {
             verboseLog(node);
-            return this.node.getChannel().newCall(Executable.this.getMethodDescriptor(), getCallOptions());
+            startAt = System.nanoTime();
+            var call = this.node.getChannel().newCall(Executable.this.getMethodDescriptor(), getCallOptions());
+            node.onRequestStarted();
+            callInFlight = true;
+            return call;
+        }
+
+        /**
+         * Report the outcome of the gRPC call to the node, which feeds the latency aware {@link NodeSelector}.
+         * Calls which failed or were cancelled are reported as well, so a slow node is not preferred just because its
+         * calls never complete.
+         */
+        void finishCall() {
+            if (callInFlight) {
+                callInFlight = false;
+                node.onRequestFinished(System.nanoTime() - startAt);
+            }
         }
 
         public ProtoRequestT getRequest() {
@@ -968,10 +1111,17 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         }
 
         void handleResponse(ResponseT response, Status status, ExecutionState executionState) {
+            var latencyNanos = System.nanoTime() - startAt;
+            latency = (double) latencyNanos / 1000000000.0;
+            if (network != null) {
+                network.recordResponseLatency(latencyNanos);
+            }
+
             node.decreaseBackoff();
 
             this.response = Executable.this.responseListener.apply(response);
             this.responseStatus = status;
+            Executable.this.onResponseStatus(node.getAccountId(), status);
 
             logger.trace(
                     "Received {} response in {} s from node {} during attempt #{}: {}",
@@ -1020,4 +1170,97 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                     this.getClass().getSimpleName());
         }
     }
+
+    /**
+     * The gRPC calls of a single attempt: the original request and, when hedging, a duplicate sent to another node.
+     * <p>
+     * All state changes happen while holding the monitor of this object, including creating the hedged request which
+     * advances the node index of the executable. The hedged request is only created once it is sent. Once
+     * {@link #completed} is done no further request is created, so the caller can safely continue with the next
+     * attempt.
+     */
+    private final class HedgedCall {
+        private final CompletableFuture<GrpcRequest> completed = new CompletableFuture<>();
+        private final List<ListenableFuture<ResponseT>> calls = new ArrayList<>(2);
+
+        // A completed call which is only used when no other call succeeds
+        @Nullable
+        private GrpcRequest fallback;
+
+        synchronized void start(GrpcRequest grpcRequest) {
+            if (completed.isDone()) {
+                return;
+            }
+
+            ListenableFuture<ResponseT> call;
+            try {
+                call = ClientCalls.futureUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest());
+            } catch (Throwable error) {
+                call = Futures.immediateFailedFuture(error);
+            }
+            calls.add(call);
+
+            Futures.addCallback(
+                    call,
+                    new FutureCallback<>() {
+                        @Override
+                        public void onSuccess(ResponseT response) {
+                            grpcRequest.finishCall();
+                            grpcRequest.callResponse = response;
+                            onCallCompleted(grpcRequest, mapResponseStatus(response) == Status.OK);
+                        }
+
+                        @Override
+                        public void onFailure(Throwable error) {
+                            grpcRequest.finishCall();
+                            grpcRequest.callError = error;
+                            onCallCompleted(grpcRequest, false);
+                        }
+                    },
+                    MoreExecutors.directExecutor());
+        }
+
+        synchronized void hedge(Network network, GrpcRequest primary) {
+            if (completed.isDone()) {
+                return;
+            }
+
+            // Only look at the next node, building the request advances the node index and builds the request for
+            // that node, which must not happen for a hedge which is not sent
+            var node = nodes.getCurrent();
+            if (node == primary.getNode() || !node.isHealthy()) {
+                return;
+            }
+
+            logger.trace(
+                    "Hedging attempt #{} to node {} after no response from node {}",
+                    primary.attempt,
+                    node.getAccountId(),
+                    primary.getNode().getAccountId());
+            start(new GrpcRequest(network, primary.attempt, primary.grpcDeadline, node));
+        }
+
+        private synchronized void onCallCompleted(GrpcRequest grpcRequest, boolean successful) {
+            if (completed.isDone()) {
+                return;
+            }
+
+            var outstanding = calls.stream().filter(call -> !call.isDone()).count();
+            if (!successful && outstanding > 0) {
+                // Another call may still succeed, prefer a response over an error if it does not
+                if (fallback == null || fallback.callError != null) {
+                    fallback = grpcRequest;
+                }
+                return;
+            }
+
+            var result = successful || fallback == null || grpcRequest.callError == null ? grpcRequest : fallback;
+            // complete first, cancelling a call runs its callback right away and that must not pick another result
+            completed.complete(result);
+            for (var call : calls) {
+                // cancelling the losing call also cancels its RPC
+                call.cancel(true);
+            }
+        }
+    }
 }
@@ -0,0 +1,26 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+/**
+ * The threading model a {@link Client} uses to run requests.
+ *
+ * @see Client#setExecutionModel(ExecutionModel)
+ */
+public enum ExecutionModel {
+    /**
+     * Requests are driven by the client's fixed size executor of platform threads.
+     * <p>
+     * Synchronous calls block the calling thread, asynchronous calls are chained as callbacks on the executor.
+     * This is the default.
+     */
+    PLATFORM_THREADS,
+
+    /**
+     * Every asynchronous request, including its retries, backoff delays and receipt polls, runs on its own
+     * virtual thread.
+     * <p>
+     * Blocking on a virtual thread is cheap, so a single JVM can keep tens of thousands of requests in flight
+     * without sizing a thread pool. Requires a Java 21 or newer runtime.
+     */
+    VIRTUAL_THREADS
+}
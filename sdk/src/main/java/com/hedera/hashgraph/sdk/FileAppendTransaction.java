@@ -10,6 +10,10 @@ import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import com.hedera.hashgraph.sdk.proto.TransactionID;
 import com.hedera.hashgraph.sdk.proto.TransactionResponse;
 import io.grpc.MethodDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Objects;
 import javax.annotation.Nullable;
@@ -116,6 +120,47 @@ public final class FileAppendTransaction extends ChunkedTransaction<FileAppendTr
         return setData(contents);
     }
 
+    /**
+     * <p>Set the contents to append to the file as identified by {@link #setFileId(FileId)}.
+     *
+     * <p>The remaining bytes of the buffer are used without copying them, so the buffer must not be modified until
+     * the transaction has been executed.
+     *
+     * @param contents the contents to append to the file.
+     * @return {@code this}
+     */
+    public FileAppendTransaction setContents(ByteBuffer contents) {
+        return setData(contents);
+    }
+
+    /**
+     * <p>Append the contents of a local file to the file as identified by {@link #setFileId(FileId)}.
+     *
+     * <p>The local file is mapped into memory rather than read onto the heap, so large uploads only hold the chunks
+     * which are being built. The local file must not be modified until the transaction has been executed.
+     *
+     * @param path the path of the local file.
+     * @return {@code this}
+     * @throws IOException when the local file can not be mapped
+     */
+    public FileAppendTransaction setContents(Path path) throws IOException {
+        return setData(path);
+    }
+
+    /**
+     * <p>Append the remaining bytes of a stream to the file as identified by {@link #setFileId(FileId)}.
+     *
+     * <p>The stream is read to its end but not closed. It is copied to a temporary file which is mapped into memory
+     * like {@link #setContents(Path)}, so large uploads are not held on the heap.
+     *
+     * @param contents the stream of the contents to append to the file.
+     * @return {@code this}
+     * @throws IOException when reading the stream or writing the temporary file fails
+     */
+    public FileAppendTransaction setContents(InputStream contents) throws IOException {
+        return setData(contents);
+    }
+
     /**
      * <p>Encode the given {@link String} as UTF-8 and append it to file as identified by
      * {@link #setFileId(FileId)}.
@@ -69,6 +69,12 @@ public final class FileContentsQuery extends Query<ByteString, FileContentsQuery
         }
     }
 
+    @Override
+    @Nullable
+    Object getCachedEntityId() {
+        return fileId;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         var builder = FileGetContentsQuery.newBuilder();
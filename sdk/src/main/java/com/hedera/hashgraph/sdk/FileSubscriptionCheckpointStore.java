@@ -0,0 +1,172 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link SubscriptionCheckpointStore} which appends the checkpoints to a memory-mapped log file.
+ * <p>
+ * Every saved checkpoint is one fixed-size record with a checksum, written into the mapped file without a system call.
+ * The checkpoints survive the process ending as soon as they are saved, and the operating system writes them to disk
+ * later; {@link #flush()} forces them to disk, e.g. to survive a power loss. When the file is opened, its records are
+ * read once and the latest checkpoint of each topic is kept in memory, so loading a checkpoint is a map lookup. A
+ * record which was torn by a crash fails its checksum and ends the log.
+ * <p>
+ * When the log is full it is compacted into a new file with the latest checkpoint of each topic, which replaces the
+ * log atomically. Checkpoints only move forward: saving a timestamp which is not after the checkpoint of the topic is
+ * ignored.
+ */
+public final class FileSubscriptionCheckpointStore implements SubscriptionCheckpointStore, AutoCloseable {
+    // shard, realm, num, seconds (longs), nanos and checksum (ints)
+    static final int RECORD_SIZE = 4 * Long.BYTES + 2 * Integer.BYTES;
+    static final int INITIAL_CAPACITY = 1024;
+
+    private static final int CHECKSUM_OFFSET = RECORD_SIZE - Integer.BYTES;
+
+    private final Path path;
+    private final HashMap<TopicId, Instant> checkpoints = new HashMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer log;
+    private int position = 0;
+    private boolean closed = false;
+
+    /**
+     * Constructor. Opens the log file, creating it if it does not exist.
+     *
+     * @param path the log file
+     * @throws IOException when the file cannot be opened or mapped
+     */
+    public FileSubscriptionCheckpointStore(Path path) throws IOException {
+        this.path = Objects.requireNonNull(path, "path must not be null");
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        var records = Math.max(INITIAL_CAPACITY, (channel.size() + RECORD_SIZE - 1) / RECORD_SIZE);
+        log = channel.map(FileChannel.MapMode.READ_WRITE, 0, records * RECORD_SIZE);
+
+        while (position + RECORD_SIZE <= log.capacity() && readRecord(log, position)) {
+            position += RECORD_SIZE;
+        }
+    }
+
+    @Override
+    @Nullable
+    public synchronized Instant load(TopicId topicId) {
+        return checkpoints.get(topicId);
+    }
+
+    @Override
+    public synchronized void save(TopicId topicId, Instant consensusTimestamp) {
+        Objects.requireNonNull(topicId, "topicId must not be null");
+        Objects.requireNonNull(consensusTimestamp, "consensusTimestamp must not be null");
+        if (closed) {
+            throw new IllegalStateException("the checkpoint store is closed");
+        }
+
+        var previous = checkpoints.get(topicId);
+        if (previous != null && !consensusTimestamp.isAfter(previous)) {
+            return;
+        }
+
+        if (position + RECORD_SIZE > log.capacity()) {
+            try {
+                compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        writeRecord(log, position, topicId, consensusTimestamp);
+        position += RECORD_SIZE;
+        checkpoints.put(topicId, consensusTimestamp);
+    }
+
+    /**
+     * Force the saved checkpoints to disk.
+     */
+    public synchronized void flush() {
+        if (!closed) {
+            log.force();
+        }
+    }
+
+    /**
+     * Force the saved checkpoints to disk and close the log file.
+     *
+     * @throws IOException when the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        log.force();
+        channel.close();
+        closed = true;
+    }
+
+    private boolean readRecord(MappedByteBuffer buffer, int offset) {
+        if (buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(buffer, offset)) {
+            return false;
+        }
+
+        var topicId = new TopicId(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+        var consensusTimestamp = Instant.ofEpochSecond(buffer.getLong(offset + 24), buffer.getInt(offset + 32));
+        checkpoints.merge(topicId, consensusTimestamp, (a, b) -> a.isAfter(b) ? a : b);
+        return true;
+    }
+
+    private static void writeRecord(MappedByteBuffer buffer, int offset, TopicId topicId, Instant consensusTimestamp) {
+        buffer.putLong(offset, topicId.shard);
+        buffer.putLong(offset + 8, topicId.realm);
+        buffer.putLong(offset + 16, topicId.num);
+        buffer.putLong(offset + 24, consensusTimestamp.getEpochSecond());
+        buffer.putInt(offset + 32, consensusTimestamp.getNano());
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(buffer, offset));
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int offset) {
+        // An unwritten record is all zeros, which does not match its checksum
+        var crc = new CRC32();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private void compact() throws IOException {
+        var records = Math.max(INITIAL_CAPACITY, 2L * checkpoints.size());
+        var compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(compacted);
+
+        try (var compactedChannel = FileChannel.open(
+                compacted, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var buffer = compactedChannel.map(FileChannel.MapMode.READ_WRITE, 0, records * RECORD_SIZE);
+            var offset = 0;
+            for (Map.Entry<TopicId, Instant> checkpoint : checkpoints.entrySet()) {
+                writeRecord(buffer, offset, checkpoint.getKey(), checkpoint.getValue());
+                offset += RECORD_SIZE;
+            }
+            buffer.force();
+        }
+
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        log = channel.map(FileChannel.MapMode.READ_WRITE, 0, records * RECORD_SIZE);
+        position = checkpoints.size() * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,137 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures hedged (speculative) requests.
+ * <p>
+ * When an attempt has not received a response after the configured latency percentile of recent responses, the same
+ * request is sent to the next healthy node as well. For transactions this is the transaction already signed for that
+ * node, so both copies share one transaction ID and at most one of them can reach consensus. The first successful
+ * response is used and the other call is cancelled.
+ * <p>
+ * Hedging only applies to requests which have more than one node to choose from.
+ *
+ * @see Client#setHedgingPolicy(HedgingPolicy)
+ */
+public final class HedgingPolicy {
+    static final double DEFAULT_LATENCY_PERCENTILE = 0.95;
+    static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(50);
+    static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(2);
+
+    private double latencyPercentile = DEFAULT_LATENCY_PERCENTILE;
+    private Duration minDelay = DEFAULT_MIN_DELAY;
+    private Duration maxDelay = DEFAULT_MAX_DELAY;
+
+    /**
+     * Constructor.
+     */
+    public HedgingPolicy() {}
+
+    /**
+     * Extract the latency percentile after which a hedged request is sent.
+     *
+     * @return the latency percentile
+     */
+    public double getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    /**
+     * Assign the latency percentile after which a hedged request is sent, e.g. {@code 0.95} to hedge the slowest 5%
+     * of attempts.
+     *
+     * @param latencyPercentile the latency percentile, between 0 and 1 exclusive
+     * @return {@code this}
+     */
+    public HedgingPolicy setLatencyPercentile(double latencyPercentile) {
+        if (!(latencyPercentile > 0 && latencyPercentile < 1)) {
+            throw new IllegalArgumentException("latencyPercentile must be between 0 and 1 exclusive");
+        }
+        this.latencyPercentile = latencyPercentile;
+        return this;
+    }
+
+    /**
+     * Extract the minimum time to wait before a hedged request is sent.
+     *
+     * @return the minimum delay
+     */
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * Assign the minimum time to wait before a hedged request is sent, regardless of how fast recent responses were.
+     *
+     * @param minDelay the minimum delay
+     * @return {@code this}
+     */
+    public HedgingPolicy setMinDelay(Duration minDelay) {
+        Objects.requireNonNull(minDelay);
+        if (minDelay.isNegative()) {
+            throw new IllegalArgumentException("minDelay must be a positive duration");
+        } else if (minDelay.compareTo(maxDelay) > 0) {
+            throw new IllegalArgumentException("minDelay must be less than or equal to maxDelay");
+        }
+        this.minDelay = minDelay;
+        return this;
+    }
+
+    /**
+     * Extract the maximum time to wait before a hedged request is sent.
+     *
+     * @return the maximum delay
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Assign the maximum time to wait before a hedged request is sent. This is also the delay used until enough
+     * responses have been observed to compute the latency percentile.
+     *
+     * @param maxDelay the maximum delay
+     * @return {@code this}
+     */
+    public HedgingPolicy setMaxDelay(Duration maxDelay) {
+        Objects.requireNonNull(maxDelay);
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay must be a positive duration");
+        } else if (maxDelay.compareTo(minDelay) < 0) {
+            throw new IllegalArgumentException("maxDelay must be greater than or equal to minDelay");
+        }
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    /**
+     * Compute the hedge delay from the observed latency percentile.
+     *
+     * @param percentileLatencyNanos    the observed latency percentile, or a negative value when unknown
+     * @return                          the delay in milliseconds
+     */
+    long getDelayMillis(long percentileLatencyNanos) {
+        if (percentileLatencyNanos < 0) {
+            return maxDelay.toMillis();
+        }
+
+        var delay = Duration.ofNanos(percentileLatencyNanos);
+        if (delay.compareTo(minDelay) < 0) {
+            return minDelay.toMillis();
+        }
+        return delay.compareTo(maxDelay) > 0 ? maxDelay.toMillis() : delay.toMillis();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("latencyPercentile", latencyPercentile)
+                .add("minDelay", minDelay)
+                .add("maxDelay", maxDelay)
+                .toString();
+    }
+}
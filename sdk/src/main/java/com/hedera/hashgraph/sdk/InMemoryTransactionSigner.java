@@ -0,0 +1,106 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link AsyncTransactionSigner} which signs with a private key held in memory after a configurable delay.
+ * <p>
+ * This is a stand-in for a remote signer in tests and benchmarks: the delay simulates the round trip to the remote
+ * service and the counters show how many round trips were needed.
+ */
+public final class InMemoryTransactionSigner implements AsyncTransactionSigner {
+    private final PrivateKey privateKey;
+    private final Duration latency;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong signatureCount = new AtomicLong();
+
+    /**
+     * Constructor for a signer without delay.
+     *
+     * @param privateKey the private key to sign with
+     */
+    public InMemoryTransactionSigner(PrivateKey privateKey) {
+        this(privateKey, Duration.ZERO);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param privateKey the private key to sign with
+     * @param latency    the delay of each request
+     */
+    public InMemoryTransactionSigner(PrivateKey privateKey, Duration latency) {
+        Objects.requireNonNull(privateKey);
+        Objects.requireNonNull(latency);
+        if (latency.isNegative()) {
+            throw new IllegalArgumentException("latency must be a positive duration");
+        }
+
+        this.privateKey = privateKey;
+        this.latency = latency;
+    }
+
+    /**
+     * Extract the public key of the signer.
+     *
+     * @return the public key
+     */
+    public PublicKey getPublicKey() {
+        return privateKey.getPublicKey();
+    }
+
+    /**
+     * Extract the number of requests made to this signer.
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Extract the number of signatures requested from this signer.
+     *
+     * @return the number of signatures
+     */
+    public long getSignatureCount() {
+        return signatureCount.get();
+    }
+
+    @Override
+    public CompletableFuture<List<byte[]>> sign(List<byte[]> bodies) {
+        requestCount.incrementAndGet();
+        signatureCount.addAndGet(bodies.size());
+
+        var request = new ArrayList<>(bodies);
+        if (latency.isZero()) {
+            return CompletableFuture.completedFuture(signAll(request));
+        }
+
+        return Delayer.delayFor(latency.toMillis(), ForkJoinPool.commonPool()).thenApply(ignored -> signAll(request));
+    }
+
+    private List<byte[]> signAll(List<byte[]> bodies) {
+        var signatures = new ArrayList<byte[]>(bodies.size());
+        for (var body : bodies) {
+            signatures.add(privateKey.sign(body));
+        }
+        return signatures;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("publicKey", getPublicKey())
+                .add("latency", latency)
+                .toString();
+    }
+}
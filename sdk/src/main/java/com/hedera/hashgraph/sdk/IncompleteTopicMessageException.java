@@ -0,0 +1,43 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import javax.annotation.Nullable;
+
+/**
+ * Signals that a message in chunks was dropped before all of its chunks were received, because it exceeded the
+ * limits of the chunk reassembly of a {@link TopicMessageQuery}.
+ */
+public class IncompleteTopicMessageException extends IllegalStateException {
+    /**
+     * The transaction ID of the first chunk of the message.
+     */
+    @Nullable
+    public final TransactionId transactionId;
+
+    /**
+     * The number of chunks which were received.
+     */
+    public final int receivedChunks;
+
+    /**
+     * The number of chunks of the message.
+     */
+    public final int totalChunks;
+
+    /**
+     * Constructor.
+     *
+     * @param transactionId             the transaction ID of the first chunk
+     * @param receivedChunks            the number of received chunks
+     * @param totalChunks               the number of chunks of the message
+     * @param reason                    why the message was dropped
+     */
+    IncompleteTopicMessageException(
+            @Nullable TransactionId transactionId, int receivedChunks, int totalChunks, String reason) {
+        super("dropped message " + transactionId + " after receiving " + receivedChunks + " of " + totalChunks
+                + " chunks: " + reason);
+        this.transactionId = transactionId;
+        this.receivedChunks = receivedChunks;
+        this.totalChunks = totalChunks;
+    }
+}
@@ -0,0 +1,61 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Internal utility class which keeps a sliding window of the most recent latencies.
+ * <p>
+ * Recording is lock-free so it can be done on every response; percentiles are computed on demand from a copy of the
+ * window.
+ */
+final class LatencyTracker {
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity                  the number of most recent samples to keep
+     */
+    LatencyTracker(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param latencyNanos              the latency in nanoseconds
+     */
+    void record(long latencyNanos) {
+        var index = count.getAndIncrement() % samples.length();
+        samples.set((int) index, latencyNanos);
+    }
+
+    /**
+     * Compute a percentile of the recorded latencies.
+     *
+     * @param percentile                the percentile in the range (0, 1)
+     * @return                          the latency in nanoseconds, or -1 when nothing was recorded yet
+     */
+    long percentile(double percentile) {
+        var size = (int) Math.min(count.get(), samples.length());
+        if (size == 0) {
+            return -1;
+        }
+
+        var window = new long[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = samples.get(i);
+        }
+        Arrays.sort(window);
+
+        var index = (int) Math.ceil(percentile * size) - 1;
+        return window[Math.max(0, Math.min(size - 1, index))];
+    }
+}
@@ -0,0 +1,164 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link QueryResultCache} which holds at most {@code maxSize} results and evicts the least recently used result
+ * when it is full. A result expires after the time to live of its query type.
+ */
+public final class LruQueryResultCache implements QueryResultCache {
+    private final int maxSize;
+    private final Duration defaultTtl;
+    private final Map<Class<?>, Duration> ttls = new HashMap<>();
+    private final Map<Object, Set<Key>> keysByEntity = new HashMap<>();
+    private final LinkedHashMap<Key, Entry> entries;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize    the maximum number of results to hold
+     * @param defaultTtl the time to live of the results of query types without their own time to live
+     */
+    public LruQueryResultCache(int maxSize, Duration defaultTtl) {
+        Objects.requireNonNull(defaultTtl);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than zero");
+        } else if (defaultTtl.isNegative()) {
+            throw new IllegalArgumentException("defaultTtl must be a positive duration");
+        }
+
+        this.maxSize = maxSize;
+        this.defaultTtl = defaultTtl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > LruQueryResultCache.this.maxSize) {
+                    removeFromIndex(eldest.getKey());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Extract the time to live of the results of a query type.
+     *
+     * @param queryType the type of the query
+     * @return the time to live
+     */
+    public synchronized Duration getTtl(Class<? extends Query<?, ?>> queryType) {
+        return ttls.getOrDefault(queryType, defaultTtl);
+    }
+
+    /**
+     * Set the time to live of the results of a query type, e.g. a short one for {@link AccountInfoQuery} as the
+     * balance changes with every transfer.
+     *
+     * @param queryType the type of the query
+     * @param ttl       the time to live, {@link Duration#ZERO} to not cache the results of this query type
+     * @return {@code this}
+     */
+    public synchronized LruQueryResultCache setTtl(Class<? extends Query<?, ?>> queryType, Duration ttl) {
+        Objects.requireNonNull(queryType);
+        Objects.requireNonNull(ttl);
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must be a positive duration");
+        }
+
+        ttls.put(queryType, ttl);
+        return this;
+    }
+
+    /**
+     * Extract the number of results held.
+     *
+     * @return the number of results
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    @Nullable
+    public synchronized Object get(Key key) {
+        var entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            removeFromIndex(key);
+            return null;
+        }
+
+        return entry.result;
+    }
+
+    @Override
+    public synchronized void put(Key key, Object result) {
+        var ttl = ttls.getOrDefault(key.getQueryType(), defaultTtl);
+        if (ttl.isZero()) {
+            return;
+        }
+
+        entries.put(key, new Entry(result, System.nanoTime() + ttl.toNanos()));
+        keysByEntity.computeIfAbsent(key.getEntityId(), id -> new HashSet<>()).add(key);
+    }
+
+    @Override
+    public synchronized void invalidate(Object entityId) {
+        var keys = keysByEntity.remove(entityId);
+        if (keys != null) {
+            for (var key : keys) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        keysByEntity.clear();
+    }
+
+    private void removeFromIndex(Key key) {
+        var keys = keysByEntity.get(key.getEntityId());
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByEntity.remove(key.getEntityId());
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maxSize", maxSize)
+                .add("defaultTtl", defaultTtl)
+                .add("size", entries.size())
+                .toString();
+    }
+
+    private static final class Entry {
+        private final Object result;
+        private final long expiresAt;
+
+        Entry(Object result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
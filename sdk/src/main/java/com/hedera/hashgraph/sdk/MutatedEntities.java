@@ -0,0 +1,228 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.ContractID;
+import com.hedera.hashgraph.sdk.proto.PendingAirdropId;
+import com.hedera.hashgraph.sdk.proto.TokenTransferList;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionBodyOrBuilder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Determines the entities whose information changes when a transaction succeeds, so cached query results for them
+ * can be invalidated.
+ */
+final class MutatedEntities {
+    private MutatedEntities() {}
+
+    /**
+     * Whether a transaction changes entities which can not be determined from its body, so all cached results must
+     * be invalidated. The sender and the receiver of an Ethereum transaction are only known by their EVM address.
+     *
+     * @param body                      the body of the transaction
+     * @return                          whether the changed entities are unknown
+     */
+    static boolean areUnknown(TransactionBodyOrBuilder body) {
+        return body.getDataCase() == TransactionBody.DataCase.ETHEREUMTRANSACTION;
+    }
+
+    /**
+     * Extract the IDs of the entities a transaction changes.
+     * <p>
+     * The payer is always included as it pays the fee of the transaction.
+     *
+     * @param body                      the body of the transaction
+     * @return                          the entity IDs
+     */
+    static List<Object> of(TransactionBodyOrBuilder body) {
+        var entityIds = new ArrayList<Object>();
+        if (body.hasTransactionID()) {
+            entityIds.add(AccountId.fromProtobuf(body.getTransactionID().getAccountID()));
+        }
+
+        switch (body.getDataCase()) {
+            case CRYPTOTRANSFER -> {
+                for (var transfer : body.getCryptoTransfer().getTransfers().getAccountAmountsList()) {
+                    entityIds.add(AccountId.fromProtobuf(transfer.getAccountID()));
+                }
+                addTokenTransfers(entityIds, body.getCryptoTransfer().getTokenTransfersList());
+            }
+            case CRYPTOAPPROVEALLOWANCE -> {
+                // An allowance without an owner is granted by the payer, which is already included
+                var approval = body.getCryptoApproveAllowance();
+                for (var allowance : approval.getCryptoAllowancesList()) {
+                    if (allowance.hasOwner()) {
+                        entityIds.add(AccountId.fromProtobuf(allowance.getOwner()));
+                    }
+                }
+                for (var allowance : approval.getTokenAllowancesList()) {
+                    if (allowance.hasOwner()) {
+                        entityIds.add(AccountId.fromProtobuf(allowance.getOwner()));
+                    }
+                }
+                for (var allowance : approval.getNftAllowancesList()) {
+                    if (allowance.hasOwner()) {
+                        entityIds.add(AccountId.fromProtobuf(allowance.getOwner()));
+                    }
+                }
+            }
+            case CRYPTODELETEALLOWANCE -> {
+                for (var allowance : body.getCryptoDeleteAllowance().getNftAllowancesList()) {
+                    if (allowance.hasOwner()) {
+                        entityIds.add(AccountId.fromProtobuf(allowance.getOwner()));
+                    }
+                }
+            }
+            case CRYPTOUPDATEACCOUNT -> entityIds.add(
+                    AccountId.fromProtobuf(body.getCryptoUpdateAccount().getAccountIDToUpdate()));
+            case CRYPTODELETE -> {
+                entityIds.add(AccountId.fromProtobuf(body.getCryptoDelete().getDeleteAccountID()));
+                entityIds.add(AccountId.fromProtobuf(body.getCryptoDelete().getTransferAccountID()));
+            }
+            case CONTRACTCALL -> addContract(entityIds, body.getContractCall().getContractID());
+            case CONTRACTUPDATEINSTANCE -> addContract(
+                    entityIds, body.getContractUpdateInstance().getContractID());
+            case CONTRACTDELETEINSTANCE -> {
+                var deletion = body.getContractDeleteInstance();
+                addContract(entityIds, deletion.getContractID());
+                if (deletion.hasTransferAccountID()) {
+                    entityIds.add(AccountId.fromProtobuf(deletion.getTransferAccountID()));
+                } else if (deletion.hasTransferContractID()) {
+                    addContract(entityIds, deletion.getTransferContractID());
+                }
+            }
+            case FILEUPDATE -> entityIds.add(FileId.fromProtobuf(body.getFileUpdate().getFileID()));
+            case FILEAPPEND -> entityIds.add(FileId.fromProtobuf(body.getFileAppend().getFileID()));
+            case FILEDELETE -> entityIds.add(FileId.fromProtobuf(body.getFileDelete().getFileID()));
+            case SYSTEMDELETE -> {
+                var deletion = body.getSystemDelete();
+                if (deletion.hasFileID()) {
+                    entityIds.add(FileId.fromProtobuf(deletion.getFileID()));
+                } else if (deletion.hasContractID()) {
+                    addContract(entityIds, deletion.getContractID());
+                }
+            }
+            case SYSTEMUNDELETE -> {
+                var undeletion = body.getSystemUndelete();
+                if (undeletion.hasFileID()) {
+                    entityIds.add(FileId.fromProtobuf(undeletion.getFileID()));
+                } else if (undeletion.hasContractID()) {
+                    addContract(entityIds, undeletion.getContractID());
+                }
+            }
+            case CONSENSUSUPDATETOPIC -> entityIds.add(
+                    TopicId.fromProtobuf(body.getConsensusUpdateTopic().getTopicID()));
+            case CONSENSUSDELETETOPIC -> entityIds.add(
+                    TopicId.fromProtobuf(body.getConsensusDeleteTopic().getTopicID()));
+            case CONSENSUSSUBMITMESSAGE -> entityIds.add(
+                    TopicId.fromProtobuf(body.getConsensusSubmitMessage().getTopicID()));
+            case TOKENUPDATE -> entityIds.add(TokenId.fromProtobuf(body.getTokenUpdate().getToken()));
+            case TOKENDELETION -> entityIds.add(TokenId.fromProtobuf(body.getTokenDeletion().getToken()));
+            case TOKENMINT -> entityIds.add(TokenId.fromProtobuf(body.getTokenMint().getToken()));
+            case TOKENBURN -> entityIds.add(TokenId.fromProtobuf(body.getTokenBurn().getToken()));
+            case TOKENWIPE -> {
+                entityIds.add(TokenId.fromProtobuf(body.getTokenWipe().getToken()));
+                entityIds.add(AccountId.fromProtobuf(body.getTokenWipe().getAccount()));
+            }
+            case TOKENASSOCIATE -> {
+                entityIds.add(AccountId.fromProtobuf(body.getTokenAssociate().getAccount()));
+                for (var token : body.getTokenAssociate().getTokensList()) {
+                    entityIds.add(TokenId.fromProtobuf(token));
+                }
+            }
+            case TOKENDISSOCIATE -> {
+                entityIds.add(AccountId.fromProtobuf(body.getTokenDissociate().getAccount()));
+                for (var token : body.getTokenDissociate().getTokensList()) {
+                    entityIds.add(TokenId.fromProtobuf(token));
+                }
+            }
+            case TOKENFREEZE -> {
+                entityIds.add(TokenId.fromProtobuf(body.getTokenFreeze().getToken()));
+                entityIds.add(AccountId.fromProtobuf(body.getTokenFreeze().getAccount()));
+            }
+            case TOKENUNFREEZE -> {
+                entityIds.add(TokenId.fromProtobuf(body.getTokenUnfreeze().getToken()));
+                entityIds.add(AccountId.fromProtobuf(body.getTokenUnfreeze().getAccount()));
+            }
+            case TOKENGRANTKYC -> {
+                entityIds.add(TokenId.fromProtobuf(body.getTokenGrantKyc().getToken()));
+                entityIds.add(AccountId.fromProtobuf(body.getTokenGrantKyc().getAccount()));
+            }
+            case TOKENREVOKEKYC -> {
+                entityIds.add(TokenId.fromProtobuf(body.getTokenRevokeKyc().getToken()));
+                entityIds.add(AccountId.fromProtobuf(body.getTokenRevokeKyc().getAccount()));
+            }
+            case TOKEN_PAUSE -> entityIds.add(TokenId.fromProtobuf(body.getTokenPause().getToken()));
+            case TOKEN_UNPAUSE -> entityIds.add(TokenId.fromProtobuf(body.getTokenUnpause().getToken()));
+            case TOKEN_FEE_SCHEDULE_UPDATE -> entityIds.add(
+                    TokenId.fromProtobuf(body.getTokenFeeScheduleUpdate().getTokenId()));
+            case TOKEN_UPDATE_NFTS -> entityIds.add(TokenId.fromProtobuf(body.getTokenUpdateNfts().getToken()));
+            case TOKENREJECT -> {
+                // Tokens without an owner are rejected by the payer, which is already included
+                var rejection = body.getTokenReject();
+                if (rejection.hasOwner()) {
+                    entityIds.add(AccountId.fromProtobuf(rejection.getOwner()));
+                }
+                for (var reference : rejection.getRejectionsList()) {
+                    if (reference.hasFungibleToken()) {
+                        entityIds.add(TokenId.fromProtobuf(reference.getFungibleToken()));
+                    } else if (reference.hasNft()) {
+                        entityIds.add(TokenId.fromProtobuf(reference.getNft().getTokenID()));
+                    }
+                }
+            }
+            case TOKENAIRDROP -> addTokenTransfers(entityIds, body.getTokenAirdrop().getTokenTransfersList());
+            case TOKENCLAIMAIRDROP -> {
+                for (var airdrop : body.getTokenClaimAirdrop().getPendingAirdropsList()) {
+                    addPendingAirdrop(entityIds, airdrop);
+                }
+            }
+            case TOKENCANCELAIRDROP -> {
+                for (var airdrop : body.getTokenCancelAirdrop().getPendingAirdropsList()) {
+                    addPendingAirdrop(entityIds, airdrop);
+                }
+            }
+            case SCHEDULESIGN -> entityIds.add(ScheduleId.fromProtobuf(body.getScheduleSign().getScheduleID()));
+            case SCHEDULEDELETE -> entityIds.add(
+                    ScheduleId.fromProtobuf(body.getScheduleDelete().getScheduleID()));
+            default -> {
+                // Other transactions don't change the entities of the cached queries
+            }
+        }
+
+        return entityIds;
+    }
+
+    private static void addContract(List<Object> entityIds, ContractID contractId) {
+        var id = ContractId.fromProtobuf(contractId);
+        entityIds.add(id);
+
+        // A contract is also an account, so its account info and balance change as well
+        if (id.evmAddress == null) {
+            entityIds.add(new AccountId(id.shard, id.realm, id.num));
+        }
+    }
+
+    private static void addTokenTransfers(List<Object> entityIds, List<TokenTransferList> tokenTransfersList) {
+        for (var tokenTransfers : tokenTransfersList) {
+            for (var transfer : tokenTransfers.getTransfersList()) {
+                entityIds.add(AccountId.fromProtobuf(transfer.getAccountID()));
+            }
+            for (var transfer : tokenTransfers.getNftTransfersList()) {
+                entityIds.add(AccountId.fromProtobuf(transfer.getSenderAccountID()));
+                entityIds.add(AccountId.fromProtobuf(transfer.getReceiverAccountID()));
+            }
+        }
+    }
+
+    private static void addPendingAirdrop(List<Object> entityIds, PendingAirdropId airdrop) {
+        entityIds.add(AccountId.fromProtobuf(airdrop.getSenderId()));
+        entityIds.add(AccountId.fromProtobuf(airdrop.getReceiverId()));
+        if (airdrop.hasFungibleTokenType()) {
+            entityIds.add(TokenId.fromProtobuf(airdrop.getFungibleTokenType()));
+        } else if (airdrop.hasNonFungibleToken()) {
+            entityIds.add(TokenId.fromProtobuf(airdrop.getNonFungibleToken().getTokenID()));
+        }
+    }
+}
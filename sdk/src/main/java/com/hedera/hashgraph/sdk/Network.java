@@ -20,8 +20,12 @@ import javax.annotation.Nullable;
  * Internal utility class.
  */
 class Network extends BaseNetwork<Network, AccountId, Node> {
+    private static final int RESPONSE_LATENCY_SAMPLES = 256;
+
+    private final LatencyTracker responseLatencies = new LatencyTracker(RESPONSE_LATENCY_SAMPLES);
+
     @Nullable
-    private Integer maxNodesPerRequest;
+    private volatile Integer maxNodesPerRequest;
 
     /**
      * The protobuf address book converted into a map of node account IDs to NodeAddress
@@ -243,7 +247,7 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      *
      * @return {@link java.util.List<com.hedera.hashgraph.sdk.AccountId>}
      */
-    synchronized List<AccountId> getNodeAccountIdsForExecute() throws InterruptedException {
+    List<AccountId> getNodeAccountIdsForExecute() throws InterruptedException {
         var nodes = getNumberOfMostHealthyNodes(getNumberOfNodesForRequest());
         var nodeAccountIds = new ArrayList<AccountId>(nodes.size());
 
@@ -254,6 +258,25 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
         return nodeAccountIds;
     }
 
+    /**
+     * Record how long a node took to respond to a request.
+     *
+     * @param latencyNanos              the latency in nanoseconds
+     */
+    void recordResponseLatency(long latencyNanos) {
+        responseLatencies.record(latencyNanos);
+    }
+
+    /**
+     * Compute how long an attempt may wait for a response before a hedged request is sent.
+     *
+     * @param hedgingPolicy             the hedging policy
+     * @return                          the delay in milliseconds
+     */
+    long getHedgeDelay(HedgingPolicy hedgingPolicy) {
+        return hedgingPolicy.getDelayMillis(responseLatencies.percentile(hedgingPolicy.getLatencyPercentile()));
+    }
+
     /**
      * Assign the maximum nodes to be returned for each request.
      *
@@ -271,10 +294,12 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      * @return                          the number of nodes for each request
      */
     int getNumberOfNodesForRequest() {
+        var maxNodesPerRequest = this.maxNodesPerRequest;
+        var size = getSnapshot().proxies.size();
         if (maxNodesPerRequest != null) {
-            return Math.min(maxNodesPerRequest, network.size());
+            return Math.min(maxNodesPerRequest, size);
         } else {
-            return (network.size() + 3 - 1) / 3;
+            return (size + 3 - 1) / 3;
         }
     }
 
@@ -310,9 +335,8 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
             }
         }
 
-        healthyNodes = new ArrayList<>(nodes);
-
         this.transportSecurity = transportSecurity;
+        publishSnapshot();
 
         return this;
     }
@@ -17,6 +17,12 @@ public class NetworkVersionInfoQuery extends Query<NetworkVersionInfo, NetworkVe
      */
     public NetworkVersionInfoQuery() {}
 
+    @Override
+    Object getCachedEntityId() {
+        // The version is the same for all queries
+        return NetworkVersionInfo.class;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         queryBuilder.setNetworkGetVersionInfo(
@@ -84,7 +84,8 @@ class Node extends BaseNode<Node, AccountId> {
      *
      * @return                          the account id
      */
-    AccountId getAccountId() {
+    @Override
+    public AccountId getAccountId() {
         return accountId;
     }
 
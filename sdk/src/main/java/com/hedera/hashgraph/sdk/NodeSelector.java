@@ -0,0 +1,80 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.List;
+import java.util.Random;
+import javax.annotation.Nullable;
+
+/**
+ * Strategy which decides which of the healthy nodes a request is sent to.
+ * <p>
+ * The nodes chosen for a request are picked one after another, each time from the healthy nodes which were not chosen
+ * yet, so the first node of a request is the one preferred most by the strategy.
+ * <p>
+ * Besides the built-in strategies, applications can implement their own from the statistics of each
+ * {@link Candidate}, e.g. to prefer the nodes of a region by their account id. A selector is called concurrently by
+ * all requests of a client, so it must be thread safe and should not block.
+ *
+ * @see Client#setNodeSelector(NodeSelector)
+ */
+@FunctionalInterface
+public interface NodeSelector {
+    /**
+     * Pick every node with the same probability. This is the default.
+     *
+     * @return the random node selector
+     */
+    static NodeSelector random() {
+        return NodeSelectors.RANDOM;
+    }
+
+    /**
+     * Prefer nodes which recently responded fastest and have the fewest requests in flight.
+     * <p>
+     * Two candidates are sampled at random and the one with the lower expected cost is used ("power of two choices").
+     * The cost of a node is the exponentially weighted moving average of its response latency multiplied by the number
+     * of requests in flight to it plus one. Sampling keeps some traffic on slower nodes, so their latency estimate
+     * stays current, and avoids sending every request of a burst to the same node.
+     *
+     * @return the latency aware node selector
+     */
+    static NodeSelector latencyAware() {
+        return NodeSelectors.LATENCY_AWARE;
+    }
+
+    /**
+     * Select one of the given nodes.
+     *
+     * @param nodes  the healthy candidates, never empty and not modifiable
+     * @param random the source of randomness of the calling thread
+     * @return the selected node, which must be one of the candidates
+     */
+    Candidate select(List<? extends Candidate> nodes, Random random);
+
+    /**
+     * A node which a request can be sent to, with the statistics of the requests sent to it so far.
+     */
+    interface Candidate {
+        /**
+         * Extract the account id of the node.
+         *
+         * @return the account id, or {@code null} for a mirror node
+         */
+        @Nullable
+        AccountId getAccountId();
+
+        /**
+         * Extract the exponentially weighted moving average of the response latency of the node.
+         *
+         * @return the latency in nanoseconds, or -1 when no request has completed yet
+         */
+        long getLatencyEstimate();
+
+        /**
+         * Extract the number of requests which were sent to the node and have not completed yet.
+         *
+         * @return the number of outstanding requests
+         */
+        int getOutstandingRequests();
+    }
+}
@@ -0,0 +1,60 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The built-in {@link NodeSelector} strategies.
+ */
+final class NodeSelectors {
+    static final NodeSelector RANDOM = new RandomNodeSelector();
+    static final NodeSelector LATENCY_AWARE = new LatencyAwareNodeSelector();
+
+    /**
+     * Constructor.
+     */
+    private NodeSelectors() {}
+
+    private static final class RandomNodeSelector implements NodeSelector {
+        @Override
+        public Candidate select(List<? extends Candidate> nodes, Random random) {
+            return nodes.get(random.nextInt(nodes.size()));
+        }
+
+        @Override
+        public String toString() {
+            return "NodeSelector.random()";
+        }
+    }
+
+    private static final class LatencyAwareNodeSelector implements NodeSelector {
+        @Override
+        public Candidate select(List<? extends Candidate> nodes, Random random) {
+            if (nodes.size() == 1) {
+                return nodes.get(0);
+            }
+
+            var first = random.nextInt(nodes.size());
+            var second = random.nextInt(nodes.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+
+            var a = nodes.get(first);
+            var b = nodes.get(second);
+            return cost(b) < cost(a) ? b : a;
+        }
+
+        private static double cost(Candidate node) {
+            // Nodes without a latency estimate yet are cheap so they get explored, ties are broken by load
+            var latency = Math.max(1, node.getLatencyEstimate());
+            return (double) latency * (node.getOutstandingRequests() + 1);
+        }
+
+        @Override
+        public String toString() {
+            return "NodeSelector.latencyAware()";
+        }
+    }
+}
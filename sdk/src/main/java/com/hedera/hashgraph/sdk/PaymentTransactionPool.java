@@ -0,0 +1,164 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps signed query payment transactions ready for each node and payment amount, so building and signing a payment
+ * is not part of the latency of a query.
+ * <p>
+ * Payments are built on the given executor: the first query for a node and amount builds its payment itself and
+ * starts filling the pool, later queries take a payment from the pool and trigger a refill in the background.
+ * Payments which have been in the pool for longer than {@code maxAge} are discarded, so a payment is never sent close
+ * to the end of its valid duration.
+ */
+final class PaymentTransactionPool {
+    /**
+     * The maximum number of node and amount combinations to keep payments for, so queries with ever changing costs
+     * don't grow the pool without bound.
+     */
+    static final int MAX_SLOTS = 256;
+
+    private final Client.Operator operator;
+    private final int size;
+    private final long maxAgeNanos;
+    private final Executor executor;
+    private final ConcurrentHashMap<Key, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param operator                  the operator which pays for the queries
+     * @param size                      the number of payments to keep ready per node and amount
+     * @param maxAge                    the time after which a payment in the pool is discarded
+     * @param executor                  the executor the payments are built on
+     */
+    PaymentTransactionPool(Client.Operator operator, int size, Duration maxAge, Executor executor) {
+        this.operator = operator;
+        this.size = size;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.executor = executor;
+    }
+
+    /**
+     * Take a signed payment from the pool and refill the pool in the background.
+     *
+     * @param operator                  the operator which pays for the query
+     * @param nodeAccountId             the node the query is sent to
+     * @param amount                    the payment amount
+     * @return                          the payment, or {@code null} if the caller has to build it
+     */
+    @Nullable
+    Payment take(Client.Operator operator, AccountId nodeAccountId, Hbar amount) {
+        if (operator != this.operator) {
+            return null;
+        }
+
+        var key = new Key(nodeAccountId, amount);
+        var slot = slots.get(key);
+        if (slot == null) {
+            if (slots.size() >= MAX_SLOTS) {
+                return null;
+            }
+
+            slot = slots.computeIfAbsent(key, k -> new Slot());
+        }
+
+        Payment payment;
+        while ((payment = slot.payments.poll()) != null) {
+            slot.count.decrementAndGet();
+            if (System.nanoTime() - payment.createdAt < maxAgeNanos) {
+                break;
+            }
+        }
+
+        refill(key, slot);
+        return payment;
+    }
+
+    private void refill(Key key, Slot slot) {
+        if (slot.count.get() >= size || !slot.refilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    while (slot.count.get() < size) {
+                        var transactionId = TransactionId.generate(operator.accountId);
+                        var transaction = Query.makePaymentTransaction(
+                                transactionId, key.nodeAccountId, operator, key.amount);
+                        slot.payments.add(new Payment(transactionId, transaction, System.nanoTime()));
+                        slot.count.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    // Signing failed, the queries build their payments themselves and report the error
+                } finally {
+                    slot.refilling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The client is closing
+            slot.refilling.set(false);
+        }
+    }
+
+    /**
+     * A signed payment transaction.
+     */
+    static final class Payment {
+        final TransactionId transactionId;
+        final Transaction transaction;
+        private final long createdAt;
+
+        Payment(TransactionId transactionId, Transaction transaction, long createdAt) {
+            this.transactionId = transactionId;
+            this.transaction = transaction;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class Slot {
+        final ConcurrentLinkedQueue<Payment> payments = new ConcurrentLinkedQueue<>();
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicBoolean refilling = new AtomicBoolean();
+    }
+
+    private static final class Key {
+        private final AccountId nodeAccountId;
+        private final Hbar amount;
+
+        Key(AccountId nodeAccountId, Hbar amount) {
+            this.nodeAccountId = nodeAccountId;
+            this.amount = amount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            var other = (Key) o;
+            return nodeAccountId.equals(other.nodeAccountId) && amount.equals(other.amount);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(nodeAccountId, amount);
+        }
+    }
+}
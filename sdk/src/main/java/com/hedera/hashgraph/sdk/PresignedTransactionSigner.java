@@ -0,0 +1,141 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.Throwables;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Internal utility class which adapts an {@link AsyncTransactionSigner} to the synchronous signers of a
+ * {@link Transaction}.
+ * <p>
+ * The signatures are requested ahead of time, in one batch per transaction, by {@link #presign(List)} and are taken
+ * out when the transaction is built, so the bodies are not kept once they are signed. A body which was not presigned,
+ * e.g. after the transaction ID was regenerated, is signed on its own while the calling thread waits.
+ */
+final class PresignedTransactionSigner implements UnaryOperator<byte[]> {
+    private final AsyncTransactionSigner signer;
+    private final Map<ByteString, byte[]> signatures = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param signer                    the asynchronous signer
+     */
+    PresignedTransactionSigner(AsyncTransactionSigner signer) {
+        this.signer = signer;
+    }
+
+    /**
+     * Request the signatures of the given bodies which were not requested before.
+     *
+     * @param bodies                    the transaction bodies
+     * @return                          future which completes once all signatures are available
+     */
+    CompletableFuture<Void> presign(List<ByteString> bodies) {
+        var missing = new LinkedHashSet<ByteString>(bodies.size());
+        for (var body : bodies) {
+            if (!signatures.containsKey(body)) {
+                missing.add(body);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        var request = new ArrayList<byte[]>(missing.size());
+        for (var body : missing) {
+            request.add(body.toByteArray());
+        }
+
+        return sign(signer, request).thenAccept(result -> {
+            var i = 0;
+            for (var body : missing) {
+                signatures.put(body, result.get(i++));
+            }
+        });
+    }
+
+    /**
+     * Drop the signature of a body which was presigned but is not going to be built.
+     *
+     * @param body                      the transaction body
+     */
+    void discard(ByteString body) {
+        signatures.remove(body);
+    }
+
+    @Override
+    public byte[] apply(byte[] body) {
+        var key = UnsafeByteOperations.unsafeWrap(body);
+
+        var signature = signatures.remove(key);
+        if (signature == null) {
+            join(presign(List.of(key)));
+            signature = signatures.remove(key);
+        }
+
+        return signature;
+    }
+
+    /**
+     * Sign the given bodies and check that the signer returned one signature per body.
+     *
+     * @param signer                    the asynchronous signer
+     * @param bodies                    the transaction bodies
+     * @return                          future of the signatures
+     */
+    static CompletableFuture<List<byte[]>> sign(AsyncTransactionSigner signer, List<byte[]> bodies) {
+        CompletableFuture<List<byte[]>> future;
+        try {
+            future = signer.sign(bodies);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return future.thenApply(result -> {
+            if (result == null || result.size() != bodies.size()) {
+                throw new IllegalStateException("AsyncTransactionSigner returned "
+                        + (result == null ? 0 : result.size()) + " signatures for " + bodies.size() + " bodies");
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Sign a single body and wait for the signature.
+     *
+     * @param signer                    the asynchronous signer
+     * @param body                      the transaction body
+     * @return                          the signature
+     */
+    static byte[] signNow(AsyncTransactionSigner signer, byte[] body) {
+        return join(sign(signer, List.of(body))).get(0);
+    }
+
+    /**
+     * Wait for a future, rethrowing the cause of a failure.
+     *
+     * @param future                    the future
+     * @param <T>                       the result type
+     * @return                          the result
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            var cause = e.getCause() != null ? e.getCause() : e;
+            Throwables.throwIfUnchecked(cause);
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -2,6 +2,7 @@
 package com.hedera.hashgraph.sdk;
 
 import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.hashgraph.sdk.proto.QueryHeader;
 import com.hedera.hashgraph.sdk.proto.Response;
@@ -14,9 +15,15 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -55,8 +62,25 @@ public abstract class Query<O, T extends Query<O, T>>
     @Nullable
     private Hbar maxQueryPayment = null;
 
+    /**
+     * The payment for each node of {@link #nodeAccountIds}, by index
+     */
     @Nullable
-    private Hbar chosenQueryPayment = null;
+    private List<Hbar> chosenQueryPayments = null;
+
+    /**
+     * The nodes whose payment is based on a cost from the {@link QueryCostCache}
+     */
+    private Set<AccountId> costFromCacheNodeAccountIds = Collections.emptySet();
+
+    /**
+     * The last node which rejected its payment as too low
+     */
+    @Nullable
+    private volatile AccountId underpaidNodeAccountId = null;
+
+    @Nullable
+    private PaymentTransactionPool paymentTransactionPool = null;
 
     /**
      * Constructor.
@@ -75,7 +99,7 @@ public abstract class Query<O, T extends Query<O, T>>
      * @param paymentAmount             the amount
      * @return                          the new payment transaction
      */
-    private static Transaction makePaymentTransaction(
+    static Transaction makePaymentTransaction(
             TransactionId paymentTransactionId, AccountId nodeId, Client.Operator operator, Hbar paymentAmount) {
         return new TransferTransaction()
                 .setTransactionId(paymentTransactionId)
@@ -290,8 +314,9 @@ public abstract class Query<O, T extends Query<O, T>>
             return;
         }
 
-        if (grpcCostQuery.getCost() == null) {
+        if (grpcCostQuery.isCostUnknown()) {
             grpcCostQuery.setCost(getCost(client));
+            grpcCostQuery.cacheCost(client);
 
             if (grpcCostQuery.shouldError()) {
                 throw grpcCostQuery.mapError();
@@ -315,11 +340,12 @@ public abstract class Query<O, T extends Query<O, T>>
 
         return CompletableFuture.supplyAsync(
                         () -> {
-                            if (grpcCostQuery.getCost() == null) {
+                            if (grpcCostQuery.isCostUnknown()) {
                                 // No payment was specified so we need to go ask
                                 // This is a query in its own right so we use a nested future here
                                 return getCostAsync(client).thenCompose(cost -> {
                                     grpcCostQuery.setCost(cost);
+                                    grpcCostQuery.cacheCost(client);
 
                                     if (grpcCostQuery.shouldError()) {
                                         return CompletableFuture.failedFuture(grpcCostQuery.mapError());
@@ -338,6 +364,215 @@ public abstract class Query<O, T extends Query<O, T>>
                 });
     }
 
+    @Override
+    public O execute(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        var cache = client.getQueryResultCache();
+        var cacheKey = cache != null ? getResultCacheKey() : null;
+        if (cacheKey != null) {
+            var cached = cache.get(cacheKey);
+            if (cached != null) {
+                // noinspection unchecked
+                return (O) cached;
+            }
+        }
+
+        var result = executeCoalesced(client, timeout);
+        if (cacheKey != null) {
+            cache.put(cacheKey, result);
+        }
+
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<O> executeAsync(Client client, Duration timeout) {
+        var cache = client.getQueryResultCache();
+        var cacheKey = cache != null ? getResultCacheKey() : null;
+        if (cacheKey == null) {
+            return executeAsyncCoalesced(client, timeout);
+        }
+
+        var cached = cache.get(cacheKey);
+        if (cached != null) {
+            // noinspection unchecked
+            return CompletableFuture.completedFuture((O) cached);
+        }
+
+        return executeAsyncCoalesced(client, timeout).thenApply(result -> {
+            cache.put(cacheKey, result);
+            return result;
+        });
+    }
+
+    /**
+     * The ID of the entity the result of this query describes. Queries which return an ID can be answered from a
+     * {@link QueryResultCache}.
+     *
+     * @return                          the entity ID, or {@code null} if the result is not cached
+     */
+    @Nullable
+    Object getCachedEntityId() {
+        return null;
+    }
+
+    @Nullable
+    private QueryResultCache.Key getResultCacheKey() {
+        var entityId = getCachedEntityId();
+        if (entityId == null) {
+            return null;
+        }
+
+        return new QueryResultCache.Key(getClass(), entityId, getRequestWithoutPayment());
+    }
+
+    private O executeCoalesced(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        var coalescer = client.getQueryCoalescer();
+        if (coalescer == null) {
+            return executeWithCost(client, timeout);
+        }
+
+        var key = getCoalescingKey(client);
+        var future = new CompletableFuture<O>();
+        var inFlight = coalescer.join(key, future);
+        if (inFlight != null) {
+            return BlockingFutures.await(inFlight, timeout);
+        }
+
+        try {
+            var result = executeWithCost(client, timeout);
+            coalescer.complete(key, future, result, null);
+            return result;
+        } catch (TimeoutException | PrecheckStatusException | RuntimeException | Error e) {
+            coalescer.complete(key, future, null, e);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<O> executeAsyncCoalesced(Client client, Duration timeout) {
+        var coalescer = client.getQueryCoalescer();
+        if (coalescer == null) {
+            return executeAsyncWithCost(client, timeout);
+        }
+
+        var key = getCoalescingKey(client);
+        var future = new CompletableFuture<O>();
+        var inFlight = coalescer.join(key, future);
+        if (inFlight != null) {
+            return QueryCoalescer.share(inFlight).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        executeAsyncWithCost(client, timeout)
+                .whenComplete((result, error) -> coalescer.complete(key, future, result, error));
+        return QueryCoalescer.share(future);
+    }
+
+    /**
+     * Build the key which identifies identical queries: the type, the request without payment, the explicitly set
+     * nodes, the explicit payment and the effective maximum payment.
+     *
+     * @param client                    the client the query is executed with
+     * @return                          the key
+     */
+    private QueryCoalescer.Key getCoalescingKey(Client client) {
+        return new QueryCoalescer.Key(
+                getClass(),
+                getRequestWithoutPayment(),
+                new ArrayList<>(nodeAccountIds.getList()),
+                queryPayment,
+                MoreObjects.firstNonNull(maxQueryPayment, client.defaultMaxQueryPayment));
+    }
+
+    private ByteString getRequestWithoutPayment() {
+        var request = com.hedera.hashgraph.sdk.proto.Query.newBuilder();
+        onMakeRequest(request, QueryHeader.getDefaultInstance());
+        return request.build().toByteString();
+    }
+
+    private O executeWithCost(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        var timeoutTime = Instant.now().plus(timeout);
+        try {
+            return super.execute(client, timeout);
+        } catch (PrecheckStatusException e) {
+            if (!invalidateCachedCost(client, e)) {
+                throw e;
+            }
+
+            // The cached cost was too low, so pay with a freshly queried cost within the time which is left
+            return super.execute(client, Duration.between(Instant.now(), timeoutTime));
+        }
+    }
+
+    private CompletableFuture<O> executeAsyncWithCost(Client client, Duration timeout) {
+        if (client.getQueryCostCache() == null) {
+            return super.executeAsync(client, timeout);
+        }
+
+        var timeoutTime = Instant.now().plus(timeout);
+        return super.executeAsync(client, timeout)
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    var cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (invalidateCachedCost(client, cause)) {
+                        // The cached cost was too low, so pay with a freshly queried cost within the time which is left
+                        var remainingTimeout = Duration.between(Instant.now(), timeoutTime);
+                        if (remainingTimeout.isNegative() || remainingTimeout.isZero()) {
+                            return CompletableFuture.<O>failedFuture(new TimeoutException());
+                        }
+
+                        return super.executeAsync(client, remainingTimeout);
+                    }
+
+                    return CompletableFuture.<O>failedFuture(error);
+                })
+                .thenCompose(x -> x);
+    }
+
+    @Override
+    void onResponseStatus(AccountId nodeAccountId, Status status) {
+        if (isInsufficientPayment(status)) {
+            underpaidNodeAccountId = nodeAccountId;
+        }
+    }
+
+    private static boolean isInsufficientPayment(Status status) {
+        return status == Status.INSUFFICIENT_QUERY_PAYMENT || status == Status.INSUFFICIENT_TX_FEE;
+    }
+
+    /**
+     * Forget the cached cost of the node which rejected its payment as too low.
+     *
+     * @param client                    the client
+     * @param error                     the error of the execution
+     * @return                          whether the query should be executed again with a freshly queried cost
+     */
+    private boolean invalidateCachedCost(Client client, Throwable error) {
+        if (!(error instanceof PrecheckStatusException)
+                || !isInsufficientPayment(((PrecheckStatusException) error).status)) {
+            return false;
+        }
+
+        var nodeAccountId = underpaidNodeAccountId;
+        if (nodeAccountId == null || !costFromCacheNodeAccountIds.contains(nodeAccountId)) {
+            return false;
+        }
+
+        var cache = client.getQueryCostCache();
+        if (cache != null) {
+            cache.invalidate(getClass(), nodeAccountId);
+        }
+
+        costFromCacheNodeAccountIds = Collections.emptySet();
+        underpaidNodeAccountId = null;
+        chosenQueryPayments = null;
+        paymentTransactions = null;
+        return true;
+    }
+
     private void initWithNodeIds(Client client) {
         if (client.isAutoValidateChecksumsEnabled()) {
             try {
@@ -364,13 +599,21 @@ public abstract class Query<O, T extends Query<O, T>>
      * @return                          the transaction
      */
     Transaction getPaymentTransaction(int index) {
-        paymentTransactionId = TransactionId.generate(Objects.requireNonNull(paymentOperator).accountId);
+        var operator = Objects.requireNonNull(paymentOperator);
+        var nodeAccountId = nodeAccountIds.get(index);
+        var amount = Objects.requireNonNull(chosenQueryPayments).get(index);
+        var pool = paymentTransactionPool;
+        var payment = pool != null ? pool.take(operator, nodeAccountId, amount) : null;
+
+        Transaction newPaymentTx;
+        if (payment != null) {
+            paymentTransactionId = payment.transactionId;
+            newPaymentTx = payment.transaction;
+        } else {
+            paymentTransactionId = TransactionId.generate(operator.accountId);
+            newPaymentTx = makePaymentTransaction(paymentTransactionId, nodeAccountId, operator, amount);
+        }
 
-        var newPaymentTx = makePaymentTransaction(
-                paymentTransactionId,
-                nodeAccountIds.get(index),
-                paymentOperator,
-                Objects.requireNonNull(chosenQueryPayment));
         paymentTransactions.set(index, newPaymentTx);
         return newPaymentTx;
     }
@@ -460,26 +703,52 @@ public abstract class Query<O, T extends Query<O, T>>
         private final boolean notRequired;
 
         private Client.Operator operator;
+
+        // The explicit or queried cost, for the nodes without a cached cost
         private Hbar cost;
 
+        // The cached cost of each node which has one
+        private final Map<AccountId, Hbar> cachedCosts = new HashMap<>();
+
+        @Nullable
+        private final PaymentTransactionPool paymentTransactionPool;
+
         GrpcCostQuery(Client client) {
             Query.this.initWithNodeIds(client);
 
             cost = Query.this.queryPayment;
             notRequired = (Query.this.paymentTransactions != null) || !Query.this.isPaymentRequired();
             maxCost = MoreObjects.firstNonNull(Query.this.maxQueryPayment, client.defaultMaxQueryPayment);
+            paymentTransactionPool = client.getPaymentTransactionPool();
 
             if (!notRequired) {
                 operator = Query.this.getOperatorFromClient(client);
             }
+
+            var cache = client.getQueryCostCache();
+            if (!notRequired && cost == null && cache != null) {
+                for (var nodeAccountId : Query.this.nodeAccountIds) {
+                    var cachedCost = cache.get(Query.this.getClass(), nodeAccountId);
+
+                    // A cached cost above the maximum is queried again, it may have dropped in the meantime
+                    if (cachedCost != null && cachedCost.compareTo(maxCost) <= 0) {
+                        cachedCosts.put(nodeAccountId, cachedCost);
+                    }
+                }
+            }
         }
 
         public Client.Operator getOperator() {
             return operator;
         }
 
-        public Hbar getCost() {
-            return cost;
+        /**
+         * Whether the cost has to be queried, because it was not set explicitly and some node has no cached cost.
+         *
+         * @return                      whether the cost is unknown
+         */
+        boolean isCostUnknown() {
+            return cost == null && cachedCosts.size() < Query.this.nodeAccountIds.size();
         }
 
         public boolean isNotRequired() {
@@ -496,13 +765,32 @@ public abstract class Query<O, T extends Query<O, T>>
             return cost.compareTo(maxCost) > 0;
         }
 
+        void cacheCost(Client client) {
+            var cache = client.getQueryCostCache();
+            if (cache != null) {
+                for (var nodeAccountId : Query.this.nodeAccountIds) {
+                    if (!cachedCosts.containsKey(nodeAccountId)) {
+                        cache.put(Query.this.getClass(), nodeAccountId, cost);
+                    }
+                }
+            }
+        }
+
         MaxQueryPaymentExceededException mapError() {
             return new MaxQueryPaymentExceededException(Query.this, cost, maxCost);
         }
 
         void finish() {
-            Query.this.chosenQueryPayment = cost;
+            var payments = new ArrayList<Hbar>(Query.this.nodeAccountIds.size());
+            for (var nodeAccountId : Query.this.nodeAccountIds) {
+                payments.add(cachedCosts.getOrDefault(nodeAccountId, cost));
+            }
+
+            Query.this.chosenQueryPayments = payments;
+            Query.this.costFromCacheNodeAccountIds = new HashSet<>(cachedCosts.keySet());
+            Query.this.underpaidNodeAccountId = null;
             Query.this.paymentOperator = operator;
+            Query.this.paymentTransactionPool = paymentTransactionPool;
             Query.this.paymentTransactions = new ArrayList<>(Query.this.nodeAccountIds.size());
 
             for (int i = 0; i < Query.this.nodeAccountIds.size(); i++) {
@@ -0,0 +1,123 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Tracks the queries which are in flight, so an identical query which is executed at the same time waits for the
+ * result of the first one instead of being sent to the network again.
+ * <p>
+ * Queries are identical when they have the same type, the same request body without the payment, the same explicitly
+ * set nodes and the same payment settings.
+ */
+final class QueryCoalescer {
+    private final ConcurrentHashMap<Key, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Register a query as in flight.
+     *
+     * @param key                       the key of the query
+     * @param future                    the future completed with the result of the query
+     * @return                          the future of an identical query in flight, or {@code null} if the caller has
+     *                                  to execute the query and complete {@code future}
+     */
+    @Nullable
+    <O> CompletableFuture<O> join(Key key, CompletableFuture<O> future) {
+        // noinspection unchecked
+        return (CompletableFuture<O>) inFlight.putIfAbsent(key, future);
+    }
+
+    /**
+     * Complete a query which was registered with {@link #join(Key, CompletableFuture)}.
+     *
+     * @param key                       the key of the query
+     * @param future                    the future of the query
+     * @param result                    the result of the query, if successful
+     * @param error                     the error of the query, if failed
+     */
+    <O> void complete(Key key, CompletableFuture<O> future, @Nullable O result, @Nullable Throwable error) {
+        // Later queries are sent to the network again
+        inFlight.remove(key, future);
+
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(result);
+        }
+    }
+
+    /**
+     * Create a future for the result of a query in flight, which can be cancelled without affecting other callers.
+     *
+     * @param future                    the future of the query
+     * @return                          the new future
+     */
+    static <O> CompletableFuture<O> share(CompletableFuture<O> future) {
+        return future.thenApply(Function.identity());
+    }
+
+    /**
+     * Identifies identical queries.
+     */
+    static final class Key {
+        private final Class<?> queryType;
+        private final ByteString body;
+        private final List<AccountId> nodeAccountIds;
+
+        @Nullable
+        private final Hbar queryPayment;
+
+        private final Hbar maxQueryPayment;
+
+        /**
+         * Constructor.
+         *
+         * @param queryType             the type of the query
+         * @param body                  the serialized request without payment
+         * @param nodeAccountIds        the explicitly set nodes, empty if the nodes are picked by the client
+         * @param queryPayment          the explicitly set payment, {@code null} if the cost is looked up
+         * @param maxQueryPayment       the effective maximum payment
+         */
+        Key(
+                Class<?> queryType,
+                ByteString body,
+                List<AccountId> nodeAccountIds,
+                @Nullable Hbar queryPayment,
+                Hbar maxQueryPayment) {
+            this.queryType = queryType;
+            this.body = body;
+            this.nodeAccountIds = nodeAccountIds;
+            this.queryPayment = queryPayment;
+            this.maxQueryPayment = maxQueryPayment;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            var other = (Key) o;
+            return queryType.equals(other.queryType)
+                    && body.equals(other.body)
+                    && nodeAccountIds.equals(other.nodeAccountIds)
+                    && Objects.equals(queryPayment, other.queryPayment)
+                    && maxQueryPayment.equals(other.maxQueryPayment);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queryType, body, nodeAccountIds, queryPayment, maxQueryPayment);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Remembers the cost of paid queries per query type and node, so a query can be paid for without asking the node for
+ * its cost first.
+ * <p>
+ * Entries expire after the configured time to live and are dropped when a node rejects a payment based on them.
+ */
+final class QueryCostCache {
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final long ttlNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param ttl                       how long a cost is used before it is queried again
+     */
+    QueryCostCache(Duration ttl) {
+        this.ttl = ttl;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Extract the time to live of the entries.
+     *
+     * @return                          the time to live
+     */
+    Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Look up the cost of a query type on a node.
+     *
+     * @param queryType                 the type of the query
+     * @param nodeAccountId             the node the query is sent to
+     * @return                          the cost, or {@code null} if unknown or expired
+     */
+    @Nullable
+    Hbar get(Class<?> queryType, AccountId nodeAccountId) {
+        var key = new Key(queryType, nodeAccountId);
+        var entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (System.nanoTime() - entry.createdAt >= ttlNanos) {
+            entries.remove(key, entry);
+            return null;
+        }
+
+        return entry.cost;
+    }
+
+    /**
+     * Remember the cost of a query type on a node.
+     *
+     * @param queryType                 the type of the query
+     * @param nodeAccountId             the node the query is sent to
+     * @param cost                      the cost reported by the network
+     */
+    void put(Class<?> queryType, AccountId nodeAccountId, Hbar cost) {
+        entries.put(new Key(queryType, nodeAccountId), new Entry(cost, System.nanoTime()));
+    }
+
+    /**
+     * Forget the cost of a query type on a node.
+     *
+     * @param queryType                 the type of the query
+     * @param nodeAccountId             the node the query is sent to
+     */
+    void invalidate(Class<?> queryType, AccountId nodeAccountId) {
+        entries.remove(new Key(queryType, nodeAccountId));
+    }
+
+    private static final class Key {
+        private final Class<?> queryType;
+        private final AccountId nodeAccountId;
+
+        Key(Class<?> queryType, AccountId nodeAccountId) {
+            this.queryType = queryType;
+            this.nodeAccountId = nodeAccountId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            var other = (Key) o;
+            return queryType.equals(other.queryType) && nodeAccountId.equals(other.nodeAccountId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queryType, nodeAccountId);
+        }
+    }
+
+    private static final class Entry {
+        private final Hbar cost;
+        private final long createdAt;
+
+        Entry(Hbar cost, long createdAt) {
+            this.cost = cost;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * A cache for the results of queries which describe an entity, e.g. {@link AccountInfoQuery} or
+ * {@link TokenInfoQuery}.
+ * <p>
+ * When set with {@link Client#setQueryResultCache(QueryResultCache)}, these queries return a cached result instead of
+ * being sent to the network, and the results of the queries which are sent are put into the cache. When the receipt
+ * of a transaction shows that it succeeded, the results for the entities it changed are invalidated.
+ * <p>
+ * {@link LruQueryResultCache} is a size bounded implementation with a time to live per query type. Implementations
+ * must be thread safe.
+ */
+public interface QueryResultCache {
+    /**
+     * Look up the result of a query.
+     *
+     * @param key the key of the query
+     * @return the result, or {@code null} if the result is not cached
+     */
+    @Nullable
+    Object get(Key key);
+
+    /**
+     * Remember the result of a query.
+     *
+     * @param key    the key of the query
+     * @param result the result of the query
+     */
+    void put(Key key, Object result);
+
+    /**
+     * Forget the results of all queries which describe an entity.
+     *
+     * @param entityId the ID of the entity, e.g. an {@link AccountId} or a {@link TokenId}
+     */
+    void invalidate(Object entityId);
+
+    /**
+     * Forget all results.
+     */
+    void clear();
+
+    /**
+     * Identifies a query: two queries with equal keys have the same result.
+     */
+    final class Key {
+        private final Class<?> queryType;
+        private final Object entityId;
+        private final ByteString request;
+
+        /**
+         * Constructor.
+         *
+         * @param queryType the type of the query
+         * @param entityId  the entity the query describes
+         * @param request   the serialized request without payment
+         */
+        Key(Class<?> queryType, Object entityId, ByteString request) {
+            this.queryType = queryType;
+            this.entityId = entityId;
+            this.request = request;
+        }
+
+        /**
+         * Extract the type of the query.
+         *
+         * @return the type of the query
+         */
+        public Class<?> getQueryType() {
+            return queryType;
+        }
+
+        /**
+         * Extract the ID of the entity the query describes.
+         *
+         * @return the entity ID
+         */
+        public Object getEntityId() {
+            return entityId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            var other = (Key) o;
+            return queryType.equals(other.queryType) && request.equals(other.request);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queryType, request);
+        }
+
+        @Override
+        public String toString() {
+            return queryType.getSimpleName() + "(" + entityId + ")";
+        }
+    }
+}
@@ -0,0 +1,202 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fetches the receipts of many outstanding transactions with one timer instead of one polling loop per transaction.
+ * <p>
+ * The tracker wakes up every {@link #TICK_INTERVAL} while receipts are pending and polls the nodes for the receipts
+ * which are due, grouped by node and at most {@link #MAX_POLLS_PER_NODE} per node and tick. The first poll of a
+ * receipt is made once the expected consensus latency has passed, and the receipts which are not ready yet are polled
+ * again after a fraction of it. The expected latency is a moving average of the latencies observed so far.
+ */
+final class ReceiptTracker {
+    static final Duration TICK_INTERVAL = Duration.ofMillis(50);
+    static final Duration MIN_POLL_INTERVAL = Duration.ofMillis(100);
+    static final Duration MAX_POLL_INTERVAL = Duration.ofSeconds(2);
+    static final Duration INITIAL_EXPECTED_LATENCY = Duration.ofSeconds(2);
+    static final int MAX_POLLS_PER_NODE = 64;
+
+    // Weight of the newest observation in the moving average of the consensus latency
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final Client client;
+    private final ConcurrentHashMap<TransactionId, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    private final AtomicLong expectedLatencyNanos = new AtomicLong(INITIAL_EXPECTED_LATENCY.toNanos());
+
+    /**
+     * Constructor.
+     *
+     * @param client                    the client the receipts are fetched with
+     */
+    ReceiptTracker(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Extract the moving average of the time between tracking a transaction and its receipt being available.
+     *
+     * @return                          the expected consensus latency
+     */
+    Duration getExpectedLatency() {
+        return Duration.ofNanos(expectedLatencyNanos.get());
+    }
+
+    /**
+     * Extract the number of receipts which are pending.
+     *
+     * @return                          the number of pending receipts
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Start tracking the receipt of a transaction.
+     *
+     * @param transactionId             the ID of the transaction
+     * @param nodeId                    the node the transaction was submitted to
+     * @param timeout                   the time after which the returned future fails with a {@link TimeoutException}
+     * @return                          a future completed with the receipt
+     */
+    CompletableFuture<TransactionReceipt> track(TransactionId transactionId, AccountId nodeId, Duration timeout) {
+        var now = System.nanoTime();
+        var entry = pending.computeIfAbsent(transactionId, id -> new Pending(id, nodeId, now));
+        entry.deadline.accumulateAndGet(now + timeout.toNanos(), (a, b) -> b - a > 0 ? b : a);
+        startTicking();
+
+        // Each caller can time out or cancel its future without affecting the others
+        return entry.future.thenApply(receipt -> receipt).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop tracking all receipts and fail their futures with an {@link IllegalStateException}, as the client they are
+     * fetched with is closed.
+     */
+    void close() {
+        var error = new IllegalStateException("client closed");
+        for (var entry : pending.values()) {
+            pending.remove(entry.transactionId, entry);
+            entry.future.completeExceptionally(error);
+        }
+    }
+
+    private void startTicking() {
+        if (ticking.compareAndSet(false, true)) {
+            scheduleTick();
+        }
+    }
+
+    private void scheduleTick() {
+        Delayer.delayFor(TICK_INTERVAL.toMillis(), client.executor).thenRun(this::tick);
+    }
+
+    private void tick() {
+        var now = System.nanoTime();
+        var dueByNode = new HashMap<AccountId, List<Pending>>();
+        for (var entry : pending.values()) {
+            if (now - entry.deadline.get() >= 0) {
+                // All callers have timed out
+                pending.remove(entry.transactionId, entry);
+                entry.future.completeExceptionally(new TimeoutException());
+            } else if (!entry.polling && now - entry.nextPollAt >= 0) {
+                dueByNode.computeIfAbsent(entry.nodeId, id -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        for (var due : dueByNode.values()) {
+            // The oldest transactions are most likely to have reached consensus
+            Collections.sort(due, Comparator.comparingLong(entry -> entry.trackedAt));
+            for (var entry : due.subList(0, Math.min(due.size(), MAX_POLLS_PER_NODE))) {
+                poll(entry);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            scheduleTick();
+            return;
+        }
+
+        ticking.set(false);
+
+        // A transaction may have been tracked after the check above
+        if (!pending.isEmpty()) {
+            startTicking();
+        }
+    }
+
+    private void poll(Pending entry) {
+        entry.polling = true;
+
+        new TransactionReceiptQuery()
+                .setTransactionId(entry.transactionId)
+                .setNodeAccountIds(Collections.singletonList(entry.nodeId))
+                .setMaxAttempts(1)
+                .executeAsync(client, client.getGrpcDeadline())
+                .whenComplete((receipt, error) -> {
+                    if (error == null) {
+                        onReceipt(entry, receipt);
+                        return;
+                    }
+
+                    var cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof MaxAttemptsExceededException || cause instanceof TimeoutException) {
+                        // The receipt is not available yet or the node did not answer in time
+                        entry.nextPollAt = System.nanoTime() + getPollInterval();
+                        entry.polling = false;
+                    } else {
+                        pending.remove(entry.transactionId, entry);
+                        entry.future.completeExceptionally(cause);
+                    }
+                });
+    }
+
+    private void onReceipt(Pending entry, TransactionReceipt receipt) {
+        var latency = System.nanoTime() - entry.trackedAt;
+        expectedLatencyNanos.getAndUpdate(
+                estimate -> (long) (LATENCY_WEIGHT * latency + (1 - LATENCY_WEIGHT) * estimate));
+
+        pending.remove(entry.transactionId, entry);
+        entry.future.complete(receipt);
+    }
+
+    private long getPollInterval() {
+        var interval = expectedLatencyNanos.get() / 4;
+        return Math.max(MIN_POLL_INTERVAL.toNanos(), Math.min(MAX_POLL_INTERVAL.toNanos(), interval));
+    }
+
+    private final class Pending {
+        final TransactionId transactionId;
+        final AccountId nodeId;
+        final long trackedAt;
+        final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        final AtomicLong deadline;
+
+        volatile long nextPollAt;
+        volatile boolean polling = false;
+
+        Pending(TransactionId transactionId, AccountId nodeId, long trackedAt) {
+            this.transactionId = transactionId;
+            this.nodeId = nodeId;
+            this.trackedAt = trackedAt;
+            this.deadline = new AtomicLong(trackedAt);
+            this.nextPollAt = trackedAt + expectedLatencyNanos.get();
+        }
+    }
+}
@@ -56,6 +56,12 @@ public class ScheduleInfoQuery extends com.hedera.hashgraph.sdk.Query<ScheduleIn
         }
     }
 
+    @Override
+    @Nullable
+    Object getCachedEntityId() {
+        return scheduleId;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         var builder = ScheduleGetInfoQuery.newBuilder();
@@ -0,0 +1,36 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Instant;
+import javax.annotation.Nullable;
+
+/**
+ * Stores how far the subscriptions to topics got, so they resume from there after the process restarted.
+ * <p>
+ * When set with {@link TopicMessageQuery#setCheckpointStore(SubscriptionCheckpointStore)}, a subscription starts after
+ * the checkpoint of its topic instead of at its start time, and saves the consensus timestamp of the messages it
+ * handed to its consumer every {@link TopicMessageQuery#setCheckpointInterval(int) few messages} or
+ * {@link TopicMessageQuery#setCheckpointPeriod(java.time.Duration) period}. Messages after the last saved checkpoint
+ * are delivered again, so consumers should be idempotent.
+ * <p>
+ * {@link FileSubscriptionCheckpointStore} is a durable implementation backed by a file. Implementations must be
+ * thread safe.
+ */
+public interface SubscriptionCheckpointStore {
+    /**
+     * Look up the checkpoint of a topic.
+     *
+     * @param topicId the topic
+     * @return the consensus timestamp of the last message handled, or {@code null} if there is no checkpoint
+     */
+    @Nullable
+    Instant load(TopicId topicId);
+
+    /**
+     * Save the checkpoint of a topic.
+     *
+     * @param topicId            the topic
+     * @param consensusTimestamp the consensus timestamp of the last message handled
+     */
+    void save(TopicId topicId, Instant consensusTimestamp);
+}
@@ -53,6 +53,12 @@ public class TokenInfoQuery extends com.hedera.hashgraph.sdk.Query<TokenInfo, To
         }
     }
 
+    @Override
+    @Nullable
+    Object getCachedEntityId() {
+        return tokenId;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         var builder = TokenGetInfoQuery.newBuilder();
@@ -0,0 +1,78 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.time.Instant;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Saves the checkpoint of one subscription to a {@link SubscriptionCheckpointStore} every few messages or after a
+ * period, whichever comes first.
+ */
+final class TopicCheckpointer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicCheckpointer.class);
+
+    private final SubscriptionCheckpointStore store;
+    private final TopicId topicId;
+    private final int interval;
+    private final long periodNanos;
+
+    // Guarded by this
+    @Nullable
+    private Instant unsaved;
+
+    private int unsavedCount = 0;
+    private long lastSaveNanos = System.nanoTime();
+
+    /**
+     * Constructor.
+     *
+     * @param store                     the store of the checkpoints
+     * @param topicId                   the topic of the subscription
+     * @param interval                  the number of messages after which the checkpoint is saved
+     * @param period                    the time after which the checkpoint is saved
+     */
+    TopicCheckpointer(SubscriptionCheckpointStore store, TopicId topicId, int interval, Duration period) {
+        this.store = store;
+        this.topicId = topicId;
+        this.interval = interval;
+        this.periodNanos = period.toNanos();
+    }
+
+    /**
+     * Record that a message was handed to its consumer.
+     *
+     * @param message                   the message
+     */
+    synchronized void onHandled(TopicMessage message) {
+        unsaved = message.consensusTimestamp;
+        unsavedCount++;
+
+        if (unsavedCount >= interval || System.nanoTime() - lastSaveNanos >= periodNanos) {
+            flush();
+        }
+    }
+
+    /**
+     * Save the checkpoint of the last message handled, if it was not saved yet.
+     */
+    synchronized void flush() {
+        var consensusTimestamp = unsaved;
+        if (consensusTimestamp == null) {
+            return;
+        }
+
+        unsaved = null;
+        unsavedCount = 0;
+        lastSaveNanos = System.nanoTime();
+
+        try {
+            store.save(topicId, consensusTimestamp);
+        } catch (RuntimeException e) {
+            // The subscription goes on, it resumes from an older checkpoint after a restart
+            LOGGER.warn("Failed to save the checkpoint of topic {}: {}", topicId, e.getMessage());
+        }
+    }
+}
@@ -53,6 +53,12 @@ public final class TopicInfoQuery extends Query<TopicInfo, TopicInfoQuery> {
         }
     }
 
+    @Override
+    @Nullable
+    Object getCachedEntityId() {
+        return topicId;
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         var builder = ConsensusGetTopicInfoQuery.newBuilder();
@@ -127,6 +127,42 @@ public final class TopicMessage {
                 transactionId);
     }
 
+    /**
+     * Create a new topic message from the response protobufs of all of its chunks. The contents of the chunks are
+     * copied once, directly into the contents of the message.
+     *
+     * @param responses                 the protobuf responses in chunk order
+     * @param lastReceived              the protobuf response received last
+     * @param totalSize                 the size of the contents of all chunks
+     * @return                          the new topic message
+     */
+    static TopicMessage ofChunks(
+            ConsensusTopicResponse[] responses, ConsensusTopicResponse lastReceived, int totalSize) {
+        var chunks = new TopicMessageChunk[responses.length];
+        TransactionId transactionId = null;
+        var contents = new byte[totalSize];
+        var offset = 0;
+
+        for (int i = 0; i < responses.length; i++) {
+            var r = responses[i];
+            if (transactionId == null && r.getChunkInfo().hasInitialTransactionID()) {
+                transactionId = TransactionId.fromProtobuf(r.getChunkInfo().getInitialTransactionID());
+            }
+
+            chunks[i] = new TopicMessageChunk(r);
+            r.getMessage().copyTo(contents, offset);
+            offset += r.getMessage().size();
+        }
+
+        return new TopicMessage(
+                InstantConverter.fromProtobuf(lastReceived.getConsensusTimestamp()),
+                contents,
+                lastReceived.getRunningHash().toByteArray(),
+                lastReceived.getSequenceNumber(),
+                chunks,
+                transactionId);
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -0,0 +1,335 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ClientResponseObserver;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Flow.Publisher} of the messages of a {@link TopicMessageQuery}.
+ * <p>
+ * The streaming calls use gRPC's manual inbound flow control: responses are only requested from the mirror node for
+ * the messages the subscriber requested, so a slow subscriber slows down the stream instead of messages being
+ * buffered without bound.
+ */
+final class TopicMessagePublisher implements Flow.Publisher<TopicMessage> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicMessagePublisher.class);
+
+    // Most responses requested from the mirror node at once
+    private static final int MAX_REQUEST_BATCH = 64;
+
+    private final TopicMessageQuery query;
+    private final Client client;
+
+    @Nullable
+    private final MirrorNode mirrorNode;
+
+    @Nullable
+    private final ChunkReassemblyBuffer sharedReassemblyBuffer;
+
+    /**
+     * Constructor.
+     *
+     * @param query                     the query of the messages
+     * @param client                    the client with which the messages are streamed
+     */
+    TopicMessagePublisher(TopicMessageQuery query, Client client) {
+        this(query, client, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param query                     the query of the messages
+     * @param client                    the client with which the messages are streamed
+     * @param mirrorNode                the mirror node whose channel streams the messages, or {@code null} for the
+     *                                  next mirror node of the client
+     */
+    TopicMessagePublisher(TopicMessageQuery query, Client client, @Nullable MirrorNode mirrorNode) {
+        this(query, client, mirrorNode, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param query                     the query of the messages
+     * @param client                    the client with which the messages are streamed
+     * @param mirrorNode                the mirror node whose channel streams the messages, or {@code null} for the
+     *                                  next mirror node of the client
+     * @param sharedReassemblyBuffer    the buffer the subscriptions share to reassemble messages in chunks, or
+     *                                  {@code null} for a buffer of each subscription
+     */
+    TopicMessagePublisher(
+            TopicMessageQuery query,
+            Client client,
+            @Nullable MirrorNode mirrorNode,
+            @Nullable ChunkReassemblyBuffer sharedReassemblyBuffer) {
+        this.query = query;
+        this.client = client;
+        this.mirrorNode = mirrorNode;
+        this.sharedReassemblyBuffer = sharedReassemblyBuffer;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super TopicMessage> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber must not be null");
+
+        var subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super TopicMessage> subscriber;
+        private final SubscriptionHandle handle = new SubscriptionHandle();
+        private final ChunkReassemblyBuffer reassemblyBuffer =
+                sharedReassemblyBuffer != null ? sharedReassemblyBuffer : query.newReassemblyBuffer();
+
+        // Guarded by this
+        private long demand = 0;
+        private long outstanding = 0;
+        private boolean terminated = false;
+
+        @Nullable
+        private ClientCallStreamObserver<ConsensusTopicQuery> requestStream;
+
+        // Only accessed by the streaming call which is currently active
+        private long receivedCount = 0;
+
+        @Nullable
+        private ConsensusTopicResponse lastMessage;
+
+        Subscription(Flow.Subscriber<? super TopicMessage> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void start() {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+            }
+
+            makeStreamingCall(0);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                terminate(new IllegalArgumentException("the number of requested messages must be positive"));
+                return;
+            }
+
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+
+                // Saturate at Long.MAX_VALUE, which means unbounded
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                requestResponses();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+            }
+
+            handle.unsubscribe();
+        }
+
+        /**
+         * Request responses for the messages which were requested but are not covered by the responses already
+         * requested. A message in chunks needs more than one response, the missing ones are requested once the
+         * responses already requested have been received.
+         */
+        private synchronized void requestResponses() {
+            var stream = requestStream;
+            if (stream == null || terminated) {
+                return;
+            }
+
+            var missing = Math.min(demand - outstanding, MAX_REQUEST_BATCH - outstanding);
+            if (missing > 0) {
+                outstanding += missing;
+                stream.request((int) missing);
+            }
+        }
+
+        private void makeStreamingCall(int attempt) {
+            ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call;
+            try {
+                var node = mirrorNode != null ? mirrorNode : client.mirrorNetwork.getNextMirrorNode();
+                call = node.getChannel().newCall(ConsensusServiceGrpc.getSubscribeTopicMethod(), CallOptions.DEFAULT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                terminate(e);
+                return;
+            } catch (RuntimeException e) {
+                terminate(e);
+                return;
+            }
+
+            handle.setOnUnsubscribe(() -> {
+                client.untrackSubscription(handle);
+
+                call.cancel("unsubscribe", null);
+            });
+
+            client.trackSubscription(handle);
+
+            var observer = new ResponseObserver(call, attempt);
+            ClientCalls.asyncServerStreamingCall(call, query.buildQuery(receivedCount, lastMessage), observer);
+
+            // Further responses can only be requested once the call has started
+            synchronized (this) {
+                requestStream = observer.stream;
+                requestResponses();
+            }
+        }
+
+        private void releaseReassemblyBuffer() {
+            // A shared buffer still holds chunks for the other subscriptions
+            if (sharedReassemblyBuffer == null) {
+                reassemblyBuffer.clear();
+            }
+        }
+
+        private void terminate(Throwable error) {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+            }
+
+            handle.unsubscribe();
+            subscriber.onError(error);
+        }
+
+        private final class ResponseObserver
+                implements ClientResponseObserver<ConsensusTopicQuery, ConsensusTopicResponse> {
+            private final ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call;
+            private final int attempt;
+
+            @Nullable
+            private ClientCallStreamObserver<ConsensusTopicQuery> stream;
+
+            ResponseObserver(ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call, int attempt) {
+                this.call = call;
+                this.attempt = attempt;
+            }
+
+            @Override
+            public void beforeStart(ClientCallStreamObserver<ConsensusTopicQuery> stream) {
+                this.stream = stream;
+
+                synchronized (Subscription.this) {
+                    // Responses requested from the previous call are not delivered anymore
+                    requestStream = null;
+                    outstanding = Math.min(demand, MAX_REQUEST_BATCH);
+                    stream.disableAutoRequestWithInitialRequest((int) outstanding);
+                }
+            }
+
+            @Override
+            public void onNext(ConsensusTopicResponse consensusTopicResponse) {
+                synchronized (Subscription.this) {
+                    if (terminated) {
+                        return;
+                    }
+                    outstanding--;
+                }
+
+                receivedCount++;
+                lastMessage = consensusTopicResponse;
+
+                var message = reassemblyBuffer.add(consensusTopicResponse);
+                if (message != null) {
+                    synchronized (Subscription.this) {
+                        if (demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                    }
+
+                    try {
+                        subscriber.onNext(message);
+                    } catch (Throwable t) {
+                        // A subscriber which throws is considered cancelled
+                        terminate(t);
+                        return;
+                    }
+                }
+
+                requestResponses();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                synchronized (Subscription.this) {
+                    if (terminated) {
+                        // The call was cancelled, which is the last callback of the subscription
+                        releaseReassemblyBuffer();
+                        return;
+                    }
+                    requestStream = null;
+                }
+
+                if (!query.canRetry(attempt, t)) {
+                    releaseReassemblyBuffer();
+                    terminate(t);
+                    return;
+                }
+
+                var delay = query.getRetryDelay(attempt);
+                LOGGER.warn(
+                        "Error subscribing to topic {} during attempt #{}. Waiting {} ms before next attempt: {}",
+                        query.getTopicId(),
+                        attempt,
+                        delay,
+                        t.getMessage());
+                call.cancel("unsubscribed", null);
+
+                // Wait without blocking the thread of the call
+                Delayer.delayFor(delay, client.executor).thenRun(() -> {
+                    synchronized (Subscription.this) {
+                        if (terminated) {
+                            return;
+                        }
+                    }
+
+                    makeStreamingCall(attempt + 1);
+                });
+            }
+
+            @Override
+            public void onCompleted() {
+                synchronized (Subscription.this) {
+                    if (terminated) {
+                        return;
+                    }
+                    terminated = true;
+                }
+
+                releaseReassemblyBuffer();
+                client.untrackSubscription(handle);
+                subscriber.onComplete();
+            }
+        }
+    }
+}
@@ -2,7 +2,6 @@
 package com.hedera.hashgraph.sdk;
 
 import com.hedera.hashgraph.sdk.proto.Timestamp;
-import com.hedera.hashgraph.sdk.proto.TransactionID;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
@@ -14,14 +13,16 @@ import io.grpc.stub.ClientCalls;
 import io.grpc.stub.StreamObserver;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,6 +31,19 @@ import org.slf4j.LoggerFactory;
  * within the defined start and end time.
  */
 public final class TopicMessageQuery {
+    /**
+     * The order in which {@link #replay(Client, int, ReplayOrder, Consumer)} hands the messages to the consumer.
+     */
+    public enum ReplayOrder {
+        /**
+         * In consensus order, as a single subscription would.
+         */
+        ORDERED,
+        /**
+         * In the order the messages arrive from the slices, for the highest throughput.
+         */
+        UNORDERED
+    }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TopicMessageQuery.class);
 
@@ -39,6 +53,16 @@ public final class TopicMessageQuery {
     private int maxAttempts = 10;
     private Duration maxBackoff = Duration.ofSeconds(8L);
     private Predicate<Throwable> retryHandler = this::shouldRetry;
+    private int maxPendingChunkedMessages = 1000;
+    private long maxPendingChunkBytes = 16L * 1024 * 1024;
+    private Duration pendingChunkTimeToLive = Duration.ofMinutes(5);
+    private final ChunkReassemblyBuffer.Metrics chunkMetrics = new ChunkReassemblyBuffer.Metrics();
+
+    @Nullable
+    private SubscriptionCheckpointStore checkpointStore = null;
+
+    private int checkpointInterval = 100;
+    private Duration checkpointPeriod = Duration.ofSeconds(1);
 
     /**
      * Constructor.
@@ -47,6 +71,28 @@ public final class TopicMessageQuery {
         builder = ConsensusTopicQuery.newBuilder();
     }
 
+    /**
+     * Constructor of a query for a time slice of another query.
+     *
+     * @param query     the query which is sliced
+     * @param startTime the start of the slice
+     * @param endTime   the end of the slice, exclusive
+     */
+    private TopicMessageQuery(TopicMessageQuery query, Instant startTime, Instant endTime) {
+        builder = query.builder
+                .clone()
+                .setConsensusStartTime(InstantConverter.toProtobuf(startTime))
+                .setConsensusEndTime(InstantConverter.toProtobuf(endTime));
+        completionHandler = query.completionHandler;
+        errorHandler = query.errorHandler;
+        maxAttempts = query.maxAttempts;
+        maxBackoff = query.maxBackoff;
+        retryHandler = query.retryHandler;
+        maxPendingChunkedMessages = query.maxPendingChunkedMessages;
+        maxPendingChunkBytes = query.maxPendingChunkBytes;
+        pendingChunkTimeToLive = query.pendingChunkTimeToLive;
+    }
+
     /**
      * Assign the topic id.
      *
@@ -158,6 +204,129 @@ public final class TopicMessageQuery {
         return this;
     }
 
+    /**
+     * Assign the store of the checkpoints of the subscriptions. A subscription then starts after the checkpoint of its
+     * topic, if there is one after the start time, and saves its checkpoints to the store.
+     *
+     * @param checkpointStore the checkpoint store, or {@code null} to not use checkpoints
+     * @return {@code this}
+     */
+    public TopicMessageQuery setCheckpointStore(@Nullable SubscriptionCheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+        return this;
+    }
+
+    /**
+     * Assign the number of messages handed to the consumer after which the checkpoint is saved.
+     *
+     * @param checkpointInterval the number of messages
+     * @return {@code this}
+     */
+    public TopicMessageQuery setCheckpointInterval(int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("checkpointInterval must be at least 1");
+        }
+        this.checkpointInterval = checkpointInterval;
+        return this;
+    }
+
+    /**
+     * Assign the time after which the checkpoint of the messages handed to the consumer is saved, even if fewer than
+     * the checkpoint interval were handed over.
+     *
+     * @param checkpointPeriod the period
+     * @return {@code this}
+     */
+    public TopicMessageQuery setCheckpointPeriod(Duration checkpointPeriod) {
+        if (checkpointPeriod == null || checkpointPeriod.isNegative()) {
+            throw new IllegalArgumentException("checkpointPeriod must not be negative");
+        }
+        this.checkpointPeriod = checkpointPeriod;
+        return this;
+    }
+
+    /**
+     * Assign the maximum number of messages in chunks which may be incomplete at the same time in a subscription.
+     * When the limit is exceeded, the oldest incomplete message is dropped.
+     *
+     * @param maxPendingChunkedMessages the maximum number of incomplete messages
+     * @return {@code this}
+     */
+    public TopicMessageQuery setMaxPendingChunkedMessages(int maxPendingChunkedMessages) {
+        if (maxPendingChunkedMessages < 1) {
+            throw new IllegalArgumentException("maxPendingChunkedMessages must be at least 1");
+        }
+        this.maxPendingChunkedMessages = maxPendingChunkedMessages;
+        return this;
+    }
+
+    /**
+     * Assign the maximum number of bytes the chunks of incomplete messages may hold in a subscription. When the limit
+     * is exceeded, the oldest incomplete message is dropped.
+     *
+     * @param maxPendingChunkBytes the maximum number of bytes
+     * @return {@code this}
+     */
+    public TopicMessageQuery setMaxPendingChunkBytes(long maxPendingChunkBytes) {
+        if (maxPendingChunkBytes < 1) {
+            throw new IllegalArgumentException("maxPendingChunkBytes must be at least 1");
+        }
+        this.maxPendingChunkBytes = maxPendingChunkBytes;
+        return this;
+    }
+
+    /**
+     * Assign how long an incomplete message in chunks is held, in consensus time since its first chunk. Once a chunk
+     * with a later consensus timestamp is received, the message is dropped.
+     *
+     * @param pendingChunkTimeToLive the time to live
+     * @return {@code this}
+     */
+    public TopicMessageQuery setPendingChunkTimeToLive(Duration pendingChunkTimeToLive) {
+        if (pendingChunkTimeToLive == null || pendingChunkTimeToLive.isNegative()) {
+            throw new IllegalArgumentException("pendingChunkTimeToLive must not be negative");
+        }
+        this.pendingChunkTimeToLive = pendingChunkTimeToLive;
+        return this;
+    }
+
+    /**
+     * Extract the number of messages in chunks which are currently incomplete, over all subscriptions of this query.
+     *
+     * @return the number of incomplete messages
+     */
+    public long getPendingChunkedMessageCount() {
+        return chunkMetrics.pendingMessages.get();
+    }
+
+    /**
+     * Extract the number of bytes currently held by the chunks of incomplete messages, over all subscriptions of this
+     * query.
+     *
+     * @return the number of bytes
+     */
+    public long getPendingChunkBytes() {
+        return chunkMetrics.pendingBytes.get();
+    }
+
+    /**
+     * Extract the number of messages in chunks which were reassembled, over all subscriptions of this query.
+     *
+     * @return the number of reassembled messages
+     */
+    public long getReassembledChunkedMessageCount() {
+        return chunkMetrics.reassembledMessages.get();
+    }
+
+    /**
+     * Extract the number of incomplete messages in chunks which were dropped, over all subscriptions of this query.
+     *
+     * @return the number of dropped messages
+     */
+    public long getDroppedChunkedMessageCount() {
+        return chunkMetrics.droppedMessages.get();
+    }
+
     private void onComplete() {
         var topicId = TopicId.fromProtobuf(builder.getTopicID());
         LOGGER.info("Subscription to topic {} complete", topicId);
@@ -169,6 +338,8 @@ public final class TopicMessageQuery {
         if (throwable instanceof StatusRuntimeException sre
                 && sre.getStatus().getCode().equals(Status.Code.CANCELLED)) {
             LOGGER.warn("Call is cancelled for topic {}.", topicId);
+        } else if (throwable instanceof IncompleteTopicMessageException) {
+            LOGGER.warn("Incomplete message on topic {}: {}", topicId, throwable.getMessage());
         } else {
             LOGGER.error("Error attempting to subscribe to topic {}:", topicId, throwable);
         }
@@ -208,6 +379,195 @@ public final class TopicMessageQuery {
         return false;
     }
 
+    /**
+     * Extract the topic id.
+     *
+     * @return the topic id
+     */
+    TopicId getTopicId() {
+        return TopicId.fromProtobuf(builder.getTopicID());
+    }
+
+    /**
+     * Extract the completion handler.
+     *
+     * @return the completion handler
+     */
+    Runnable getCompletionHandler() {
+        return completionHandler;
+    }
+
+    /**
+     * Extract the error handler.
+     *
+     * @return the error handler
+     */
+    BiConsumer<Throwable, TopicMessage> getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * Create the checkpointer of a subscription.
+     *
+     * @return the checkpointer, or {@code null} without a checkpoint store
+     */
+    @Nullable
+    TopicCheckpointer newCheckpointer() {
+        var store = checkpointStore;
+        return store != null ? new TopicCheckpointer(store, getTopicId(), checkpointInterval, checkpointPeriod) : null;
+    }
+
+    /**
+     * Build the query of a streaming call. After a retry, the query resumes after the last message received and its
+     * limit is reduced by the number of messages received. Before any message was received, the query resumes after
+     * the checkpoint of the topic.
+     *
+     * @param receivedCount the number of responses received by the previous calls
+     * @param lastMessage   the last response received by the previous calls
+     * @return the query
+     */
+    ConsensusTopicQuery buildQuery(long receivedCount, @Nullable ConsensusTopicResponse lastMessage) {
+        if (lastMessage == null) {
+            var checkpoint = checkpointStore != null ? checkpointStore.load(getTopicId()) : null;
+            if (checkpoint == null
+                    || (builder.hasConsensusStartTime()
+                            && checkpoint.isBefore(InstantConverter.fromProtobuf(builder.getConsensusStartTime())))) {
+                return builder.build();
+            }
+
+            return builder.clone()
+                    .setConsensusStartTime(InstantConverter.toProtobuf(checkpoint.plusNanos(1)))
+                    .build();
+        }
+
+        var newBuilder = builder.clone();
+
+        if (builder.getLimit() > 0) {
+            newBuilder.setLimit(builder.getLimit() - receivedCount);
+        }
+
+        var lastStartTime = lastMessage.getConsensusTimestamp();
+        var nextStartTime = Timestamp.newBuilder(lastStartTime).setNanos(lastStartTime.getNanos() + 1);
+        newBuilder.setConsensusStartTime(nextStartTime);
+
+        return newBuilder.build();
+    }
+
+    /**
+     * Create the buffer in which a subscription reassembles the messages in chunks. Dropped incomplete messages are
+     * reported to the error handler.
+     *
+     * @return the buffer
+     */
+    ChunkReassemblyBuffer newReassemblyBuffer() {
+        return newReassemblyBuffer(pendingChunkTimeToLive);
+    }
+
+    /**
+     * Create the buffer in which a subscription reassembles the messages in chunks, with a time to live of its own.
+     *
+     * @param timeToLive the consensus time after which an incomplete message is dropped
+     * @return the buffer
+     */
+    ChunkReassemblyBuffer newReassemblyBuffer(Duration timeToLive) {
+        return new ChunkReassemblyBuffer(
+                maxPendingChunkedMessages,
+                maxPendingChunkBytes,
+                timeToLive,
+                chunkMetrics,
+                e -> errorHandler.accept(e, null));
+    }
+
+    /**
+     * Create a query for a time slice of this query. The checkpoint store is not taken over.
+     *
+     * @param startTime the start of the slice
+     * @param endTime   the end of the slice, exclusive
+     * @return the query of the slice
+     */
+    TopicMessageQuery slice(Instant startTime, Instant endTime) {
+        return new TopicMessageQuery(this, startTime, endTime);
+    }
+
+    /**
+     * Determine whether a failed streaming call is retried.
+     *
+     * @param attempt   the attempt of the failed call, starting at 0
+     * @param throwable the error of the call
+     * @return whether the call is retried
+     */
+    boolean canRetry(int attempt, Throwable throwable) {
+        return attempt < maxAttempts && retryHandler.test(throwable);
+    }
+
+    /**
+     * Compute the delay before retrying a failed streaming call.
+     *
+     * @param attempt the attempt of the failed call, starting at 0
+     * @return the delay in milliseconds
+     */
+    long getRetryDelay(int attempt) {
+        return Math.min(500 * (long) Math.pow(2, attempt), maxBackoff.toMillis());
+    }
+
+    /**
+     * Create a publisher of the messages of the topic which only receives as many messages from the mirror node as its
+     * subscribers requested.
+     * <p>
+     * Every subscriber gets its own streaming call with the same retry and resume behavior as
+     * {@link #subscribe(Client, Consumer)}. Errors and the completion are signalled to the subscriber, only dropped
+     * incomplete messages in chunks are reported to the error handler of this query. With a
+     * {@link #setCheckpointStore(SubscriptionCheckpointStore) checkpoint store} every subscriber starts after the
+     * checkpoint of the topic, but since only the subscriber knows when it handled a message, it saves the checkpoints
+     * itself.
+     *
+     * @param client the configured client
+     * @return the publisher
+     */
+    public Flow.Publisher<TopicMessage> toPublisher(Client client) {
+        Objects.requireNonNull(client, "client must not be null");
+        return new TopicMessagePublisher(this, client);
+    }
+
+    /**
+     * Replay the messages between the start and the end time by splitting the time into slices which are streamed
+     * concurrently from the mirror nodes of the client.
+     * <p>
+     * Each slice is streamed with the same retry and resume behavior as {@link #subscribe(Client, Consumer)}, and the
+     * slices share the reassembly of messages in chunks, so a message whose chunks fall into different slices is still
+     * reassembled. With {@link ReplayOrder#ORDERED} the messages are re-sequenced by consensus timestamp and sequence
+     * number, buffering at most a bounded number of messages for each slice which is ahead. With
+     * {@link ReplayOrder#UNORDERED} they are handed over as they arrive. The consumer is never called concurrently.
+     * <p>
+     * The checkpoint store and the limit of this query are not used. Errors of the consumer are reported to the error
+     * handler, a slice which fails after its retries fails the replay and stops the other slices.
+     *
+     * @param client the configured client
+     * @param slices the number of time slices streamed concurrently
+     * @param order  the order in which the messages are handed to the consumer
+     * @param onNext the consumer
+     * @return a future which completes when all messages were handed to the consumer
+     */
+    public CompletableFuture<Void> replay(Client client, int slices, ReplayOrder order, Consumer<TopicMessage> onNext) {
+        Objects.requireNonNull(client, "client must not be null");
+        Objects.requireNonNull(order, "order must not be null");
+        Objects.requireNonNull(onNext, "onNext must not be null");
+        if (slices < 1) {
+            throw new IllegalArgumentException("slices must be at least 1");
+        }
+        if (!builder.hasConsensusStartTime() || !builder.hasConsensusEndTime()) {
+            throw new IllegalStateException("a replay requires a start and an end time");
+        }
+
+        var startTime = InstantConverter.fromProtobuf(builder.getConsensusStartTime());
+        var endTime = InstantConverter.fromProtobuf(builder.getConsensusEndTime());
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalStateException("the end time of a replay must be after its start time");
+        }
+
+        return new TopicMessageReplay(this, client, startTime, endTime, slices, order, onNext).start();
+    }
+
     /**
      * Subscribe to the topic.
      *
@@ -218,11 +578,23 @@ public final class TopicMessageQuery {
     // TODO: Refactor into a base class when we add more mirror query types
     public SubscriptionHandle subscribe(Client client, Consumer<TopicMessage> onNext) {
         SubscriptionHandle subscriptionHandle = new SubscriptionHandle();
-        HashMap<TransactionID, ArrayList<ConsensusTopicResponse>> pendingMessages = new HashMap<>();
+        var reassemblyBuffer = newReassemblyBuffer();
+        var checkpointer = newCheckpointer();
+        Consumer<TopicMessage> consumer = checkpointer == null ? onNext : message -> {
+            onNext.accept(message);
+            checkpointer.onHandled(message);
+        };
 
         try {
             makeStreamingCall(
-                    client, subscriptionHandle, onNext, 0, new AtomicLong(), new AtomicReference<>(), pendingMessages);
+                    client,
+                    subscriptionHandle,
+                    consumer,
+                    checkpointer,
+                    0,
+                    new AtomicLong(),
+                    new AtomicReference<>(),
+                    reassemblyBuffer);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
@@ -234,10 +606,11 @@ public final class TopicMessageQuery {
             Client client,
             SubscriptionHandle subscriptionHandle,
             Consumer<TopicMessage> onNext,
+            @Nullable TopicCheckpointer checkpointer,
             int attempt,
             AtomicLong counter,
             AtomicReference<ConsensusTopicResponse> lastMessage,
-            HashMap<TransactionID, ArrayList<ConsensusTopicResponse>> pendingMessages)
+            ChunkReassemblyBuffer reassemblyBuffer)
             throws InterruptedException {
         // TODO: check status of channel before using it?
         ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call = client.mirrorNetwork
@@ -247,65 +620,23 @@ public final class TopicMessageQuery {
 
         subscriptionHandle.setOnUnsubscribe(() -> {
             client.untrackSubscription(subscriptionHandle);
+            flush(checkpointer);
 
             call.cancel("unsubscribe", null);
         });
 
         client.trackSubscription(subscriptionHandle);
 
-        var newBuilder = builder;
-
-        // Update the start time and limit on retry
-        if (lastMessage.get() != null) {
-            newBuilder = builder.clone();
-
-            if (builder.getLimit() > 0) {
-                newBuilder.setLimit(builder.getLimit() - counter.get());
-            }
+        var query = buildQuery(counter.get(), lastMessage.get());
 
-            var lastStartTime = lastMessage.get().getConsensusTimestamp();
-            var nextStartTime = Timestamp.newBuilder(lastStartTime).setNanos(lastStartTime.getNanos() + 1);
-            newBuilder.setConsensusStartTime(nextStartTime);
-        }
-
-        ClientCalls.asyncServerStreamingCall(call, newBuilder.build(), new StreamObserver<>() {
+        ClientCalls.asyncServerStreamingCall(call, query, new StreamObserver<>() {
             @Override
             public void onNext(ConsensusTopicResponse consensusTopicResponse) {
                 counter.incrementAndGet();
                 lastMessage.set(consensusTopicResponse);
 
-                // Short circuit for no chunks or 1/1 chunks
-                if (!consensusTopicResponse.hasChunkInfo()
-                        || consensusTopicResponse.getChunkInfo().getTotal() == 1) {
-                    var message = TopicMessage.ofSingle(consensusTopicResponse);
-
-                    try {
-                        onNext.accept(message);
-                    } catch (Throwable t) {
-                        errorHandler.accept(t, message);
-                    }
-
-                    return;
-                }
-
-                // get the list of chunks for this pending message
-                var initialTransactionID = consensusTopicResponse.getChunkInfo().getInitialTransactionID();
-
-                // Can't use `HashMap.putIfAbsent()` since that method is not available on Android
-                if (!pendingMessages.containsKey(initialTransactionID)) {
-                    pendingMessages.put(initialTransactionID, new ArrayList<>());
-                }
-
-                ArrayList<ConsensusTopicResponse> chunks = pendingMessages.get(initialTransactionID);
-
-                // not possible as we do [putIfAbsent]
-                // add our response to the pending chunk list
-                Objects.requireNonNull(chunks).add(consensusTopicResponse);
-
-                // if we now have enough chunks, emit
-                if (chunks.size() == consensusTopicResponse.getChunkInfo().getTotal()) {
-                    var message = TopicMessage.ofMany(chunks);
-
+                var message = reassemblyBuffer.add(consensusTopicResponse);
+                if (message != null) {
                     try {
                         onNext.accept(message);
                     } catch (Throwable t) {
@@ -316,12 +647,14 @@ public final class TopicMessageQuery {
 
             @Override
             public void onError(Throwable t) {
-                if (attempt >= maxAttempts || !retryHandler.test(t)) {
+                if (!canRetry(attempt, t)) {
+                    reassemblyBuffer.clear();
+                    flush(checkpointer);
                     errorHandler.accept(t, null);
                     return;
                 }
 
-                var delay = Math.min(500 * (long) Math.pow(2, attempt), maxBackoff.toMillis());
+                var delay = getRetryDelay(attempt);
                 var topicId = TopicId.fromProtobuf(builder.getTopicID());
                 LOGGER.warn(
                         "Error subscribing to topic {} during attempt #{}. Waiting {} ms before next attempt: {}",
@@ -331,25 +664,57 @@ public final class TopicMessageQuery {
                         t.getMessage());
                 call.cancel("unsubscribed", null);
 
-                // Cannot use `CompletableFuture<U>` here since this future is never polled
-                try {
-                    Thread.sleep(delay);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+                // Unsubscribing while waiting must not start another call
+                var unsubscribed = new AtomicBoolean(false);
+                subscriptionHandle.setOnUnsubscribe(() -> {
+                    client.untrackSubscription(subscriptionHandle);
+                    flush(checkpointer);
 
-                try {
-                    makeStreamingCall(
-                            client, subscriptionHandle, onNext, attempt + 1, counter, lastMessage, pendingMessages);
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
+                    unsubscribed.set(true);
+                });
+
+                // Wait without blocking the thread of the call
+                Delayer.delayFor(delay, client.executor).thenRun(() -> {
+                    if (unsubscribed.get()) {
+                        reassemblyBuffer.clear();
+                        return;
+                    }
+
+                    try {
+                        makeStreamingCall(
+                                client,
+                                subscriptionHandle,
+                                onNext,
+                                checkpointer,
+                                attempt + 1,
+                                counter,
+                                lastMessage,
+                                reassemblyBuffer);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        reassemblyBuffer.clear();
+                        flush(checkpointer);
+                        errorHandler.accept(e, null);
+                    } catch (RuntimeException e) {
+                        reassemblyBuffer.clear();
+                        flush(checkpointer);
+                        errorHandler.accept(e, null);
+                    }
+                });
             }
 
             @Override
             public void onCompleted() {
+                reassemblyBuffer.clear();
+                flush(checkpointer);
                 completionHandler.run();
             }
         });
     }
+
+    private static void flush(@Nullable TopicCheckpointer checkpointer) {
+        if (checkpointer != null) {
+            checkpointer.flush();
+        }
+    }
 }
@@ -0,0 +1,275 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * Replays the messages of a {@link TopicMessageQuery} by streaming time slices of it concurrently.
+ * <p>
+ * Every slice is a {@link TopicMessagePublisher} of its own, so it retries and resumes like a subscription, and they
+ * all share one buffer to reassemble messages in chunks. A reassembled message belongs to the slice of its consensus
+ * timestamp, even when the stream of an earlier slice completed it.
+ * <p>
+ * In order, the slice which is the earliest not yet complete is the head. Its messages are handed to the consumer in
+ * consensus order as its own stream passes them, and once it is complete the next slice becomes the head. The slices
+ * behind the head keep up to {@link #MAX_BUFFERED_PER_SLICE} messages each and request more from the mirror node when
+ * those were handed over.
+ */
+final class TopicMessageReplay {
+    static final int MAX_BUFFERED_PER_SLICE = 1024;
+
+    private static final Comparator<TopicMessage> CONSENSUS_ORDER = Comparator.comparing(
+                    (TopicMessage message) -> message.consensusTimestamp)
+            .thenComparingLong(message -> message.sequenceNumber);
+
+    private final TopicMessageQuery query;
+    private final Client client;
+    private final TopicMessageQuery.ReplayOrder order;
+    private final Consumer<TopicMessage> onNext;
+    private final Instant[] boundaries;
+    private final Slice[] slices;
+    private final ChunkReassemblyBuffer reassemblyBuffer;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    // Guarded by this
+    private int head = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param query                     the query which is replayed
+     * @param client                    the client with which the slices are streamed
+     * @param startTime                 the start of the replay
+     * @param endTime                   the end of the replay, exclusive
+     * @param slices                    the number of slices
+     * @param order                     the order in which the messages are handed over
+     * @param onNext                    the consumer
+     */
+    TopicMessageReplay(
+            TopicMessageQuery query,
+            Client client,
+            Instant startTime,
+            Instant endTime,
+            int slices,
+            TopicMessageQuery.ReplayOrder order,
+            Consumer<TopicMessage> onNext) {
+        this.query = query;
+        this.client = client;
+        this.order = order;
+        this.onNext = onNext;
+
+        var duration = Duration.between(startTime, endTime);
+        var sliceDuration = duration.dividedBy(slices);
+        boundaries = new Instant[slices + 1];
+        for (int i = 0; i < slices; i++) {
+            boundaries[i] = startTime.plus(sliceDuration.multipliedBy(i));
+        }
+        boundaries[slices] = endTime;
+
+        this.slices = new Slice[slices];
+        for (int i = 0; i < slices; i++) {
+            this.slices[i] = new Slice(i);
+        }
+
+        // The slices are streamed concurrently, so consensus time does not tell how long a chunk was waiting
+        reassemblyBuffer = query.newReassemblyBuffer(duration);
+    }
+
+    /**
+     * Start streaming the slices.
+     *
+     * @return a future which completes when all messages were handed over
+     */
+    CompletableFuture<Void> start() {
+        future.whenComplete((ignored, error) -> {
+            reassemblyBuffer.clear();
+
+            if (error != null) {
+                for (var slice : slices) {
+                    slice.cancel();
+                }
+            }
+        });
+
+        for (int i = 0; i < slices.length; i++) {
+            var sliceQuery = query.slice(boundaries[i], boundaries[i + 1]);
+            new TopicMessagePublisher(sliceQuery, client, null, reassemblyBuffer).subscribe(slices[i]);
+        }
+
+        return future;
+    }
+
+    /**
+     * Find the slice of a consensus timestamp.
+     */
+    private int sliceOf(Instant consensusTimestamp) {
+        var index = Arrays.binarySearch(boundaries, consensusTimestamp);
+        index = index >= 0 ? index : -index - 2;
+        return Math.max(0, Math.min(slices.length - 1, index));
+    }
+
+    private void deliver(TopicMessage message) {
+        try {
+            onNext.accept(message);
+        } catch (Throwable t) {
+            query.getErrorHandler().accept(t, message);
+        }
+    }
+
+    /**
+     * Hand over the messages of the head which can no longer be preceded by another message, and move the head past
+     * the complete slices.
+     */
+    private void drain() {
+        while (head < slices.length) {
+            var slice = slices[head];
+
+            Buffered buffered;
+            while ((buffered = slice.buffered.peek()) != null && slice.isPassed(buffered.message)) {
+                slice.buffered.poll();
+                deliver(buffered.message);
+
+                if (buffered.replenish) {
+                    slice.request(1);
+                }
+            }
+
+            if (!slice.complete) {
+                return;
+            }
+
+            head++;
+        }
+
+        future.complete(null);
+    }
+
+    private static final class Buffered {
+        final TopicMessage message;
+
+        // Whether the slice requests another message once this one was handed over
+        final boolean replenish;
+
+        Buffered(TopicMessage message, boolean replenish) {
+            this.message = message;
+            this.replenish = replenish;
+        }
+    }
+
+    private final class Slice implements Flow.Subscriber<TopicMessage> {
+        private final int index;
+
+        // Guarded by the replay
+        private final PriorityQueue<Buffered> buffered =
+                new PriorityQueue<>((a, b) -> CONSENSUS_ORDER.compare(a.message, b.message));
+
+        @Nullable
+        private Instant watermark;
+
+        private boolean complete = false;
+
+        @Nullable
+        private Flow.Subscription subscription;
+
+        private boolean cancelled = false;
+
+        Slice(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Whether the stream of this slice passed a message of this slice, so no earlier message of it can follow.
+         */
+        boolean isPassed(TopicMessage message) {
+            return complete || (watermark != null && !message.consensusTimestamp.isAfter(watermark));
+        }
+
+        void request(long n) {
+            var current = subscription;
+            if (current != null && !complete) {
+                current.request(n);
+            }
+        }
+
+        void cancel() {
+            Flow.Subscription current;
+            synchronized (TopicMessageReplay.this) {
+                cancelled = true;
+                current = subscription;
+            }
+
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            synchronized (TopicMessageReplay.this) {
+                if (cancelled) {
+                    subscription.cancel();
+                    return;
+                }
+                this.subscription = subscription;
+            }
+
+            subscription.request(
+                    order == TopicMessageQuery.ReplayOrder.UNORDERED ? Long.MAX_VALUE : MAX_BUFFERED_PER_SLICE);
+        }
+
+        @Override
+        public void onNext(TopicMessage message) {
+            synchronized (TopicMessageReplay.this) {
+                if (future.isDone()) {
+                    return;
+                }
+
+                if (order == TopicMessageQuery.ReplayOrder.UNORDERED) {
+                    deliver(message);
+                    return;
+                }
+
+                var target = Math.max(head, sliceOf(message.consensusTimestamp));
+                if (target == index) {
+                    buffered.add(new Buffered(message, true));
+                    watermark = message.consensusTimestamp;
+                } else {
+                    // Completed with a chunk of this slice, but belongs to a later one
+                    slices[target].buffered.add(new Buffered(message, false));
+                    request(1);
+                }
+
+                drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            future.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (TopicMessageReplay.this) {
+                complete = true;
+
+                if (order == TopicMessageQuery.ReplayOrder.UNORDERED) {
+                    if (Arrays.stream(slices).allMatch(slice -> slice.complete)) {
+                        future.complete(null);
+                    }
+                    return;
+                }
+
+                drain();
+            }
+        }
+    }
+}
@@ -11,6 +11,10 @@ import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import com.hedera.hashgraph.sdk.proto.TransactionID;
 import com.hedera.hashgraph.sdk.proto.TransactionResponse;
 import io.grpc.MethodDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Objects;
 import javax.annotation.Nullable;
@@ -111,6 +115,43 @@ public final class TopicMessageSubmitTransaction extends ChunkedTransaction<Topi
         return setData(message);
     }
 
+    /**
+     * Assign the message from the remaining bytes of a byte buffer, without copying them. The buffer must not be
+     * modified until the transaction has been executed.
+     *
+     * @param message                   the byte buffer
+     * @return                          the message
+     */
+    public TopicMessageSubmitTransaction setMessage(ByteBuffer message) {
+        return setData(message);
+    }
+
+    /**
+     * Assign the message from the contents of a file. The file is mapped into memory rather than read onto the heap
+     * and must not be modified until the transaction has been executed.
+     *
+     * @param path                      the path of the file
+     * @return                          the message
+     * @throws IOException              when the file can not be mapped
+     */
+    public TopicMessageSubmitTransaction setMessage(Path path) throws IOException {
+        return setData(path);
+    }
+
+    /**
+     * Assign the message from the remaining bytes of a stream. The stream is read to its end but not closed.
+     * <p>
+     * The stream is copied to a temporary file which is mapped into memory like {@link #setMessage(Path)}, so large
+     * messages are not held on the heap.
+     *
+     * @param message                   the stream
+     * @return                          the message
+     * @throws IOException              when reading the stream or writing the temporary file fails
+     */
+    public TopicMessageSubmitTransaction setMessage(InputStream message) throws IOException {
+        return setData(message);
+    }
+
     /**
      * Assign the message from a string.
      *
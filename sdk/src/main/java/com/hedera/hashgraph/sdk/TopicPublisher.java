@@ -0,0 +1,696 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Publishes many messages to one topic with a bounded number of {@link TopicMessageSubmitTransaction}s in flight.
+ * <p>
+ * Messages are queued by {@link #publish(ByteString)} and their transactions are built and signed ahead of time on the
+ * client's executor, so this does not happen on the calling thread. Each transaction is prepared for the node with the
+ * fewest transactions in flight or prepared, and for two more nodes which take over when that node fails. Up to
+ * {@link #getMaxInFlightPerNode()} transactions are prepared per node, and a node has at most that many in flight,
+ * counted on the node which the transaction is currently sent to. When every node is saturated the messages wait in
+ * the queue, and when the queue is full as well {@link #publish(ByteString)} either blocks or rejects the message, see
+ * {@link Backpressure}.
+ * <p>
+ * The future of a message completes with the response of its transaction. Its receipt can be fetched with
+ * {@link TransactionResponse#getReceiptAsync(Client)}, which is cheap for many messages when
+ * {@link Client#setReceiptTrackingEnabled(boolean) receipt tracking} is enabled.
+ */
+public final class TopicPublisher implements AutoCloseable {
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    static final int DEFAULT_MAX_IN_FLIGHT_PER_NODE = 16;
+
+    // Number of most recent latencies the percentiles are computed from
+    private static final int LATENCY_SAMPLES = 1024;
+
+    // Number of nodes each transaction is prepared for, the first one is tried first
+    private static final int NODES_PER_TRANSACTION = 3;
+
+    /**
+     * What {@link #publish(ByteString)} does when the queue is full.
+     */
+    public enum Backpressure {
+        /**
+         * Block the calling thread until the queue has room for the message.
+         */
+        BLOCK,
+        /**
+         * Return a future which is failed with a {@link RejectedExecutionException}.
+         */
+        REJECT
+    }
+
+    private final Client client;
+    private final TopicId topicId;
+    private final BlockingQueue<PendingMessage> queue;
+    private final ConcurrentHashMap<AccountId, NodeState> nodeStates = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LatencyTracker latencies = new LatencyTracker(LATENCY_SAMPLES);
+    private final long createdAt = System.nanoTime();
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicInteger preparedCount = new AtomicInteger();
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+
+    private volatile int maxInFlightPerNode = DEFAULT_MAX_IN_FLIGHT_PER_NODE;
+    private volatile Backpressure backpressure = Backpressure.BLOCK;
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor with a queue of {@value #DEFAULT_QUEUE_CAPACITY} messages.
+     *
+     * @param client  the client the messages are published with
+     * @param topicId the topic the messages are published to
+     */
+    public TopicPublisher(Client client, TopicId topicId) {
+        this(client, topicId, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param client        the client the messages are published with
+     * @param topicId       the topic the messages are published to
+     * @param queueCapacity the number of messages which may wait to be submitted
+     */
+    public TopicPublisher(Client client, TopicId topicId, int queueCapacity) {
+        Objects.requireNonNull(client);
+        Objects.requireNonNull(topicId);
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be greater than zero");
+        }
+
+        this.client = client;
+        this.topicId = topicId;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Extract the topic the messages are published to.
+     *
+     * @return the topic ID
+     */
+    public TopicId getTopicId() {
+        return topicId;
+    }
+
+    /**
+     * Extract the maximum number of transactions in flight per node.
+     *
+     * @return the maximum number of transactions in flight per node
+     */
+    public int getMaxInFlightPerNode() {
+        return maxInFlightPerNode;
+    }
+
+    /**
+     * Assign the maximum number of transactions which are submitted to a node and not yet answered by it. This is also
+     * the number of transactions which are prepared for a node ahead of time.
+     *
+     * @param maxInFlightPerNode the maximum number of transactions in flight per node
+     * @return {@code this}
+     */
+    public TopicPublisher setMaxInFlightPerNode(int maxInFlightPerNode) {
+        if (maxInFlightPerNode <= 0) {
+            throw new IllegalArgumentException("maxInFlightPerNode must be greater than zero");
+        }
+        this.maxInFlightPerNode = maxInFlightPerNode;
+        drain();
+        return this;
+    }
+
+    /**
+     * Extract what happens when the queue is full.
+     *
+     * @return the backpressure strategy
+     */
+    public Backpressure getBackpressure() {
+        return backpressure;
+    }
+
+    /**
+     * Assign what happens when the queue is full.
+     *
+     * @param backpressure the backpressure strategy
+     * @return {@code this}
+     */
+    public TopicPublisher setBackpressure(Backpressure backpressure) {
+        this.backpressure = Objects.requireNonNull(backpressure);
+        return this;
+    }
+
+    /**
+     * Publish a message.
+     *
+     * @param message the message
+     * @return a future completed with the response of the transaction of the message
+     */
+    public CompletableFuture<TransactionResponse> publish(byte[] message) {
+        return publish(ByteString.copyFrom(message));
+    }
+
+    /**
+     * Publish a message encoded as UTF-8.
+     *
+     * @param message the message
+     * @return a future completed with the response of the transaction of the message
+     */
+    public CompletableFuture<TransactionResponse> publish(String message) {
+        return publish(ByteString.copyFromUtf8(message));
+    }
+
+    /**
+     * Publish a message.
+     * <p>
+     * When the queue is full this blocks or returns a rejected future, depending on {@link #getBackpressure()}.
+     *
+     * @param message the message
+     * @return a future completed with the response of the transaction of the message
+     */
+    public CompletableFuture<TransactionResponse> publish(ByteString message) {
+        Objects.requireNonNull(message);
+        if (closed) {
+            throw new IllegalStateException("publisher is closed");
+        }
+
+        var pending = new PendingMessage(message);
+
+        if (backpressure == Backpressure.BLOCK) {
+            try {
+                queue.put(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.future.completeExceptionally(e);
+                return pending.future;
+            }
+        } else if (!queue.offer(pending)) {
+            rejectedCount.incrementAndGet();
+            pending.future.completeExceptionally(
+                    new RejectedExecutionException("the queue of " + topicId + " is full"));
+            return pending.future;
+        }
+
+        drain();
+        return pending.future;
+    }
+
+    /**
+     * Extract the counters and latencies of the messages published so far.
+     *
+     * @return the statistics
+     */
+    public Statistics getStatistics() {
+        var elapsedNanos = Math.max(1, System.nanoTime() - createdAt);
+        return new Statistics(
+                publishedCount.get(),
+                failedCount.get(),
+                rejectedCount.get(),
+                queue.size(),
+                preparedCount.get(),
+                inFlightCount.get(),
+                publishedCount.get() * 1_000_000_000.0 / elapsedNanos,
+                latencyPercentile(0.5),
+                latencyPercentile(0.9),
+                latencyPercentile(0.99));
+    }
+
+    @Nullable
+    private Duration latencyPercentile(double percentile) {
+        var nanos = latencies.percentile(percentile);
+        return nanos < 0 ? null : Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Stop accepting messages. The messages which were already accepted are still published.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            client.executor.execute(this::drainQueue);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            failQueued(e);
+        }
+    }
+
+    private void drainQueue() {
+        List<AccountId> nodes = List.of();
+        try {
+            nodes = getNodes();
+            boolean progress;
+            do {
+                progress = submitPrepared();
+                progress |= prepareQueued(nodes);
+            } while (progress);
+        } catch (RuntimeException e) {
+            failQueued(e);
+        } finally {
+            draining.set(false);
+        }
+
+        // A message may have been queued or prepared, or a slot released after the last check
+        if (canProgress(nodes)) {
+            drain();
+        }
+    }
+
+    private List<AccountId> getNodes() {
+        var nodes = new ArrayList<>(new LinkedHashSet<>(client.getNetwork().values()));
+
+        // Spread the messages over the nodes when they have the same number in flight
+        Collections.shuffle(nodes, ThreadLocalRandom.current());
+        return nodes;
+    }
+
+    private NodeState getNodeState(AccountId nodeId) {
+        return nodeStates.computeIfAbsent(nodeId, id -> new NodeState());
+    }
+
+    /**
+     * Submit the prepared transactions of the nodes which have room for them. Only the draining thread takes prepared
+     * transactions, so a node which has one and a free slot can be submitted to.
+     */
+    private boolean submitPrepared() {
+        var limit = maxInFlightPerNode;
+        var submitted = false;
+
+        // Nodes which were removed from the network still submit the transactions prepared for them
+        for (var entry : nodeStates.entrySet()) {
+            var state = entry.getValue();
+            while (!state.prepared.isEmpty() && reserve(state.inFlight, limit)) {
+                var pending = Objects.requireNonNull(state.prepared.poll());
+                state.preparing.decrementAndGet();
+                preparedCount.decrementAndGet();
+
+                submit(pending, entry.getKey());
+                submitted = true;
+            }
+        }
+
+        return submitted;
+    }
+
+    private static boolean reserve(AtomicInteger inFlight, int limit) {
+        while (true) {
+            var current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Start preparing the next queued message for the least busy node which has room for another prepared transaction.
+     */
+    private boolean prepareQueued(List<AccountId> nodes) {
+        var limit = maxInFlightPerNode;
+        AccountId best = null;
+        NodeState bestState = null;
+        var bestLoad = Integer.MAX_VALUE;
+        for (var nodeId : nodes) {
+            var state = getNodeState(nodeId);
+            var preparing = state.preparing.get();
+            var load = state.inFlight.get() + preparing;
+            if (preparing < limit && load < bestLoad) {
+                best = nodeId;
+                bestState = state;
+                bestLoad = load;
+            }
+        }
+
+        if (best == null) {
+            return false;
+        }
+
+        var pending = queue.poll();
+        if (pending == null) {
+            return false;
+        }
+
+        bestState.preparing.incrementAndGet();
+        prepare(pending, getFailoverNodes(best, nodes), bestState);
+        return true;
+    }
+
+    private static List<AccountId> getFailoverNodes(AccountId nodeId, List<AccountId> nodes) {
+        var count = Math.min(NODES_PER_TRANSACTION, nodes.size());
+        var nodeIds = new ArrayList<AccountId>(count);
+        nodeIds.add(nodeId);
+
+        // The nodes are shuffled, so the ones after the node are random
+        var index = nodes.indexOf(nodeId);
+        for (var i = 1; nodeIds.size() < count; i++) {
+            nodeIds.add(nodes.get((index + i) % nodes.size()));
+        }
+        return nodeIds;
+    }
+
+    private void prepare(PendingMessage pending, List<AccountId> nodeIds, NodeState state) {
+        CompletableFuture<Void> prepared;
+        try {
+            var transaction = new TopicMessageSubmitTransaction()
+                    .setTopicId(topicId)
+                    .setMessage(pending.message)
+                    .setNodeAccountIds(nodeIds)
+                    .setAttemptListener(nodeId -> moveTo(pending, nodeId))
+                    .freezeWith(client);
+            if (client.getOperator() != null) {
+                transaction.signWithOperator(client);
+            }
+
+            pending.transaction = transaction;
+            prepared = transaction
+                    .requestAsyncSignatures()
+                    .thenRunAsync(transaction::buildAllTransactions, client.executor);
+        } catch (RuntimeException e) {
+            prepared = CompletableFuture.failedFuture(e);
+        }
+
+        prepared.whenComplete((result, error) -> {
+            if (error == null) {
+                preparedCount.incrementAndGet();
+                state.prepared.add(pending);
+            } else {
+                state.preparing.decrementAndGet();
+                failedCount.incrementAndGet();
+                pending.future.completeExceptionally(
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+
+            drain();
+        });
+    }
+
+    private boolean canProgress(List<AccountId> nodes) {
+        var limit = maxInFlightPerNode;
+        for (var state : nodeStates.values()) {
+            if (!state.prepared.isEmpty() && state.inFlight.get() < limit) {
+                return true;
+            }
+        }
+
+        if (!queue.isEmpty()) {
+            for (var nodeId : nodes) {
+                if (getNodeState(nodeId).preparing.get() < limit) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void submit(PendingMessage pending, AccountId nodeId) {
+        synchronized (pending) {
+            pending.nodeId = nodeId;
+        }
+        inFlightCount.incrementAndGet();
+
+        CompletableFuture<TransactionResponse> response;
+        try {
+            response = Objects.requireNonNull(pending.transaction).executeAsync(client);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+
+        response.whenComplete((result, error) -> {
+            release(pending);
+
+            if (error == null) {
+                publishedCount.incrementAndGet();
+                latencies.record(System.nanoTime() - pending.queuedAt);
+                pending.future.complete(result);
+            } else {
+                failedCount.incrementAndGet();
+                pending.future.completeExceptionally(error);
+            }
+
+            drain();
+        });
+    }
+
+    /**
+     * Count a transaction in flight on the node it is sent to, when the previous node failed or a request is hedged.
+     */
+    private void moveTo(PendingMessage pending, AccountId nodeId) {
+        synchronized (pending) {
+            if (pending.nodeId == null || pending.nodeId.equals(nodeId)) {
+                return;
+            }
+
+            getNodeState(pending.nodeId).inFlight.decrementAndGet();
+            getNodeState(nodeId).inFlight.incrementAndGet();
+            pending.nodeId = nodeId;
+        }
+
+        // The previous node has room again
+        drain();
+    }
+
+    private void release(PendingMessage pending) {
+        synchronized (pending) {
+            if (pending.nodeId != null) {
+                getNodeState(pending.nodeId).inFlight.decrementAndGet();
+                pending.nodeId = null;
+            }
+            pending.transaction = null;
+        }
+        inFlightCount.decrementAndGet();
+    }
+
+    private void failQueued(Throwable error) {
+        for (var pending = queue.poll(); pending != null; pending = queue.poll()) {
+            failedCount.incrementAndGet();
+            pending.future.completeExceptionally(error);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("topicId", topicId)
+                .add("maxInFlightPerNode", maxInFlightPerNode)
+                .add("backpressure", backpressure)
+                .add("statistics", getStatistics())
+                .toString();
+    }
+
+    private static final class NodeState {
+        // Transactions which are submitted to the node and not answered yet
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        // Transactions which are being prepared or are prepared for the node
+        final AtomicInteger preparing = new AtomicInteger();
+
+        // Transactions which are prepared for the node, in the order they were prepared
+        final Queue<PendingMessage> prepared = new ConcurrentLinkedQueue<>();
+    }
+
+    private static final class PendingMessage {
+        final ByteString message;
+        final long queuedAt = System.nanoTime();
+        final CompletableFuture<TransactionResponse> future = new CompletableFuture<>();
+
+        @Nullable
+        volatile TopicMessageSubmitTransaction transaction;
+
+        // The node the transaction is counted in flight on, guarded by the message
+        @Nullable
+        AccountId nodeId;
+
+        PendingMessage(ByteString message) {
+            this.message = message;
+        }
+    }
+
+    /**
+     * A snapshot of the counters and latencies of a {@link TopicPublisher}.
+     * <p>
+     * The latencies are measured from {@link TopicPublisher#publish(ByteString)} to the response of the transaction
+     * over the most recent messages, and are {@code null} before the first message was published.
+     */
+    public static final class Statistics {
+        private final long publishedCount;
+        private final long failedCount;
+        private final long rejectedCount;
+        private final int queuedCount;
+        private final int preparedCount;
+        private final int inFlightCount;
+        private final double throughput;
+
+        @Nullable
+        private final Duration medianLatency;
+
+        @Nullable
+        private final Duration p90Latency;
+
+        @Nullable
+        private final Duration p99Latency;
+
+        Statistics(
+                long publishedCount,
+                long failedCount,
+                long rejectedCount,
+                int queuedCount,
+                int preparedCount,
+                int inFlightCount,
+                double throughput,
+                @Nullable Duration medianLatency,
+                @Nullable Duration p90Latency,
+                @Nullable Duration p99Latency) {
+            this.publishedCount = publishedCount;
+            this.failedCount = failedCount;
+            this.rejectedCount = rejectedCount;
+            this.queuedCount = queuedCount;
+            this.preparedCount = preparedCount;
+            this.inFlightCount = inFlightCount;
+            this.throughput = throughput;
+            this.medianLatency = medianLatency;
+            this.p90Latency = p90Latency;
+            this.p99Latency = p99Latency;
+        }
+
+        /**
+         * Extract the number of messages whose transaction was accepted by a node.
+         *
+         * @return the number of published messages
+         */
+        public long getPublishedCount() {
+            return publishedCount;
+        }
+
+        /**
+         * Extract the number of messages whose transaction failed.
+         *
+         * @return the number of failed messages
+         */
+        public long getFailedCount() {
+            return failedCount;
+        }
+
+        /**
+         * Extract the number of messages rejected because the queue was full.
+         *
+         * @return the number of rejected messages
+         */
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+
+        /**
+         * Extract the number of messages waiting to be submitted.
+         *
+         * @return the number of queued messages
+         */
+        public int getQueuedCount() {
+            return queuedCount;
+        }
+
+        /**
+         * Extract the number of messages whose transaction is built and signed but not submitted yet.
+         *
+         * @return the number of prepared messages
+         */
+        public int getPreparedCount() {
+            return preparedCount;
+        }
+
+        /**
+         * Extract the number of transactions submitted and not yet answered.
+         *
+         * @return the number of transactions in flight
+         */
+        public int getInFlightCount() {
+            return inFlightCount;
+        }
+
+        /**
+         * Extract the average number of messages published per second since the publisher was created.
+         *
+         * @return the throughput in messages per second
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        /**
+         * Extract the median latency.
+         *
+         * @return the median latency
+         */
+        @Nullable
+        public Duration getMedianLatency() {
+            return medianLatency;
+        }
+
+        /**
+         * Extract the 90th percentile latency.
+         *
+         * @return the 90th percentile latency
+         */
+        @Nullable
+        public Duration getP90Latency() {
+            return p90Latency;
+        }
+
+        /**
+         * Extract the 99th percentile latency.
+         *
+         * @return the 99th percentile latency
+         */
+        @Nullable
+        public Duration getP99Latency() {
+            return p99Latency;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("publishedCount", publishedCount)
+                    .add("failedCount", failedCount)
+                    .add("rejectedCount", rejectedCount)
+                    .add("queuedCount", queuedCount)
+                    .add("preparedCount", preparedCount)
+                    .add("inFlightCount", inFlightCount)
+                    .add("throughput", throughput)
+                    .add("medianLatency", medianLatency)
+                    .add("p90Latency", p90Latency)
+                    .add("p99Latency", p99Latency)
+                    .toString();
+        }
+    }
+}
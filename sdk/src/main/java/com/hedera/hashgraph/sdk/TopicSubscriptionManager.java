@@ -0,0 +1,448 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscribes to the messages of many topics over a bounded number of mirror node channels.
+ * <p>
+ * The mirror node streams the messages of each topic separately, so every subscription is its own streaming call. The
+ * calls are spread over at most {@link #getMaxChannels()} channels, each with its own connection, filling a channel
+ * up to {@link #getMaxStreamsPerChannel()} calls before opening the next one and using the least busy channel once
+ * all are open. A subscription resumes after errors as {@link TopicMessageQuery#subscribe(Client, Consumer)} does.
+ * <p>
+ * Messages are handed to their consumers by a shared pool of {@link #getDispatchThreads()} threads instead of the
+ * threads of the calls. The messages of one subscription are handed over one at a time and in order, while different
+ * subscriptions are dispatched concurrently. At most {@link #getMaxQueuedMessagesPerTopic()} messages of a
+ * subscription wait for its consumer; beyond that no more messages are requested from the mirror node until the
+ * consumer catches up.
+ * <p>
+ * The completion and error handlers of each {@link TopicMessageQuery} are called after its last message was handed
+ * over. With a {@link TopicMessageQuery#setCheckpointStore(SubscriptionCheckpointStore) checkpoint store}, the
+ * checkpoints are saved once the consumer returned from a message.
+ */
+public final class TopicSubscriptionManager implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicSubscriptionManager.class);
+
+    static final int DEFAULT_MAX_CHANNELS = 4;
+    static final int DEFAULT_MAX_STREAMS_PER_CHANNEL = 100;
+    static final int DEFAULT_MAX_QUEUED_MESSAGES_PER_TOPIC = 256;
+
+    private final Client client;
+    private final int dispatchThreads;
+    private final ExecutorService dispatchExecutor;
+
+    // Guarded by this
+    private final List<Channel> channels = new ArrayList<>();
+    private final LinkedHashSet<TopicSubscription> subscriptions = new LinkedHashSet<>();
+    private boolean closed = false;
+
+    private volatile int maxChannels = DEFAULT_MAX_CHANNELS;
+    private volatile int maxStreamsPerChannel = DEFAULT_MAX_STREAMS_PER_CHANNEL;
+    private volatile int maxQueuedMessagesPerTopic = DEFAULT_MAX_QUEUED_MESSAGES_PER_TOPIC;
+
+    /**
+     * Constructor with one dispatch thread per available processor.
+     *
+     * @param client the client whose mirror network is subscribed to
+     */
+    public TopicSubscriptionManager(Client client) {
+        this(client, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param client          the client whose mirror network is subscribed to
+     * @param dispatchThreads the number of threads handing messages to their consumers
+     */
+    public TopicSubscriptionManager(Client client, int dispatchThreads) {
+        Objects.requireNonNull(client, "client must not be null");
+        if (dispatchThreads < 1) {
+            throw new IllegalArgumentException("dispatchThreads must be at least 1");
+        }
+
+        this.client = client;
+        this.dispatchThreads = dispatchThreads;
+        this.dispatchExecutor = Executors.newFixedThreadPool(
+                dispatchThreads,
+                new ThreadFactoryBuilder()
+                        .setNameFormat("hedera-sdk-topic-dispatch-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    /**
+     * Extract the number of threads handing messages to their consumers.
+     *
+     * @return the number of dispatch threads
+     */
+    public int getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+    /**
+     * Extract the maximum number of channels the subscriptions are spread over.
+     *
+     * @return the maximum number of channels
+     */
+    public int getMaxChannels() {
+        return maxChannels;
+    }
+
+    /**
+     * Assign the maximum number of channels the subscriptions are spread over. Channels which are already open stay
+     * open.
+     *
+     * @param maxChannels the maximum number of channels
+     * @return {@code this}
+     */
+    public TopicSubscriptionManager setMaxChannels(int maxChannels) {
+        if (maxChannels < 1) {
+            throw new IllegalArgumentException("maxChannels must be at least 1");
+        }
+        this.maxChannels = maxChannels;
+        return this;
+    }
+
+    /**
+     * Extract the number of streaming calls a channel is filled with before the next channel is opened.
+     *
+     * @return the number of streaming calls per channel
+     */
+    public int getMaxStreamsPerChannel() {
+        return maxStreamsPerChannel;
+    }
+
+    /**
+     * Assign the number of streaming calls a channel is filled with before the next channel is opened. Once
+     * {@link #getMaxChannels()} channels are open, new subscriptions go to the least busy channel even if it has more
+     * calls.
+     *
+     * @param maxStreamsPerChannel the number of streaming calls per channel
+     * @return {@code this}
+     */
+    public TopicSubscriptionManager setMaxStreamsPerChannel(int maxStreamsPerChannel) {
+        if (maxStreamsPerChannel < 1) {
+            throw new IllegalArgumentException("maxStreamsPerChannel must be at least 1");
+        }
+        this.maxStreamsPerChannel = maxStreamsPerChannel;
+        return this;
+    }
+
+    /**
+     * Extract the maximum number of messages of a subscription which wait for its consumer.
+     *
+     * @return the maximum number of queued messages
+     */
+    public int getMaxQueuedMessagesPerTopic() {
+        return maxQueuedMessagesPerTopic;
+    }
+
+    /**
+     * Assign the maximum number of messages of a subscription which wait for its consumer. Applies to subscriptions
+     * made afterwards.
+     *
+     * @param maxQueuedMessagesPerTopic the maximum number of queued messages
+     * @return {@code this}
+     */
+    public TopicSubscriptionManager setMaxQueuedMessagesPerTopic(int maxQueuedMessagesPerTopic) {
+        if (maxQueuedMessagesPerTopic < 1) {
+            throw new IllegalArgumentException("maxQueuedMessagesPerTopic must be at least 1");
+        }
+        this.maxQueuedMessagesPerTopic = maxQueuedMessagesPerTopic;
+        return this;
+    }
+
+    /**
+     * Subscribe to the messages of a topic.
+     *
+     * @param query  the query of the messages
+     * @param onNext the consumer of the messages
+     * @return the handle to unsubscribe with
+     */
+    public SubscriptionHandle subscribe(TopicMessageQuery query, Consumer<TopicMessage> onNext) {
+        Objects.requireNonNull(query, "query must not be null");
+        Objects.requireNonNull(onNext, "onNext must not be null");
+
+        TopicSubscription subscription;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("the subscription manager is closed");
+            }
+
+            subscription = new TopicSubscription(query, onNext, acquireChannel(), maxQueuedMessagesPerTopic);
+            subscriptions.add(subscription);
+        }
+
+        new TopicMessagePublisher(query, client, subscription.channel.mirrorNode).subscribe(subscription);
+        return subscription.handle;
+    }
+
+    /**
+     * Extract the number of active subscriptions.
+     *
+     * @return the number of subscriptions
+     */
+    public synchronized int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Extract the number of open channels.
+     *
+     * @return the number of channels
+     */
+    public synchronized int getChannelCount() {
+        return channels.size();
+    }
+
+    /**
+     * Extract how far each subscribed topic lags behind, i.e. the time between the consensus timestamp of the last
+     * message handed to a consumer and the moment it was handed over. For a topic with several subscriptions this is
+     * the largest lag of them. Topics without messages yet are left out.
+     *
+     * @return the lag per topic
+     */
+    public synchronized Map<TopicId, Duration> getLag() {
+        var lag = new HashMap<TopicId, Duration>();
+        for (var subscription : subscriptions) {
+            var subscriptionLag = subscription.lag;
+            if (subscriptionLag != null) {
+                lag.merge(subscription.topicId, subscriptionLag, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+            }
+        }
+
+        return lag;
+    }
+
+    /**
+     * Unsubscribe all subscriptions, close the channels and stop the dispatch threads.
+     */
+    @Override
+    public void close() {
+        List<TopicSubscription> remaining;
+        List<Channel> openChannels;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            remaining = new ArrayList<>(subscriptions);
+            openChannels = new ArrayList<>(channels);
+            channels.clear();
+        }
+
+        for (var subscription : remaining) {
+            subscription.handle.unsubscribe();
+        }
+
+        dispatchExecutor.shutdown();
+
+        for (var channel : openChannels) {
+            try {
+                channel.mirrorNode.close(client.getCloseTimeout());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Channel acquireChannel() {
+        Channel leastBusy = null;
+        for (var channel : channels) {
+            if (leastBusy == null || channel.streams < leastBusy.streams) {
+                leastBusy = channel;
+            }
+        }
+
+        if (leastBusy == null || (leastBusy.streams >= maxStreamsPerChannel && channels.size() < maxChannels)) {
+            MirrorNode next;
+            try {
+                next = client.mirrorNetwork.getNextMirrorNode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+
+            // A node of its own, so the channel gets its own connection
+            leastBusy = new Channel(
+                    new MirrorNode(next.address, client.executor).setChannelConfigurer(next.getChannelConfigurer()));
+            channels.add(leastBusy);
+        }
+
+        leastBusy.streams++;
+        return leastBusy;
+    }
+
+    private synchronized void release(TopicSubscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            subscription.channel.streams--;
+        }
+    }
+
+    private static final class Channel {
+        final MirrorNode mirrorNode;
+
+        // Guarded by the manager
+        int streams = 0;
+
+        Channel(MirrorNode mirrorNode) {
+            this.mirrorNode = mirrorNode;
+        }
+    }
+
+    /**
+     * One subscription, which queues the messages of its streaming call and hands them to its consumer on the
+     * dispatch threads.
+     */
+    private final class TopicSubscription implements Flow.Subscriber<TopicMessage> {
+        final TopicId topicId;
+        final Channel channel;
+        final SubscriptionHandle handle = new SubscriptionHandle();
+
+        private final TopicMessageQuery query;
+        private final Consumer<TopicMessage> onNext;
+        private final int maxQueued;
+
+        @Nullable
+        private final TopicCheckpointer checkpointer;
+
+        private final ConcurrentLinkedQueue<TopicMessage> queue = new ConcurrentLinkedQueue<>();
+
+        // Number of dispatches requested, only one drains the queue at a time
+        private final AtomicInteger pendingDispatches = new AtomicInteger();
+
+        @Nullable
+        volatile Duration lag;
+
+        @Nullable
+        private volatile Flow.Subscription subscription;
+
+        private volatile boolean done = false;
+
+        @Nullable
+        private volatile Throwable error;
+
+        // Only accessed while draining
+        private boolean finished = false;
+
+        TopicSubscription(TopicMessageQuery query, Consumer<TopicMessage> onNext, Channel channel, int maxQueued) {
+            this.topicId = query.getTopicId();
+            this.query = query;
+            this.onNext = onNext;
+            this.channel = channel;
+            this.maxQueued = maxQueued;
+            this.checkpointer = query.newCheckpointer();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            handle.setOnUnsubscribe(() -> {
+                subscription.cancel();
+                release(this);
+                flushCheckpoint();
+            });
+            subscription.request(maxQueued);
+        }
+
+        @Override
+        public void onNext(TopicMessage message) {
+            queue.add(message);
+            dispatch();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done = true;
+            dispatch();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            dispatch();
+        }
+
+        private void flushCheckpoint() {
+            if (checkpointer != null) {
+                checkpointer.flush();
+            }
+        }
+
+        private void dispatch() {
+            if (pendingDispatches.getAndIncrement() != 0) {
+                return;
+            }
+
+            try {
+                dispatchExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // The manager was closed
+                LOGGER.debug("Dropping messages of topic {}, the subscription manager is closed", topicId);
+            }
+        }
+
+        private void drain() {
+            var missed = 1;
+            do {
+                TopicMessage message;
+                while ((message = queue.poll()) != null) {
+                    lag = Duration.between(message.consensusTimestamp, Instant.now());
+
+                    try {
+                        onNext.accept(message);
+                        if (checkpointer != null) {
+                            checkpointer.onHandled(message);
+                        }
+                    } catch (Throwable t) {
+                        query.getErrorHandler().accept(t, message);
+                    }
+
+                    // The consumer made room for another message
+                    var current = subscription;
+                    if (current != null) {
+                        current.request(1);
+                    }
+                }
+
+                // Messages are queued before the end of the stream is signalled
+                if (done && !finished && queue.isEmpty()) {
+                    finished = true;
+                    release(this);
+                    flushCheckpoint();
+
+                    var throwable = error;
+                    if (throwable != null) {
+                        query.getErrorHandler().accept(throwable, null);
+                    } else {
+                        query.getCompletionHandler().run();
+                    }
+                }
+
+                missed = pendingDispatches.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.hashgraph.sdk.proto.SchedulableTransactionBody;
@@ -22,6 +23,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import javax.annotation.Nullable;
@@ -121,6 +127,12 @@ public abstract class Transaction<T extends Transaction<T>>
      */
     protected Boolean regenerateTransactionId = null;
 
+    /**
+     * Executor used to sign the transactions for the different nodes in parallel, or null to sign them one by one
+     */
+    @Nullable
+    private Executor signingExecutor = null;
+
     private Duration transactionValidDuration;
 
     @Nullable
@@ -905,6 +917,35 @@ public abstract class Transaction<T extends Transaction<T>>
         return (T) this;
     }
 
+    /**
+     * Extract the executor used to sign the transactions for the different nodes in parallel.
+     *
+     * @return the signing executor, or {@code null} when signing one node after another
+     */
+    @Nullable
+    public final Executor getSigningExecutor() {
+        return signingExecutor;
+    }
+
+    /**
+     * Set an executor, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()}, to sign the transactions for the
+     * different nodes in parallel whenever all of them are built, like in {@link #toBytes()},
+     * {@link #getTransactionHashPerNode()} and {@link #execute(Client)}. The calling thread takes part in the work, so
+     * an executor which is busy does not block it.
+     * <p>
+     * The result is the same as when signing one node after another. All signers added to this transaction must be
+     * safe to call from multiple threads at once; the private keys of this SDK are.
+     *
+     * @param signingExecutor the signing executor, or {@code null} to sign one node after another
+     * @return {@code this}
+     */
+    public final T setSigningExecutor(@Nullable Executor signingExecutor) {
+        this.signingExecutor = signingExecutor;
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
     /**
      * Sign the transaction.
      *
@@ -942,6 +983,22 @@ public abstract class Transaction<T extends Transaction<T>>
         return (T) this;
     }
 
+    /**
+     * Sign the transaction with a signer which signs asynchronously, e.g. a remote key management service.
+     * <p>
+     * The signer receives the bodies for all nodes, and for chunked transactions all chunks, in one request.
+     * {@link #executeAsync(Client)} waits for the signatures without blocking a thread, while the synchronous methods
+     * like {@link #execute(Client)} and {@link #toBytes()} wait for them before they build the transaction.
+     *
+     * @param publicKey         the public key
+     * @param transactionSigner the asynchronous signer
+     * @return {@code this}
+     */
+    public T signWithAsync(PublicKey publicKey, AsyncTransactionSigner transactionSigner) {
+        Objects.requireNonNull(transactionSigner);
+        return signWith(publicKey, new PresignedTransactionSigner(transactionSigner));
+    }
+
     /**
      * Sign the transaction with the configured client.
      *
@@ -959,9 +1016,55 @@ public abstract class Transaction<T extends Transaction<T>>
             freezeWith(client);
         }
 
+        if (operator.asyncTransactionSigner != null) {
+            return signWithAsync(operator.publicKey, operator.asyncTransactionSigner);
+        }
+
         return signWith(operator.publicKey, operator.transactionSigner);
     }
 
+    /**
+     * Request the signatures from all asynchronous signers for the bodies which are not signed by them yet, in one
+     * request per signer.
+     *
+     * @return future which completes once all signatures are available
+     */
+    CompletableFuture<Void> requestAsyncSignatures() {
+        return requestAsyncSignatures(0, innerSignedTransactions.size());
+    }
+
+    /**
+     * Request the signatures from all asynchronous signers for the bodies in the given range which are not signed by
+     * them yet, in one request per signer.
+     *
+     * @param fromIndex the index of the first body, inclusive
+     * @param toIndex the index after the last body
+     * @return future which completes once all signatures are available
+     */
+    CompletableFuture<Void> requestAsyncSignatures(int fromIndex, int toIndex) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (var i = 0; i < signers.size(); i++) {
+            if (!(signers.get(i) instanceof PresignedTransactionSigner)) {
+                continue;
+            }
+
+            var publicKey = ByteString.copyFrom(publicKeys.get(i).toBytesRaw());
+            var bodies = new ArrayList<ByteString>(toIndex - fromIndex);
+            for (var j = fromIndex; j < toIndex; j++) {
+                if (!publicKeyIsInSigPairList(publicKey, sigPairLists.get(j).getSigPairList())) {
+                    bodies.add(innerSignedTransactions.get(j).getBodyBytes());
+                }
+            }
+
+            futures.add(((PresignedTransactionSigner) signers.get(i)).presign(bodies));
+        }
+
+        return futures.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
     /**
      * Checks if a public key is already added to the transaction
      *
@@ -1230,11 +1333,69 @@ public abstract class Transaction<T extends Transaction<T>>
         transactionIds.setLocked(true);
         nodeAccountIds.setLocked(true);
 
+        // One round trip per asynchronous signer instead of one per transaction
+        PresignedTransactionSigner.join(requestAsyncSignatures());
+
+        var executor = signingExecutor;
+        if (executor != null && innerSignedTransactions.size() > 1) {
+            buildAllTransactions(executor);
+            return;
+        }
+
         for (var i = 0; i < innerSignedTransactions.size(); ++i) {
             buildTransaction(i);
         }
     }
 
+    /**
+     * Build all the transactions in parallel. Each transaction is built by exactly one thread and only touches the
+     * entries at its own index, so the result does not depend on the order in which the threads run.
+     * <p>
+     * The calling thread builds transactions too and only waits for the ones already being built by other threads, so
+     * this cannot deadlock when called from a thread of the given executor.
+     *
+     * @param executor the executor which helps building the transactions
+     */
+    private void buildAllTransactions(Executor executor) {
+        var count = innerSignedTransactions.size();
+        var nextIndex = new AtomicInteger();
+        var built = new CountDownLatch(count);
+        var error = new AtomicReference<Throwable>();
+
+        Runnable worker = () -> {
+            for (var i = nextIndex.getAndIncrement(); i < count; i = nextIndex.getAndIncrement()) {
+                try {
+                    buildTransaction(i);
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                } finally {
+                    built.countDown();
+                }
+            }
+        };
+
+        for (var i = 1; i < count; ++i) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // the calling thread does the remaining work
+                break;
+            }
+        }
+
+        worker.run();
+        Uninterruptibles.awaitUninterruptibly(built);
+
+        var e = error.get();
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        } else if (e != null) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Will build the specific transaction at {@code index} This function is only ever called after the transaction is
      * frozen.
@@ -1331,6 +1492,23 @@ public abstract class Transaction<T extends Transaction<T>>
      * @param client the configured client
      */
     void onExecute(Client client) {
+        prepareForExecute(client);
+        PresignedTransactionSigner.join(requestAsyncSignaturesForExecute());
+    }
+
+    /**
+     * Request the asynchronous signatures of the transactions with the current transaction ID, which are the ones the
+     * next execution submits.
+     *
+     * @return future which completes once all signatures are available
+     */
+    private CompletableFuture<Void> requestAsyncSignaturesForExecute() {
+        var nodeCount = nodeAccountIds.size();
+        var offset = transactionIds.getIndex() * nodeCount;
+        return requestAsyncSignatures(offset, Math.min(offset + nodeCount, innerSignedTransactions.size()));
+    }
+
+    private void prepareForExecute(Client client) {
         if (!isFrozen()) {
             freezeWith(client);
         }
@@ -1356,8 +1534,8 @@ public abstract class Transaction<T extends Transaction<T>>
 
     @Override
     CompletableFuture<Void> onExecuteAsync(Client client) {
-        onExecute(client);
-        return CompletableFuture.completedFuture(null);
+        prepareForExecute(client);
+        return requestAsyncSignaturesForExecute();
     }
 
     @Override
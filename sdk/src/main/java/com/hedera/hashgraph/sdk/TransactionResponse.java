@@ -2,6 +2,7 @@
 package com.hedera.hashgraph.sdk;
 
 import com.google.common.base.MoreObjects;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
@@ -46,6 +47,12 @@ public final class TransactionResponse {
 
     private final Transaction transaction;
 
+    /**
+     * The body of the transaction when it was submitted, from which the entities it changes are taken
+     */
+    @Nullable
+    private final TransactionBody body;
+
     private boolean validateStatus = true;
 
     /**
@@ -67,6 +74,11 @@ public final class TransactionResponse {
         this.transactionHash = transactionHash;
         this.scheduledTransactionId = scheduledTransactionId;
         this.transaction = transaction;
+
+        // The body of the transaction is reset when it is retried, so it is kept now. Building a lite message from its
+        // builder does not copy it.
+        var bodyBuilder = transaction != null ? transaction.frozenBodyBuilder : null;
+        this.body = bodyBuilder != null ? bodyBuilder.build() : null;
     }
 
     /**
@@ -115,7 +127,9 @@ public final class TransactionResponse {
         while (true) {
             try {
                 // Attempt to execute the receipt query
-                return getReceiptQuery().execute(client, timeout).validateStatus(validateStatus);
+                var receipt = fetchReceipt(client, timeout);
+                invalidateCachedResults(client, receipt);
+                return receipt.validateStatus(validateStatus);
             } catch (ReceiptStatusException e) {
                 // Check if the exception status indicates throttling
                 if (e.receipt.status == Status.THROTTLED_AT_CONSENSUS) {
@@ -129,16 +143,50 @@ public final class TransactionResponse {
         }
     }
 
+    private TransactionReceipt fetchReceipt(Client client, Duration timeout)
+            throws TimeoutException, PrecheckStatusException {
+        var tracker = client.getReceiptTracker();
+        if (tracker == null) {
+            return getReceiptQuery().execute(client, timeout);
+        }
+
+        return BlockingFutures.await(tracker.track(transactionId, nodeId, timeout), timeout);
+    }
+
     private TransactionReceipt retryTransaction(Client client) throws PrecheckStatusException, TimeoutException {
         // reset the transaction body
         transaction.frozenBodyBuilder = null;
         // regenerate the transaction id
         transaction.regenerateTransactionId(client);
         TransactionResponse transactionResponse = (TransactionResponse) this.transaction.execute(client);
-        return new TransactionReceiptQuery()
+        var receipt = new TransactionReceiptQuery()
                 .setTransactionId(transactionResponse.transactionId)
                 .setNodeAccountIds(List.of(transactionResponse.nodeId))
                 .execute(client);
+        invalidateCachedResults(client, receipt);
+        return receipt;
+    }
+
+    /**
+     * Invalidate the cached query results for the entities this transaction changed, if it succeeded.
+     *
+     * @param client  The client with which this was executed.
+     * @param receipt the receipt of the transaction
+     */
+    private void invalidateCachedResults(Client client, TransactionReceipt receipt) {
+        var cache = client.getQueryResultCache();
+        if (cache == null || body == null || receipt.status != Status.SUCCESS) {
+            return;
+        }
+
+        if (MutatedEntities.areUnknown(body)) {
+            cache.clear();
+            return;
+        }
+
+        for (var entityId : MutatedEntities.of(body)) {
+            cache.invalidate(entityId);
+        }
     }
 
     /**
@@ -170,7 +218,13 @@ public final class TransactionResponse {
      * @return the transaction receipt
      */
     public CompletableFuture<TransactionReceipt> getReceiptAsync(Client client, Duration timeout) {
-        return getReceiptQuery().executeAsync(client, timeout).thenCompose(receipt -> {
+        var tracker = client.getReceiptTracker();
+        var future = tracker != null
+                ? tracker.track(transactionId, nodeId, timeout)
+                : getReceiptQuery().executeAsync(client, timeout);
+
+        return future.thenCompose(receipt -> {
+            invalidateCachedResults(client, receipt);
             try {
                 return CompletableFuture.completedFuture(receipt.validateStatus(validateStatus));
             } catch (ReceiptStatusException e) {
@@ -0,0 +1,123 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AsyncTransactionSignerTest {
+    private static final PrivateKey PRIVATE_KEY = PrivateKey.fromString(
+            "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+    private static final AccountId ACCOUNT_ID = AccountId.fromString("0.0.5006");
+
+    @Test
+    @DisplayName("Asynchronous signer signs all nodes in one request")
+    void signWithAsync() {
+        var signer = new InMemoryTransactionSigner(PRIVATE_KEY, Duration.ofMillis(10));
+
+        var expected = spawnTransaction(0).sign(PRIVATE_KEY).toBytes();
+        var actual = spawnTransaction(0).signWithAsync(signer.getPublicKey(), signer).toBytes();
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(signer.getRequestCount()).isEqualTo(1);
+        assertThat(signer.getSignatureCount()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Batching signer combines the requests of many transactions")
+    void batchingSigner() {
+        var delegate = new InMemoryTransactionSigner(PRIVATE_KEY);
+        var signer = new BatchingTransactionSigner(delegate, 1000, Duration.ofMillis(50));
+
+        var transactions = new ArrayList<TransferTransaction>();
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < 5; i++) {
+            var transaction = spawnTransaction(i).signWithAsync(PRIVATE_KEY.getPublicKey(), signer);
+            transactions.add(transaction);
+            futures.add(transaction.requestAsyncSignatures());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        assertThat(delegate.getRequestCount()).isEqualTo(1);
+        assertThat(delegate.getSignatureCount()).isEqualTo(50);
+        for (int i = 0; i < 5; i++) {
+            assertThat(transactions.get(i).toBytes())
+                    .isEqualTo(spawnTransaction(i).sign(PRIVATE_KEY).toBytes());
+        }
+        assertThat(delegate.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Batch is sent right away once it is full")
+    void batchingSignerMaxBatchSize() {
+        var delegate = new InMemoryTransactionSigner(PRIVATE_KEY);
+        var signer = new BatchingTransactionSigner(delegate, 2, Duration.ofHours(1));
+
+        var signatures = signer.sign(List.of(new byte[] {1}, new byte[] {2})).join();
+        assertThat(signatures).containsExactly(PRIVATE_KEY.sign(new byte[] {1}), PRIVATE_KEY.sign(new byte[] {2}));
+        assertThat(delegate.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Timer of a batch which was already sent does not flush the next batch")
+    void batchingSignerIgnoresStaleTimer() throws Exception {
+        var delegate = new InMemoryTransactionSigner(PRIVATE_KEY);
+        var handedOff = new AtomicInteger();
+        Executor executor = task -> {
+            handedOff.incrementAndGet();
+            ForkJoinPool.commonPool().execute(task);
+        };
+        var signer = new BatchingTransactionSigner(delegate, 2, Duration.ofMillis(500), executor);
+
+        // The first batch is full right away, its timer is still running
+        var first = signer.sign(List.of(new byte[] {1}));
+        signer.sign(List.of(new byte[] {2})).join();
+        assertThat(first).isDone();
+        Thread.sleep(300);
+
+        var next = signer.sign(List.of(new byte[] {3}));
+        Thread.sleep(350);
+        assertThat(next).isNotDone();
+
+        assertThat(next.get(1, TimeUnit.SECONDS)).containsExactly(PRIVATE_KEY.sign(new byte[] {3}));
+        assertThat(delegate.getRequestCount()).isEqualTo(2);
+        assertThat(handedOff.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Signer returning the wrong number of signatures fails the transaction")
+    void wrongNumberOfSignatures() {
+        AsyncTransactionSigner signer = bodies -> CompletableFuture.completedFuture(List.of(new byte[64]));
+
+        var transaction = spawnTransaction(0).signWithAsync(PRIVATE_KEY.getPublicKey(), signer);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(transaction::toBytes)
+                .withMessage("AsyncTransactionSigner returned 1 signatures for 10 bodies");
+    }
+
+    private static TransferTransaction spawnTransaction(int seconds) {
+        var nodeAccountIds = new ArrayList<AccountId>();
+        for (int i = 3; i < 13; i++) {
+            nodeAccountIds.add(new AccountId(i));
+        }
+
+        return new TransferTransaction()
+                .addHbarTransfer(ACCOUNT_ID, new Hbar(1).negated())
+                .addHbarTransfer(new AccountId(1800), new Hbar(1))
+                .setNodeAccountIds(nodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(ACCOUNT_ID, Instant.ofEpochSecond(1554158542 + seconds)))
+                .freeze();
+    }
+}
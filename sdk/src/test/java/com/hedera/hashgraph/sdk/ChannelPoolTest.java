@@ -0,0 +1,104 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import io.grpc.ConnectivityState;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class ChannelPoolTest {
+    private final List<StreamObserver<Response>> pendingCalls = new CopyOnWriteArrayList<>();
+    private Server server;
+    private ChannelPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = InProcessServerBuilder.forName("channelPool")
+                .addService(new PendingService())
+                .directExecutor()
+                .build()
+                .start();
+        pool = new ChannelPool(
+                4, () -> InProcessChannelBuilder.forName("channelPool").directExecutor().build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pool.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdown();
+        server.awaitTermination();
+    }
+
+    @Test
+    @Timeout(5)
+    void spreadsCallsOverLeastBusyChannels() throws Exception {
+        var stub = CryptoServiceGrpc.newStub(pool);
+        var completed = new CountDownLatch(12);
+        for (int i = 0; i < 12; i++) {
+            stub.cryptoGetBalance(Query.getDefaultInstance(), new CountingObserver(completed));
+        }
+
+        assertThat(pool.getActiveStreams()).containsExactly(3, 3, 3, 3);
+
+        for (var call : pendingCalls) {
+            call.onNext(Response.getDefaultInstance());
+            call.onCompleted();
+        }
+
+        assertThat(completed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(pool.getActiveStreams()).containsExactly(0, 0, 0, 0);
+    }
+
+    @Test
+    @Timeout(5)
+    void isReadyWhenAnyChannelIsReady() throws Exception {
+        assertThat(pool.getState(false)).isEqualTo(ConnectivityState.IDLE);
+
+        var ready = new CountDownLatch(1);
+        pool.notifyWhenStateChanged(ConnectivityState.IDLE, ready::countDown);
+        pool.getState(true);
+
+        assertThat(ready.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(pool.getState(false)).isIn(ConnectivityState.CONNECTING, ConnectivityState.READY);
+    }
+
+    private class PendingService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        @Override
+        public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+            pendingCalls.add(responseObserver);
+        }
+    }
+
+    private static class CountingObserver implements StreamObserver<Response> {
+        private final CountDownLatch completed;
+
+        CountingObserver(CountDownLatch completed) {
+            this.completed = completed;
+        }
+
+        @Override
+        public void onNext(Response value) {}
+
+        @Override
+        public void onError(Throwable t) {}
+
+        @Override
+        public void onCompleted() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.ConsensusMessageChunkInfo;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+class ChunkReassemblyBufferTest {
+    private static final Instant START = Instant.ofEpochSecond(1554158542);
+
+    private final ChunkReassemblyBuffer.Metrics metrics = new ChunkReassemblyBuffer.Metrics();
+    private final ArrayList<IncompleteTopicMessageException> dropped = new ArrayList<>();
+
+    @Test
+    void reassemblesChunksInAnyOrder() {
+        var buffer = new ChunkReassemblyBuffer(10, 1024, Duration.ofMinutes(1), metrics, dropped::add);
+
+        assertThat(buffer.add(chunk(1, 2, 3, 0, "c"))).isNull();
+        assertThat(buffer.add(chunk(1, 1, 3, 1, "a"))).isNull();
+        // A duplicate chunk is ignored
+        assertThat(buffer.add(chunk(1, 1, 3, 2, "a"))).isNull();
+        assertThat(metrics.pendingMessages.get()).isEqualTo(1);
+        assertThat(metrics.pendingBytes.get()).isEqualTo(2);
+
+        var message = buffer.add(chunk(1, 2, 3, 3, "b"));
+
+        assertThat(message).isNotNull();
+        assertThat(message.contents).isEqualTo("abc".getBytes());
+        assertThat(message.chunks).hasSize(3);
+        assertThat(message.consensusTimestamp).isEqualTo(START.plusSeconds(3));
+        assertThat(metrics.pendingMessages.get()).isZero();
+        assertThat(metrics.pendingBytes.get()).isZero();
+        assertThat(metrics.reassembledMessages.get()).isEqualTo(1);
+        assertThat(dropped).isEmpty();
+    }
+
+    @Test
+    void dropsOldestWhenTooManyMessages() {
+        var buffer = new ChunkReassemblyBuffer(2, 1024, Duration.ofMinutes(1), metrics, dropped::add);
+
+        buffer.add(chunk(1, 1, 2, 0, "a"));
+        buffer.add(chunk(2, 1, 2, 1, "b"));
+        buffer.add(chunk(3, 1, 2, 2, "c"));
+
+        assertThat(dropped).hasSize(1);
+        assertThat(dropped.get(0).transactionId).isEqualTo(transactionId(1));
+        assertThat(dropped.get(0).receivedChunks).isEqualTo(1);
+        assertThat(dropped.get(0).totalChunks).isEqualTo(2);
+        assertThat(metrics.pendingMessages.get()).isEqualTo(2);
+        assertThat(metrics.droppedMessages.get()).isEqualTo(1);
+
+        // The messages which were not dropped can still be completed
+        assertThat(buffer.add(chunk(2, 2, 2, 3, "b"))).isNotNull();
+    }
+
+    @Test
+    void dropsOldestWhenTooManyBytes() {
+        var buffer = new ChunkReassemblyBuffer(10, 4, Duration.ofMinutes(1), metrics, dropped::add);
+
+        buffer.add(chunk(1, 1, 2, 0, "aaa"));
+        buffer.add(chunk(2, 1, 2, 1, "bb"));
+
+        assertThat(dropped).extracting(e -> e.transactionId).containsExactly(transactionId(1));
+        assertThat(metrics.pendingBytes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsExpiredInConsensusTime() {
+        var buffer = new ChunkReassemblyBuffer(10, 1024, Duration.ofSeconds(10), metrics, dropped::add);
+
+        buffer.add(chunk(1, 1, 2, 0, "a"));
+        buffer.add(chunk(2, 1, 2, 5, "b"));
+        buffer.add(chunk(3, 1, 2, 11, "c"));
+
+        assertThat(dropped).extracting(e -> e.transactionId).containsExactly(transactionId(1));
+
+        buffer.clear();
+
+        assertThat(metrics.pendingMessages.get()).isZero();
+        assertThat(metrics.pendingBytes.get()).isZero();
+        assertThat(dropped).hasSize(1);
+    }
+
+    private static TransactionId transactionId(int id) {
+        return new TransactionId(new AccountId(id), START);
+    }
+
+    private static ConsensusTopicResponse chunk(int id, int number, int total, long seconds, String contents) {
+        return ConsensusTopicResponse.newBuilder()
+                .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(START.getEpochSecond() + seconds))
+                .setMessage(ByteString.copyFromUtf8(contents))
+                .setChunkInfo(ConsensusMessageChunkInfo.newBuilder()
+                        .setInitialTransactionID(transactionId(id).toProtobuf())
+                        .setNumber(number)
+                        .setTotal(total))
+                .build();
+    }
+}
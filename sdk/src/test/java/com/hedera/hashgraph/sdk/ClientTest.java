@@ -7,6 +7,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.protobuf.ByteString;
+import io.grpc.inprocess.InProcessServerBuilder;
 import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -80,6 +81,37 @@ class ClientTest {
         Client.forPreviewnet(executor).close();
     }
 
+    @Test
+    @DisplayName("Client uses platform threads by default")
+    void executionModelDefaultsToPlatformThreads() throws TimeoutException {
+        try (var client = Client.forNetwork(Map.of())) {
+            assertThat(client.getExecutionModel()).isEqualTo(ExecutionModel.PLATFORM_THREADS);
+            assertThat(client.getVirtualThreadExecutor()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Client.setExecutionModel() switches between platform and virtual threads")
+    void setExecutionModel() throws TimeoutException {
+        try (var client = Client.forNetwork(Map.of())) {
+            if (Runtime.version().feature() < 21) {
+                assertThatExceptionOfType(UnsupportedOperationException.class)
+                        .isThrownBy(() -> client.setExecutionModel(ExecutionModel.VIRTUAL_THREADS));
+                assertThat(client.getExecutionModel()).isEqualTo(ExecutionModel.PLATFORM_THREADS);
+                return;
+            }
+
+            client.setExecutionModel(ExecutionModel.VIRTUAL_THREADS);
+            assertThat(client.getExecutionModel()).isEqualTo(ExecutionModel.VIRTUAL_THREADS);
+            var virtualThreadExecutor = client.getVirtualThreadExecutor();
+            assertThat(virtualThreadExecutor).isNotNull();
+
+            client.setExecutionModel(ExecutionModel.PLATFORM_THREADS);
+            assertThat(client.getVirtualThreadExecutor()).isNull();
+            assertThat(virtualThreadExecutor.isShutdown()).isTrue();
+        }
+    }
+
     @Test
     @DisplayName("Client.setMaxQueryPayment() negative")
     void setMaxQueryPaymentNegative() throws TimeoutException {
@@ -265,6 +297,55 @@ class ClientTest {
         client.close();
     }
 
+    @Test
+    @DisplayName("close() fails the receipts which are still tracked")
+    void closeFailsTrackedReceipts() throws Exception {
+        var client = Client.forNetwork(Map.of()).setReceiptTrackingEnabled(true);
+        var receipt = client.getReceiptTracker()
+                .track(TransactionId.generate(new AccountId(2)), new AccountId(3), Duration.ofMinutes(1));
+
+        client.close();
+
+        assertThatThrownBy(receipt::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("client closed");
+        assertThat(client.getReceiptTracker().getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("warmUp() connects to all nodes and marks the ones which fail to connect unhealthy")
+    void warmUp() throws Exception {
+        var server =
+                InProcessServerBuilder.forName("clientWarmUp").directExecutor().build().start();
+        var client = Client.forNetwork(Map.of(
+                        "in-process:clientWarmUp", new AccountId(3),
+                        "in-process:clientWarmUpMissing", new AccountId(4)))
+                .setMirrorNetwork(List.of("in-process:clientWarmUp"));
+
+        assertThat(client.warmUp(Duration.ofSeconds(5))).containsExactly("clientWarmUpMissing");
+        assertThat(client.network.getNodeProxies(new AccountId(3)).get(0).isHealthy()).isTrue();
+        assertThat(client.network.getNodeProxies(new AccountId(4)).get(0).isHealthy()).isFalse();
+
+        client.close();
+        server.shutdown();
+        server.awaitTermination();
+    }
+
+    @Test
+    @DisplayName("setChannelIdleTimeout() rejects a timeout which is not positive")
+    void setChannelIdleTimeoutInvalid() throws TimeoutException {
+        var client = Client.forNetwork(Map.of());
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> client.setChannelIdleTimeout(Duration.ZERO));
+        assertThat(client.setChannelIdleTimeout(Duration.ofMinutes(5)).getChannelIdleTimeout())
+                .isEqualTo(Duration.ofMinutes(5));
+        assertThat(client.setChannelIdleTimeout(null).getChannelIdleTimeout()).isNull();
+
+        client.close();
+    }
+
     @Test
     @DisplayName("setMirrorNetwork() throws exception if there is no time to remove the old nodes")
     void setMirrorNetworkFails() throws Exception {
@@ -7,6 +7,11 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import com.hedera.hashgraph.sdk.proto.FileAppendTransactionBody;
 import com.hedera.hashgraph.sdk.proto.SchedulableTransactionBody;
 import io.github.jsonSnapshot.SnapshotMatcher;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -16,6 +21,7 @@ import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class FileAppendTransactionTest {
     public static final String BIG_CONTENTS =
@@ -214,6 +220,33 @@ public class FileAppendTransactionTest {
         assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> tx2.getTransactionHashPerNode());
     }
 
+    @Test
+    void shouldHashSameForStreamedContents(@TempDir Path tempDir) throws Exception {
+        var nodeAccountIds = new ArrayList<AccountId>();
+        nodeAccountIds.add(AccountId.fromString("0.0.444"));
+        nodeAccountIds.add(AccountId.fromString("0.0.555"));
+        var bytes = BIG_CONTENTS.getBytes(StandardCharsets.UTF_8);
+        var file = Files.write(tempDir.resolve("contents"), bytes);
+
+        var expected = hashesToString(
+                spawnTestTransactionBigContents(nodeAccountIds).getAllTransactionHashesPerNode());
+
+        var fromPath = new FileAppendTransaction().setContents(file);
+        var fromStream = new FileAppendTransaction().setContents(new ByteArrayInputStream(bytes));
+        var fromBuffer = new FileAppendTransaction().setContents(ByteBuffer.wrap(bytes));
+
+        for (var tx : List.of(fromPath, fromStream, fromBuffer)) {
+            tx.setNodeAccountIds(nodeAccountIds)
+                    .setTransactionId(TransactionId.withValidStart(AccountId.fromString("0.0.5006"), validStart))
+                    .setFileId(FileId.fromString("0.0.6006"))
+                    .setMaxTransactionFee(Hbar.fromTinybars(100_000))
+                    .freeze()
+                    .sign(unusedPrivateKey);
+
+            assertThat(hashesToString(tx.getAllTransactionHashesPerNode())).isEqualTo(expected);
+        }
+    }
+
     @Test
     void fromScheduledTransaction() {
         var transactionBody = SchedulableTransactionBody.newBuilder()
@@ -0,0 +1,86 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSubscriptionCheckpointStoreTest {
+    private static final TopicId TOPIC_1 = new TopicId(0, 0, 1001);
+    private static final TopicId TOPIC_2 = new TopicId(0, 0, 1002);
+    private static final Instant START = Instant.ofEpochSecond(1554158542, 123);
+
+    @Test
+    void checkpointsSurviveReopening(@TempDir Path dir) throws Exception {
+        var path = dir.resolve("checkpoints");
+        try (var store = new FileSubscriptionCheckpointStore(path)) {
+            assertThat(store.load(TOPIC_1)).isNull();
+
+            store.save(TOPIC_1, START);
+            store.save(TOPIC_2, START.plusSeconds(1));
+            store.save(TOPIC_1, START.plusSeconds(2));
+            // Checkpoints only move forward
+            store.save(TOPIC_2, START);
+
+            assertThat(store.load(TOPIC_1)).isEqualTo(START.plusSeconds(2));
+            assertThat(store.load(TOPIC_2)).isEqualTo(START.plusSeconds(1));
+        }
+
+        try (var store = new FileSubscriptionCheckpointStore(path)) {
+            assertThat(store.load(TOPIC_1)).isEqualTo(START.plusSeconds(2));
+            assertThat(store.load(TOPIC_2)).isEqualTo(START.plusSeconds(1));
+        }
+    }
+
+    @Test
+    void compactsWhenFull(@TempDir Path dir) throws Exception {
+        var path = dir.resolve("checkpoints");
+        var saves = FileSubscriptionCheckpointStore.INITIAL_CAPACITY * 3;
+        try (var store = new FileSubscriptionCheckpointStore(path)) {
+            for (int i = 1; i <= saves; i++) {
+                store.save(i % 2 == 0 ? TOPIC_1 : TOPIC_2, START.plusMillis(i));
+            }
+        }
+
+        assertThat(Files.size(path))
+                .isEqualTo((long) FileSubscriptionCheckpointStore.INITIAL_CAPACITY
+                        * FileSubscriptionCheckpointStore.RECORD_SIZE);
+
+        try (var store = new FileSubscriptionCheckpointStore(path)) {
+            assertThat(store.load(TOPIC_1)).isEqualTo(START.plusMillis(saves));
+            assertThat(store.load(TOPIC_2)).isEqualTo(START.plusMillis(saves - 1));
+        }
+    }
+
+    @Test
+    void tornRecordEndsTheLog(@TempDir Path dir) throws Exception {
+        var path = dir.resolve("checkpoints");
+        try (var store = new FileSubscriptionCheckpointStore(path)) {
+            store.save(TOPIC_1, START);
+            store.save(TOPIC_1, START.plusSeconds(1));
+        }
+
+        // Corrupt the seconds of the second record, as if the process died while writing it
+        try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), FileSubscriptionCheckpointStore.RECORD_SIZE + 24);
+        }
+
+        try (var store = new FileSubscriptionCheckpointStore(path)) {
+            assertThat(store.load(TOPIC_1)).isEqualTo(START);
+
+            // The torn record is overwritten by the next checkpoint
+            store.save(TOPIC_1, START.plusSeconds(3));
+        }
+
+        try (var store = new FileSubscriptionCheckpointStore(path)) {
+            assertThat(store.load(TOPIC_1)).isEqualTo(START.plusSeconds(3));
+        }
+    }
+}
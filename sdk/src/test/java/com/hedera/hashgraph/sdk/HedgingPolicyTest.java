@@ -0,0 +1,195 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HedgingPolicyTest {
+    private static final AccountId SLOW_NODE = new AccountId(3);
+    private static final AccountId FAST_NODE = new AccountId(4);
+
+    @Test
+    @DisplayName("Hedge delay is the latency percentile bounded by min and max delay")
+    void getDelayMillis() {
+        var policy = new HedgingPolicy().setMinDelay(Duration.ofMillis(20)).setMaxDelay(Duration.ofMillis(500));
+
+        assertThat(policy.getDelayMillis(-1)).isEqualTo(500);
+        assertThat(policy.getDelayMillis(Duration.ofMillis(5).toNanos())).isEqualTo(20);
+        assertThat(policy.getDelayMillis(Duration.ofMillis(120).toNanos())).isEqualTo(120);
+        assertThat(policy.getDelayMillis(Duration.ofSeconds(3).toNanos())).isEqualTo(500);
+    }
+
+    @ParameterizedTest(name = "Invalid latency percentile {0}")
+    @ValueSource(doubles = {0, 1, -0.5, 1.5})
+    void setLatencyPercentileInvalid(double latencyPercentile) {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new HedgingPolicy().setLatencyPercentile(latencyPercentile));
+    }
+
+    @Test
+    @DisplayName("Min delay must not exceed max delay")
+    void setDelaysInvalid() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new HedgingPolicy().setMinDelay(Duration.ofSeconds(10)));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new HedgingPolicy().setMaxDelay(Duration.ofMillis(1)));
+    }
+
+    @Test
+    @DisplayName("Latency tracker computes percentiles over the most recent samples")
+    void latencyTrackerPercentile() {
+        var tracker = new LatencyTracker(100);
+        assertThat(tracker.percentile(0.5)).isEqualTo(-1);
+
+        for (int i = 1; i <= 200; i++) {
+            tracker.record(i);
+        }
+
+        // only 101..200 are kept
+        assertThat(tracker.percentile(0.5)).isEqualTo(150);
+        assertThat(tracker.percentile(0.99)).isEqualTo(199);
+    }
+
+    @ParameterizedTest(name = "[{0}] Slow node is hedged and its call is cancelled")
+    @ValueSource(strings = {"sync", "async"})
+    @Timeout(10)
+    void slowNodeIsHedged(String sync) throws Exception {
+        var slowCallCancelled = new CountDownLatch(1);
+        var slowServer = InProcessServerBuilder.forName("hedgingSlow" + sync)
+                .addService(new BalanceService(slowCallCancelled, false))
+                .directExecutor()
+                .build()
+                .start();
+        var fastServer = InProcessServerBuilder.forName("hedgingFast" + sync)
+                .addService(new BalanceService(slowCallCancelled, true))
+                .directExecutor()
+                .build()
+                .start();
+
+        var client = Client.forNetwork(Map.of(
+                        "in-process:hedgingSlow" + sync, SLOW_NODE, "in-process:hedgingFast" + sync, FAST_NODE))
+                .setHedgingPolicy(
+                        new HedgingPolicy().setMinDelay(Duration.ofMillis(10)).setMaxDelay(Duration.ofMillis(100)));
+
+        var query = new AccountBalanceQuery()
+                .setAccountId(new AccountId(1800))
+                .setNodeAccountIds(List.of(SLOW_NODE, FAST_NODE));
+        var balance = sync.equals("sync")
+                ? query.execute(client)
+                : query.executeAsync(client).get();
+
+        assertThat(balance.hbars).isEqualTo(Hbar.fromTinybars(100));
+        assertThat(slowCallCancelled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        client.close();
+        for (Server server : List.of(slowServer, fastServer)) {
+            server.shutdown();
+            server.awaitTermination();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    @DisplayName("A hedge which is not sent does not advance the nodes of the request")
+    void skippedHedgeDoesNotAdvanceNodes() throws Exception {
+        var server = InProcessServerBuilder.forName("hedgingDelayed")
+                .addService(new DelayedBalanceService(Duration.ofMillis(200)))
+                .directExecutor()
+                .build()
+                .start();
+
+        var unhealthyNode = new AccountId(5);
+        var client = Client.forNetwork(Map.of(
+                        "in-process:hedgingDelayed", SLOW_NODE,
+                        "in-process:hedgingUnhealthy4", FAST_NODE,
+                        "in-process:hedgingUnhealthy5", unhealthyNode))
+                .setHedgingPolicy(
+                        new HedgingPolicy().setMinDelay(Duration.ofMillis(10)).setMaxDelay(Duration.ofMillis(10)));
+        client.network.getNodeProxies(FAST_NODE).get(0).increaseBackoff();
+        client.network.getNodeProxies(unhealthyNode).get(0).increaseBackoff();
+
+        var query = new AccountBalanceQuery()
+                .setAccountId(new AccountId(1800))
+                .setNodeAccountIds(List.of(SLOW_NODE, FAST_NODE, unhealthyNode));
+        var balance = query.execute(client);
+
+        assertThat(balance.hbars).isEqualTo(Hbar.fromTinybars(100));
+        // Only the request to the first node advanced the index, the hedges to the unhealthy nodes were not built
+        assertThat(query.nodeAccountIds.getIndex()).isEqualTo(1);
+        assertThat(query.attemptedAllNodes).isFalse();
+
+        client.close();
+        server.shutdown();
+        server.awaitTermination();
+    }
+
+    private static Response balanceResponse() {
+        return Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                        .setAccountID(new AccountId(1800).toProtobuf())
+                        .setBalance(100))
+                .build();
+    }
+
+    private static class DelayedBalanceService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        private final Duration delay;
+
+        DelayedBalanceService(Duration delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(() -> {
+                        responseObserver.onNext(balanceResponse());
+                        responseObserver.onCompleted();
+                    });
+        }
+    }
+
+    private static class BalanceService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        private final CountDownLatch cancelled;
+        private final boolean respond;
+
+        BalanceService(CountDownLatch cancelled, boolean respond) {
+            this.cancelled = cancelled;
+            this.respond = respond;
+        }
+
+        @Override
+        public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+            if (!respond) {
+                // never answer, the client has to hedge and then cancel this call
+                ((ServerCallStreamObserver<Response>) responseObserver).setOnCancelHandler(cancelled::countDown);
+                return;
+            }
+
+            responseObserver.onNext(balanceResponse());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.ByteString;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LruQueryResultCacheTest {
+    private static final AccountId ACCOUNT_ID = AccountId.fromString("0.0.5006");
+    private static final TokenId TOKEN_ID = TokenId.fromString("0.0.5007");
+
+    private static QueryResultCache.Key key(Class<?> queryType, Object entityId) {
+        return new QueryResultCache.Key(queryType, entityId, ByteString.copyFromUtf8(entityId.toString()));
+    }
+
+    @Test
+    @DisplayName("Least recently used result is evicted when the cache is full")
+    void evictsLeastRecentlyUsed() {
+        var cache = new LruQueryResultCache(2, Duration.ofMinutes(1));
+        var first = key(TokenInfoQuery.class, TokenId.fromString("0.0.1"));
+        var second = key(TokenInfoQuery.class, TokenId.fromString("0.0.2"));
+        var third = key(TokenInfoQuery.class, TokenId.fromString("0.0.3"));
+
+        cache.put(first, "first");
+        cache.put(second, "second");
+        assertThat(cache.get(first)).isEqualTo("first");
+        cache.put(third, "third");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(first)).isEqualTo("first");
+        assertThat(cache.get(second)).isNull();
+        assertThat(cache.get(third)).isEqualTo("third");
+    }
+
+    @Test
+    @DisplayName("Results expire after the time to live of their query type")
+    void expiresPerQueryType() {
+        var cache = new LruQueryResultCache(10, Duration.ofMinutes(1)).setTtl(AccountInfoQuery.class, Duration.ZERO);
+
+        cache.put(key(AccountInfoQuery.class, ACCOUNT_ID), "account");
+        cache.put(key(TokenInfoQuery.class, TOKEN_ID), "token");
+
+        assertThat(cache.get(key(AccountInfoQuery.class, ACCOUNT_ID))).isNull();
+        assertThat(cache.get(key(TokenInfoQuery.class, TOKEN_ID))).isEqualTo("token");
+        assertThat(cache.getTtl(AccountInfoQuery.class)).isEqualTo(Duration.ZERO);
+        assertThat(cache.getTtl(TokenInfoQuery.class)).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Results for an entity are invalidated")
+    void invalidatesEntity() {
+        var cache = new LruQueryResultCache(10, Duration.ofMinutes(1));
+        cache.put(key(TokenInfoQuery.class, TOKEN_ID), "token");
+        cache.put(key(AccountInfoQuery.class, ACCOUNT_ID), "account");
+
+        cache.invalidate(TokenId.fromString("0.0.5007"));
+
+        assertThat(cache.get(key(TokenInfoQuery.class, TOKEN_ID))).isNull();
+        assertThat(cache.get(key(AccountInfoQuery.class, ACCOUNT_ID))).isEqualTo("account");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Token update changes the token and the payer")
+    void mutatedEntitiesOfTokenUpdate() {
+        var transaction = new TokenUpdateTransaction()
+                .setTokenId(TOKEN_ID)
+                .setTokenName("name")
+                .setNodeAccountIds(List.of(AccountId.fromString("0.0.3")))
+                .setTransactionId(TransactionId.withValidStart(ACCOUNT_ID, Instant.ofEpochSecond(1554158542)))
+                .freeze();
+
+        assertThat(MutatedEntities.of(transaction.frozenBodyBuilder)).containsExactly(ACCOUNT_ID, TOKEN_ID);
+    }
+}
@@ -30,9 +30,13 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -685,6 +689,411 @@ public class MockingTest {
         server.close();
     }
 
+    @Test
+    @DisplayName("executeAsync() retries on a virtual thread with the VIRTUAL_THREADS execution model")
+    void executeAsyncWithVirtualThreads() throws Exception {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21");
+
+        var service = new TestCryptoService();
+        var server = new TestServer("executeAsyncWithVirtualThreads", service);
+        server.client.setMaxAttempts(3).setExecutionModel(ExecutionModel.VIRTUAL_THREADS);
+
+        service.buffer.enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.BUSY));
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+        service.buffer
+                .enqueueResponse(TestResponse.receipt(com.hedera.hashgraph.sdk.Status.UNKNOWN))
+                .enqueueResponse(TestResponse.successfulReceipt());
+
+        var receipt = new AccountCreateTransaction()
+                .executeAsync(server.client)
+                .thenCompose(response -> response.getReceiptAsync(server.client))
+                .get();
+
+        Assertions.assertEquals(com.hedera.hashgraph.sdk.Status.SUCCESS, receipt.status);
+        Assertions.assertEquals(2, service.buffer.transactionRequestsReceived.size());
+        Assertions.assertEquals(2, service.buffer.queryRequestsReceived.size());
+
+        server.close();
+    }
+
+    @Test
+    void executeAsyncWithAsyncOperatorSigner() throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("executeAsyncWithAsyncOperatorSigner", service);
+        var signer = new InMemoryTransactionSigner(PrivateKey.generateED25519(), Duration.ofMillis(20));
+        server.client.setOperatorWithAsync(AccountId.fromString("2.2.2"), signer.getPublicKey(), signer);
+
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+        service.buffer.enqueueResponse(TestResponse.successfulReceipt());
+
+        var transaction = new AccountCreateTransaction().freezeWith(server.client);
+        var receipt = transaction
+                .executeAsync(server.client)
+                .thenCompose(response -> response.getReceiptAsync(server.client))
+                .get();
+
+        Assertions.assertEquals(com.hedera.hashgraph.sdk.Status.SUCCESS, receipt.status);
+        Assertions.assertEquals(1, signer.getRequestCount());
+        Assertions.assertEquals(
+                transaction.getNodeAccountIds().size(), signer.getSignatureCount());
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Cached query cost is used until a node rejects the payment")
+    void queryCostCache() throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("queryCostCache", service);
+        server.client.setQueryCostCacheTtl(Duration.ofMinutes(1));
+        var accountId = AccountId.fromString("1.2.3");
+        var nodeAccountIds = List.of(AccountId.fromString("1.1.1"));
+
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.OK, Hbar.from(1)));
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.OK, Hbar.ZERO));
+        new AccountInfoQuery()
+                .setAccountId(accountId)
+                .setNodeAccountIds(nodeAccountIds)
+                .execute(server.client);
+        Assertions.assertEquals(2, service.buffer.queryRequestsReceived.size());
+
+        // The cost is taken from the cache
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.OK, Hbar.ZERO));
+        new AccountInfoQuery()
+                .setAccountId(accountId)
+                .setNodeAccountIds(nodeAccountIds)
+                .execute(server.client);
+        Assertions.assertEquals(3, service.buffer.queryRequestsReceived.size());
+
+        // The cached cost is too low, so it is queried again
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.INSUFFICIENT_QUERY_PAYMENT, Hbar.ZERO));
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.OK, Hbar.from(2)));
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.OK, Hbar.ZERO));
+        new AccountInfoQuery()
+                .setAccountId(accountId)
+                .setNodeAccountIds(nodeAccountIds)
+                .executeAsync(server.client).get();
+        Assertions.assertEquals(6, service.buffer.queryRequestsReceived.size());
+        Assertions.assertEquals(
+                Hbar.from(2),
+                server.client.getQueryCostCache().get(AccountInfoQuery.class, AccountId.fromString("1.1.1")));
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Each node is paid its own cached cost and only a rejecting node's cost is dropped")
+    void queryCostCachePerNode() throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("queryCostCachePerNode", service);
+        server.client.setQueryCostCacheTtl(Duration.ofMinutes(1));
+        var cache = server.client.getQueryCostCache();
+        var node1 = AccountId.fromString("1.1.1");
+        var node2 = AccountId.fromString("2.2.2");
+        cache.put(AccountInfoQuery.class, node1, Hbar.from(1));
+        cache.put(AccountInfoQuery.class, node2, Hbar.from(2));
+
+        // The first node is not active, so the query moves on to the second node
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.PLATFORM_NOT_ACTIVE, Hbar.ZERO));
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.OK, Hbar.ZERO));
+        new AccountInfoQuery()
+                .setAccountId(AccountId.fromString("1.2.3"))
+                .setNodeAccountIds(List.of(node1, node2))
+                .execute(server.client);
+        Assertions.assertEquals(2, service.buffer.queryRequestsReceived.size());
+        Assertions.assertEquals(Hbar.from(1), paymentTo(node1, service.buffer.queryRequestsReceived.get(0)));
+        Assertions.assertEquals(Hbar.from(2), paymentTo(node2, service.buffer.queryRequestsReceived.get(1)));
+
+        // The first node rejects its payment, so only its cost is queried again and the retry moves on to the
+        // second node, which is still paid its cached cost
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.INSUFFICIENT_QUERY_PAYMENT, Hbar.ZERO));
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.OK, Hbar.from(3)));
+        service.buffer.enqueueResponse(accountInfoResponse(ResponseCodeEnum.OK, Hbar.ZERO));
+        new AccountInfoQuery()
+                .setAccountId(AccountId.fromString("1.2.3"))
+                .setNodeAccountIds(List.of(node1, node2))
+                .execute(server.client);
+        Assertions.assertEquals(5, service.buffer.queryRequestsReceived.size());
+        Assertions.assertEquals(Hbar.from(1), paymentTo(node1, service.buffer.queryRequestsReceived.get(2)));
+        Assertions.assertEquals(Hbar.from(2), paymentTo(node2, service.buffer.queryRequestsReceived.get(4)));
+        Assertions.assertEquals(Hbar.from(3), cache.get(AccountInfoQuery.class, node1));
+        Assertions.assertEquals(Hbar.from(2), cache.get(AccountInfoQuery.class, node2));
+
+        server.close();
+    }
+
+    private static Hbar paymentTo(AccountId nodeAccountId, Query query) throws InvalidProtocolBufferException {
+        var payment = query.getCryptoGetInfo().getHeader().getPayment();
+        var body = TransactionBody.parseFrom(
+                SignedTransaction.parseFrom(payment.getSignedTransactionBytes()).getBodyBytes());
+        Assertions.assertEquals(nodeAccountId, AccountId.fromProtobuf(body.getNodeAccountID()));
+
+        for (var transfer : body.getCryptoTransfer().getTransfers().getAccountAmountsList()) {
+            if (AccountId.fromProtobuf(transfer.getAccountID()).equals(nodeAccountId)) {
+                return Hbar.fromTinybars(transfer.getAmount());
+            }
+        }
+        throw new AssertionError("no payment to " + nodeAccountId);
+    }
+
+    @Test
+    @DisplayName("Identical queries in flight are sent to the network once")
+    void queryCoalescing() throws Exception {
+        var pending = new CopyOnWriteArrayList<StreamObserver<Response>>();
+        var service = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+                pending.add(responseObserver);
+            }
+        };
+        var server = new TestServer("queryCoalescing", service);
+        server.client.setQueryCoalescingEnabled(true);
+
+        var first = new AccountBalanceQuery().setAccountId(new AccountId(10)).executeAsync(server.client);
+        var second = new AccountBalanceQuery().setAccountId(new AccountId(10)).executeAsync(server.client);
+        var other = new AccountBalanceQuery().setAccountId(new AccountId(11)).executeAsync(server.client);
+
+        awaitRequests(pending, 2);
+        for (var observer : List.copyOf(pending)) {
+            observer.onNext(accountBalanceResponse(100));
+            observer.onCompleted();
+        }
+
+        Assertions.assertEquals(Hbar.fromTinybars(100), first.get().hbars);
+        Assertions.assertEquals(Hbar.fromTinybars(100), second.get().hbars);
+        Assertions.assertEquals(Hbar.fromTinybars(100), other.get().hbars);
+        Assertions.assertEquals(2, pending.size());
+
+        // Once completed, the query is sent to the network again
+        var third = new AccountBalanceQuery().setAccountId(new AccountId(10)).executeAsync(server.client);
+        awaitRequests(pending, 3);
+        pending.get(2).onNext(accountBalanceResponse(200));
+        pending.get(2).onCompleted();
+        Assertions.assertEquals(Hbar.fromTinybars(200), third.get().hbars);
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Queries with different payment settings are not coalesced")
+    void queryCoalescingComparesPayment() throws Exception {
+        var pending = new CopyOnWriteArrayList<StreamObserver<Response>>();
+        var service = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+                pending.add(responseObserver);
+            }
+        };
+        var server = new TestServer("queryCoalescingComparesPayment", service);
+        server.client.setQueryCoalescingEnabled(true);
+
+        var first = new AccountBalanceQuery().setAccountId(new AccountId(10)).executeAsync(server.client);
+        var maxPayment = new AccountBalanceQuery()
+                .setAccountId(new AccountId(10))
+                .setMaxQueryPayment(Hbar.from(5))
+                .executeAsync(server.client);
+        var payment = new AccountBalanceQuery()
+                .setAccountId(new AccountId(10))
+                .setQueryPayment(Hbar.from(1))
+                .executeAsync(server.client);
+
+        awaitRequests(pending, 3);
+        for (var observer : List.copyOf(pending)) {
+            observer.onNext(accountBalanceResponse(100));
+            observer.onCompleted();
+        }
+
+        Assertions.assertEquals(Hbar.fromTinybars(100), first.get().hbars);
+        Assertions.assertEquals(Hbar.fromTinybars(100), maxPayment.get().hbars);
+        Assertions.assertEquals(Hbar.fromTinybars(100), payment.get().hbars);
+        Assertions.assertEquals(3, pending.size());
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Receipts are fetched by the shared receipt tracker")
+    void receiptTracking() throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("receiptTracking", service);
+        server.client.setReceiptTrackingEnabled(true);
+
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+        service.buffer
+                .enqueueResponse(TestResponse.receipt(com.hedera.hashgraph.sdk.Status.UNKNOWN))
+                .enqueueResponse(TestResponse.successfulReceipt())
+                .enqueueResponse(TestResponse.successfulReceipt());
+
+        var first = new AccountCreateTransaction().execute(server.client).getReceiptAsync(server.client);
+        var second = new AccountCreateTransaction().execute(server.client).getReceipt(server.client);
+
+        Assertions.assertEquals(com.hedera.hashgraph.sdk.Status.SUCCESS, first.get().status);
+        Assertions.assertEquals(com.hedera.hashgraph.sdk.Status.SUCCESS, second.status);
+        Assertions.assertEquals(3, service.buffer.queryRequestsReceived.size());
+        Assertions.assertEquals(0, server.client.getReceiptTracker().getPendingCount());
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("File append chunks are pipelined to the node which accepted the first chunk")
+    void pipelinedFileAppend() throws Exception {
+        var appends = new CopyOnWriteArrayList<TransactionBody>();
+        var receiptQueries = new CopyOnWriteArrayList<Query>();
+        var fileService = new FileServiceGrpc.FileServiceImplBase() {
+            @Override
+            public void appendContent(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                try {
+                    var signedTransaction = SignedTransaction.parseFrom(request.getSignedTransactionBytes());
+                    appends.add(TransactionBody.parseFrom(signedTransaction.getBodyBytes()));
+                } catch (InvalidProtocolBufferException e) {
+                    throw new IllegalStateException(e);
+                }
+                responseObserver.onNext(TransactionResponse.newBuilder()
+                        .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                        .build());
+                responseObserver.onCompleted();
+            }
+        };
+        var cryptoService = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void getTransactionReceipts(Query request, StreamObserver<Response> responseObserver) {
+                receiptQueries.add(request);
+                responseObserver.onNext(TestResponse.successfulReceipt().queryResponse);
+                responseObserver.onCompleted();
+            }
+        };
+        var server = new TestServer("pipelinedFileAppend", fileService, cryptoService);
+
+        var contents = "0123456789abcdefghijABCDEFGHIJ";
+        var transaction = new FileAppendTransaction()
+                .setFileId(new FileId(1900))
+                .setContents(contents)
+                .setChunkSize(10)
+                .setMaxChunksInFlight(2);
+
+        var responses = transaction.executeAll(server.client);
+
+        Assertions.assertEquals(3, responses.size());
+        Assertions.assertEquals(3, appends.size());
+        Assertions.assertEquals(3, receiptQueries.size());
+
+        var appended = new StringBuilder();
+        for (var body : appends) {
+            Assertions.assertEquals(responses.get(0).nodeId.toProtobuf(), body.getNodeAccountID());
+            appended.append(body.getFileAppend().getContents().toStringUtf8());
+        }
+        Assertions.assertEquals(contents, appended.toString());
+
+        // The submitted chunks are released and built again with the same bytes when they are needed
+        Assertions.assertTrue(transaction.outerTransactions.stream().allMatch(Objects::isNull));
+        var hashes = transaction.getAllTransactionHashesPerNode();
+        for (var i = 0; i < responses.size(); i++) {
+            Assertions.assertArrayEquals(
+                    responses.get(i).transactionHash, hashes.get(i).get(responses.get(i).nodeId));
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> transaction.setMaxChunksInFlight(0));
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("File append chunks are submitted before the previous receipt and stop after a failed receipt")
+    void pipelinedFileAppendStopsAtFailedReceipt() throws Exception {
+        var appends = new CopyOnWriteArrayList<TransactionBody>();
+        var receiptQueries = new CopyOnWriteArrayList<Query>();
+        var fileService = new FileServiceGrpc.FileServiceImplBase() {
+            @Override
+            public void appendContent(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                try {
+                    var signedTransaction = SignedTransaction.parseFrom(request.getSignedTransactionBytes());
+                    appends.add(TransactionBody.parseFrom(signedTransaction.getBodyBytes()));
+                } catch (InvalidProtocolBufferException e) {
+                    throw new IllegalStateException(e);
+                }
+                responseObserver.onNext(TransactionResponse.newBuilder()
+                        .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                        .build());
+                responseObserver.onCompleted();
+            }
+        };
+        var cryptoService = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void getTransactionReceipts(Query request, StreamObserver<Response> responseObserver) {
+                receiptQueries.add(request);
+                var transactionId = request.getTransactionGetReceipt().getTransactionID();
+                if (!transactionId.equals(appends.get(0).getTransactionID())) {
+                    responseObserver.onNext(TestResponse.successfulReceipt().queryResponse);
+                    responseObserver.onCompleted();
+                    return;
+                }
+
+                // The first chunk fails once the second chunk was submitted without waiting for its receipt
+                var failed = TestResponse.receipt(com.hedera.hashgraph.sdk.Status.INSUFFICIENT_PAYER_BALANCE);
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        awaitRequests(appends, 2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (AssertionError e) {
+                        // Fail the receipt anyway, the test checks the number of appends
+                    }
+                    responseObserver.onNext(failed.queryResponse);
+                    responseObserver.onCompleted();
+                });
+            }
+        };
+        var server = new TestServer("pipelinedFileAppendStopsAtFailedReceipt", fileService, cryptoService);
+
+        var transaction = new FileAppendTransaction()
+                .setFileId(new FileId(1900))
+                .setContents("0123456789abcdefghijABCDEFGHIJklmnopqrst")
+                .setChunkSize(10)
+                .setMaxChunksInFlight(2);
+
+        var error = Assertions.assertThrows(
+                ExecutionException.class, () -> transaction.executeAllAsync(server.client).get());
+        Assertions.assertInstanceOf(ReceiptStatusException.class, error.getCause());
+        Assertions.assertEquals(
+                com.hedera.hashgraph.sdk.Status.INSUFFICIENT_PAYER_BALANCE,
+                ((ReceiptStatusException) error.getCause()).receipt.status);
+
+        // The third chunk waits for the failed first chunk and the fourth for the third, so neither is submitted
+        Assertions.assertEquals(2, appends.size());
+        Assertions.assertEquals(2, receiptQueries.size());
+
+        server.close();
+    }
+
+    private static void awaitRequests(List<?> requests, int count) throws InterruptedException {
+        for (int i = 0; i < 500 && requests.size() < count; i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(count, requests.size());
+    }
+
+    private static Response accountBalanceResponse(long balance) {
+        return Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                        .setBalance(balance))
+                .build();
+    }
+
+    private static TestResponse accountInfoResponse(ResponseCodeEnum precheckCode, Hbar cost) {
+        return TestResponse.query(Response.newBuilder()
+                .setCryptoGetInfo(CryptoGetInfoResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder()
+                                .setNodeTransactionPrecheckCode(precheckCode)
+                                .setCost(cost.toTinybars()))
+                        .setAccountInfo(CryptoGetInfoResponse.AccountInfo.newBuilder()
+                                .setKey(PrivateKey.generateED25519().getPublicKey().toProtobufKey())))
+                .build());
+    }
+
     private static class TestCryptoService extends CryptoServiceGrpc.CryptoServiceImplBase implements TestService {
         public Buffer buffer = new Buffer();
 
@@ -0,0 +1,183 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.AccountAmount;
+import com.hedera.hashgraph.sdk.proto.ContractCallTransactionBody;
+import com.hedera.hashgraph.sdk.proto.CryptoAllowance;
+import com.hedera.hashgraph.sdk.proto.CryptoApproveAllowanceTransactionBody;
+import com.hedera.hashgraph.sdk.proto.CryptoTransferTransactionBody;
+import com.hedera.hashgraph.sdk.proto.EthereumTransactionBody;
+import com.hedera.hashgraph.sdk.proto.NftID;
+import com.hedera.hashgraph.sdk.proto.NftTransfer;
+import com.hedera.hashgraph.sdk.proto.PendingAirdropId;
+import com.hedera.hashgraph.sdk.proto.SystemDeleteTransactionBody;
+import com.hedera.hashgraph.sdk.proto.SystemUndeleteTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenAirdropTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenAssociateTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenCancelAirdropTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenClaimAirdropTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenReference;
+import com.hedera.hashgraph.sdk.proto.TokenRejectTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenTransferList;
+import com.hedera.hashgraph.sdk.proto.TokenUpdateNftsTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TokenWipeAccountTransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MutatedEntitiesTest {
+    private static final AccountId PAYER = new AccountId(2);
+    private static final AccountId ACCOUNT_ID = new AccountId(5006);
+    private static final AccountId OTHER_ACCOUNT_ID = new AccountId(5007);
+    private static final TokenId TOKEN_ID = new TokenId(0, 0, 6000);
+    private static final TokenId OTHER_TOKEN_ID = new TokenId(0, 0, 6001);
+    private static final ContractId CONTRACT_ID = new ContractId(0, 0, 7000);
+    private static final FileId FILE_ID = new FileId(0, 0, 8000);
+
+    private static TransactionBody.Builder body() {
+        return TransactionBody.newBuilder()
+                .setTransactionID(TransactionID.newBuilder().setAccountID(PAYER.toProtobuf()));
+    }
+
+    @Test
+    @DisplayName("Token transfers change the accounts which send and receive tokens")
+    void tokenTransfers() {
+        var body = body().setCryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+                .addTokenTransfers(TokenTransferList.newBuilder()
+                        .setToken(TOKEN_ID.toProtobuf())
+                        .addTransfers(AccountAmount.newBuilder().setAccountID(ACCOUNT_ID.toProtobuf()))
+                        .addNftTransfers(NftTransfer.newBuilder()
+                                .setSenderAccountID(ACCOUNT_ID.toProtobuf())
+                                .setReceiverAccountID(OTHER_ACCOUNT_ID.toProtobuf()))));
+
+        assertThat(MutatedEntities.of(body)).contains(PAYER, ACCOUNT_ID, OTHER_ACCOUNT_ID);
+    }
+
+    @Test
+    @DisplayName("Token operations on an account change the token and the account")
+    void tokenOperations() {
+        var wipe = body().setTokenWipe(TokenWipeAccountTransactionBody.newBuilder()
+                .setToken(TOKEN_ID.toProtobuf())
+                .setAccount(ACCOUNT_ID.toProtobuf()));
+        var associate = body().setTokenAssociate(TokenAssociateTransactionBody.newBuilder()
+                .setAccount(ACCOUNT_ID.toProtobuf())
+                .addTokens(TOKEN_ID.toProtobuf()));
+
+        assertThat(MutatedEntities.of(wipe)).containsExactly(PAYER, TOKEN_ID, ACCOUNT_ID);
+        assertThat(MutatedEntities.of(associate)).containsExactly(PAYER, ACCOUNT_ID, TOKEN_ID);
+    }
+
+    @Test
+    @DisplayName("Contract calls and allowances change the contract and the owner")
+    void contractCallAndAllowance() {
+        var call = body().setContractCall(ContractCallTransactionBody.newBuilder()
+                .setContractID(CONTRACT_ID.toProtobuf()));
+        var approve = body().setCryptoApproveAllowance(CryptoApproveAllowanceTransactionBody.newBuilder()
+                .addCryptoAllowances(CryptoAllowance.newBuilder()
+                        .setOwner(ACCOUNT_ID.toProtobuf())
+                        .setSpender(OTHER_ACCOUNT_ID.toProtobuf())));
+
+        assertThat(MutatedEntities.of(call)).containsExactly(PAYER, CONTRACT_ID, new AccountId(0, 0, 7000));
+        assertThat(MutatedEntities.of(approve)).containsExactly(PAYER, ACCOUNT_ID);
+    }
+
+    @Test
+    @DisplayName("Rejecting tokens changes the owner and the tokens")
+    void tokenReject() {
+        var body = body().setTokenReject(TokenRejectTransactionBody.newBuilder()
+                .setOwner(ACCOUNT_ID.toProtobuf())
+                .addRejections(TokenReference.newBuilder().setFungibleToken(TOKEN_ID.toProtobuf()))
+                .addRejections(TokenReference.newBuilder()
+                        .setNft(NftID.newBuilder()
+                                .setTokenID(OTHER_TOKEN_ID.toProtobuf())
+                                .setSerialNumber(1))));
+
+        assertThat(MutatedEntities.of(body)).containsExactly(PAYER, ACCOUNT_ID, TOKEN_ID, OTHER_TOKEN_ID);
+    }
+
+    @Test
+    @DisplayName("Airdrops change the accounts which send and receive tokens")
+    void tokenAirdrop() {
+        var body = body().setTokenAirdrop(TokenAirdropTransactionBody.newBuilder()
+                .addTokenTransfers(TokenTransferList.newBuilder()
+                        .setToken(TOKEN_ID.toProtobuf())
+                        .addTransfers(AccountAmount.newBuilder().setAccountID(ACCOUNT_ID.toProtobuf()))
+                        .addTransfers(AccountAmount.newBuilder().setAccountID(OTHER_ACCOUNT_ID.toProtobuf()))));
+
+        assertThat(MutatedEntities.of(body)).containsExactly(PAYER, ACCOUNT_ID, OTHER_ACCOUNT_ID);
+    }
+
+    @Test
+    @DisplayName("Claiming an airdrop changes the sender, the receiver and the token")
+    void tokenClaimAirdrop() {
+        var body = body().setTokenClaimAirdrop(TokenClaimAirdropTransactionBody.newBuilder()
+                .addPendingAirdrops(PendingAirdropId.newBuilder()
+                        .setSenderId(ACCOUNT_ID.toProtobuf())
+                        .setReceiverId(OTHER_ACCOUNT_ID.toProtobuf())
+                        .setFungibleTokenType(TOKEN_ID.toProtobuf())));
+
+        assertThat(MutatedEntities.of(body)).containsExactly(PAYER, ACCOUNT_ID, OTHER_ACCOUNT_ID, TOKEN_ID);
+    }
+
+    @Test
+    @DisplayName("Cancelling an airdrop changes the sender, the receiver and the token")
+    void tokenCancelAirdrop() {
+        var body = body().setTokenCancelAirdrop(TokenCancelAirdropTransactionBody.newBuilder()
+                .addPendingAirdrops(PendingAirdropId.newBuilder()
+                        .setSenderId(ACCOUNT_ID.toProtobuf())
+                        .setReceiverId(OTHER_ACCOUNT_ID.toProtobuf())
+                        .setNonFungibleToken(NftID.newBuilder()
+                                .setTokenID(TOKEN_ID.toProtobuf())
+                                .setSerialNumber(1))));
+
+        assertThat(MutatedEntities.of(body)).containsExactly(PAYER, ACCOUNT_ID, OTHER_ACCOUNT_ID, TOKEN_ID);
+    }
+
+    @Test
+    @DisplayName("Updating the metadata of NFTs changes the token")
+    void tokenUpdateNfts() {
+        var body = body().setTokenUpdateNfts(TokenUpdateNftsTransactionBody.newBuilder()
+                .setToken(TOKEN_ID.toProtobuf())
+                .addSerialNumbers(1));
+
+        assertThat(MutatedEntities.of(body)).containsExactly(PAYER, TOKEN_ID);
+    }
+
+    @Test
+    @DisplayName("Ethereum transactions change entities which are unknown")
+    void ethereumTransaction() {
+        var body = body().setEthereumTransaction(EthereumTransactionBody.newBuilder()
+                .setEthereumData(ByteString.copyFrom(new byte[] {1, 2, 3})));
+
+        assertThat(MutatedEntities.areUnknown(body)).isTrue();
+        assertThat(MutatedEntities.areUnknown(body().setTokenUpdateNfts(TokenUpdateNftsTransactionBody.newBuilder())))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("System deletes change the file or the contract")
+    void systemDelete() {
+        var file = body().setSystemDelete(SystemDeleteTransactionBody.newBuilder().setFileID(FILE_ID.toProtobuf()));
+        var contract = body().setSystemDelete(
+                SystemDeleteTransactionBody.newBuilder().setContractID(CONTRACT_ID.toProtobuf()));
+
+        assertThat(MutatedEntities.of(file)).containsExactly(PAYER, FILE_ID);
+        assertThat(MutatedEntities.of(contract)).containsExactly(PAYER, CONTRACT_ID, new AccountId(0, 0, 7000));
+    }
+
+    @Test
+    @DisplayName("System undeletes change the file or the contract")
+    void systemUndelete() {
+        var file =
+                body().setSystemUndelete(SystemUndeleteTransactionBody.newBuilder().setFileID(FILE_ID.toProtobuf()));
+        var contract = body().setSystemUndelete(
+                SystemUndeleteTransactionBody.newBuilder().setContractID(CONTRACT_ID.toProtobuf()));
+
+        assertThat(MutatedEntities.of(file)).containsExactly(PAYER, FILE_ID);
+        assertThat(MutatedEntities.of(contract)).containsExactly(PAYER, CONTRACT_ID, new AccountId(0, 0, 7000));
+    }
+}
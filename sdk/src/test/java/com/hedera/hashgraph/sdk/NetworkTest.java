@@ -0,0 +1,98 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class NetworkTest {
+    private static final Map<String, AccountId> NODES = Map.of(
+            "in-process:network0", new AccountId(3),
+            "in-process:network1", new AccountId(4),
+            "in-process:network2", new AccountId(5),
+            "in-process:network3", new AccountId(6));
+
+    private ExecutorService executor;
+    private Network network;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        network = Network.forNetwork(executor, NODES).setMaxNodesPerRequest(NODES.size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Unhealthy node is skipped until its backoff has elapsed")
+    void unhealthyNodeIsReadmitted() throws InterruptedException {
+        var node = network.getNodeProxies(new AccountId(3)).get(0);
+
+        network.increaseBackoff(node);
+        assertThat(network.getNodeAccountIdsForExecute())
+                .hasSize(3)
+                .doesNotContain(new AccountId(3));
+
+        node.readmitTime = Instant.now().minusMillis(1);
+        assertThat(network.getNodeAccountIdsForExecute()).hasSize(4).contains(new AccountId(3));
+    }
+
+    @Test
+    @DisplayName("Snapshot is not changed by a later change of the network")
+    void snapshotIsImmutable() throws Exception {
+        var snapshot = network.getSnapshot();
+
+        network.setNetwork(Map.of("in-process:network0", new AccountId(3)));
+
+        assertThat(snapshot.nodes).hasSize(4);
+        assertThat(snapshot.proxies).containsKey(new AccountId(6));
+        assertThat(network.getSnapshot().nodes).hasSize(1);
+        assertThat(network.getNodeProxies(new AccountId(6))).isNull();
+        assertThat(network.getNodeAccountIdsForExecute()).containsExactly(new AccountId(3));
+    }
+
+    @Test
+    @Timeout(30)
+    @DisplayName("Nodes can be picked while the network changes")
+    void concurrentReadsAndWrites() throws Exception {
+        var running = new AtomicBoolean(true);
+        var readers = new ArrayList<Future<?>>();
+
+        for (int i = 0; i < 4; i++) {
+            readers.add(executor.submit(() -> {
+                while (running.get()) {
+                    assertThat(network.getNodeAccountIdsForExecute())
+                            .isNotEmpty()
+                            .doesNotHaveDuplicates();
+                    assertThat(network.getNodeProxies(new AccountId(3))).hasSize(1);
+                }
+                return null;
+            }));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            network.setNetwork(i % 2 == 0 ? Map.of("in-process:network0", new AccountId(3)) : NODES);
+        }
+        running.set(false);
+
+        for (var reader : readers) {
+            reader.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(network.getSnapshot().nodes).hasSize(4);
+    }
+}
@@ -0,0 +1,141 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NodeSelectorTest {
+    private ExecutorService executor;
+    private Network network;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        network = Network.forNetwork(
+                executor,
+                Map.of(
+                        "in-process:nodeSelector0", new AccountId(3),
+                        "in-process:nodeSelector1", new AccountId(4),
+                        "in-process:nodeSelector2", new AccountId(5),
+                        "in-process:nodeSelector3", new AccountId(6)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Node latency estimate is a moving average of finished requests")
+    void latencyEstimate() {
+        var node = network.getNodeProxies(new AccountId(3)).get(0);
+        assertThat(node.getLatencyEstimate()).isEqualTo(-1);
+
+        node.onRequestStarted();
+        node.onRequestStarted();
+        assertThat(node.getOutstandingRequests()).isEqualTo(2);
+
+        node.onRequestFinished(Duration.ofMillis(100).toNanos());
+        assertThat(node.getLatencyEstimate()).isEqualTo(Duration.ofMillis(100).toNanos());
+
+        node.onRequestFinished(Duration.ofMillis(200).toNanos());
+        assertThat(node.getLatencyEstimate()).isEqualTo(Duration.ofMillis(120).toNanos());
+        assertThat(node.getOutstandingRequests()).isZero();
+    }
+
+    @Test
+    @DisplayName("Latency aware selector prefers the faster node")
+    void latencyAwarePrefersFasterNode() {
+        var fast = network.getNodeProxies(new AccountId(3)).get(0);
+        var slow = network.getNodeProxies(new AccountId(4)).get(0);
+        finishRequest(fast, Duration.ofMillis(10));
+        finishRequest(slow, Duration.ofMillis(200));
+
+        var random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            assertThat(NodeSelector.latencyAware().select(List.of(fast, slow), random))
+                    .isSameAs(fast);
+        }
+    }
+
+    @Test
+    @DisplayName("Latency aware selector avoids the node with more requests in flight")
+    void latencyAwarePrefersLessLoadedNode() {
+        var busy = network.getNodeProxies(new AccountId(3)).get(0);
+        var idle = network.getNodeProxies(new AccountId(4)).get(0);
+        finishRequest(busy, Duration.ofMillis(50));
+        finishRequest(idle, Duration.ofMillis(50));
+        for (int i = 0; i < 5; i++) {
+            busy.onRequestStarted();
+        }
+
+        var random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            assertThat(NodeSelector.latencyAware().select(List.of(busy, idle), random))
+                    .isSameAs(idle);
+        }
+    }
+
+    @Test
+    @DisplayName("Nodes for execute are distinct and lead with the preferred node")
+    void getNodeAccountIdsForExecute() throws InterruptedException {
+        assertThat(network.getNodeSelector()).isSameAs(NodeSelector.random());
+        network.setMaxNodesPerRequest(3);
+
+        var nodeAccountIds = network.getNodeAccountIdsForExecute();
+        assertThat(nodeAccountIds).hasSize(3).doesNotHaveDuplicates();
+
+        network.setNodeSelector(NodeSelector.latencyAware());
+        for (var accountId : List.of(new AccountId(3), new AccountId(4), new AccountId(5))) {
+            finishRequest(network.getNodeProxies(accountId).get(0), Duration.ofMillis(500));
+        }
+        finishRequest(network.getNodeProxies(new AccountId(6)).get(0), Duration.ofMillis(5));
+
+        // Whenever the fast node is sampled it wins, so it is first far more often than a random choice would be
+        var firstIsFast = 0;
+        for (int i = 0; i < 200; i++) {
+            if (network.getNodeAccountIdsForExecute().get(0).equals(new AccountId(6))) {
+                firstIsFast++;
+            }
+        }
+        assertThat(firstIsFast).isGreaterThan(70);
+    }
+
+    @Test
+    @DisplayName("A custom selector picks the nodes of a request")
+    void customSelector() throws InterruptedException {
+        network.setNodeSelector((nodes, random) -> nodes.stream()
+                .filter(node -> new AccountId(5).equals(node.getAccountId()))
+                .findFirst()
+                .orElse(nodes.get(0)));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(network.getNodeAccountIdsForExecute().get(0)).isEqualTo(new AccountId(5));
+        }
+    }
+
+    @Test
+    @DisplayName("A selector must pick one of the candidates")
+    void customSelectorMustPickCandidate() {
+        var foreign = new Node(new AccountId(3), "in-process:nodeSelectorForeign", executor);
+        network.setNodeSelector((nodes, random) -> foreign);
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(network::getNodeAccountIdsForExecute);
+    }
+
+    private static void finishRequest(Node node, Duration latency) {
+        node.onRequestStarted();
+        node.onRequestFinished(latency.toNanos());
+    }
+}
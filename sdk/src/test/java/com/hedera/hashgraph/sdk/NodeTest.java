@@ -0,0 +1,127 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class NodeTest {
+    private ExecutorService executor;
+    private Server server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        executor = Executors.newFixedThreadPool(2);
+        server = InProcessServerBuilder.forName("nodeTest").directExecutor().build().start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+        server.awaitTermination();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @Timeout(5)
+    @DisplayName("Callers waiting for a connection share one attempt")
+    void connectsOnce() throws Exception {
+        var node = new Node(new AccountId(3), "in-process:nodeTest", executor);
+
+        var first = node.channelFailedToConnectAsync();
+        var second = node.channelFailedToConnectAsync();
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(second.get(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(node.channelFailedToConnect(Instant.now().plusSeconds(1))).isFalse();
+
+        node.close(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @Timeout(5)
+    @DisplayName("The channel configurer tunes every connection of a node")
+    void appliesChannelConfigurer() throws Exception {
+        var configured = new CopyOnWriteArrayList<String>();
+        var node = new Node(new AccountId(3), "in-process:nodeTest", executor)
+                .setChannelCount(2)
+                .setChannelConfigurer((address, builder) -> {
+                    configured.add(address);
+                    builder.maxInboundMessageSize(1024);
+                });
+
+        assertThat(node.channelFailedToConnect()).isFalse();
+        assertThat(configured).containsExactly("nodeTest", "nodeTest");
+
+        node.close(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @Timeout(5)
+    @DisplayName("An idle channel is closed and the node reconnects on its next use")
+    void closesIdleChannel() throws Exception {
+        var node = new Node(new AccountId(3), "in-process:nodeTest", executor).setChannelCount(2);
+
+        assertThat(node.channelFailedToConnect()).isFalse();
+        assertThat(node.getOpenConnections()).isEqualTo(2);
+        assertThat(node.closeChannelIfIdle(Duration.ofHours(1))).isFalse();
+
+        assertThat(node.closeChannelIfIdle(Duration.ZERO)).isTrue();
+        assertThat(node.getOpenConnections()).isZero();
+        assertThat(node.getIdleClosedConnections()).isEqualTo(2);
+
+        assertThat(node.channelFailedToConnect()).isFalse();
+        assertThat(node.getOpenConnections()).isEqualTo(2);
+        assertThat(node.getOpenedConnections()).isEqualTo(4);
+
+        node.close(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @Timeout(5)
+    @DisplayName("A channel which cannot connect fails before the connection timeout")
+    void failsFastOnTransientFailure() throws Exception {
+        var node = new Node(new AccountId(3), "in-process:nodeTestMissing", executor);
+
+        assertThat(node.channelFailedToConnectAsync().get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(node.channelFailedToConnect()).isTrue();
+
+        node.close(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("A node which received a bad gRPC status is readmitted between the min and max readmit time")
+    void clampsReadmitTime() throws Exception {
+        var node = new Node(new AccountId(3), "in-process:nodeTest", executor)
+                .setMinBackoff(Duration.ofMillis(10))
+                .setMinReadmitTime(Duration.ofMinutes(1))
+                .setMaxReadmitTime(Duration.ofMinutes(5));
+
+        var start = Instant.now();
+        node.increaseBackoff();
+
+        assertThat(node.isHealthy()).isFalse();
+        assertThat(node.readmitTime).isAfterOrEqualTo(start.plus(Duration.ofMinutes(1)));
+
+        node.setMaxBackoff(Duration.ofHours(1)).setMaxReadmitTime(Duration.ofMillis(10));
+        for (var i = 0; i < 20; i++) {
+            node.increaseBackoff();
+        }
+
+        assertThat(node.readmitTime).isBeforeOrEqualTo(Instant.now().plus(Duration.ofMillis(10)));
+
+        node.close(Duration.ofSeconds(1));
+    }
+}
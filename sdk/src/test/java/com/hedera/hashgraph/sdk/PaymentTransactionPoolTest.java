@@ -0,0 +1,66 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PaymentTransactionPoolTest {
+    private static final PrivateKey PRIVATE_KEY = PrivateKey.generateED25519();
+    private static final AccountId OPERATOR_ACCOUNT_ID = AccountId.fromString("0.0.5006");
+    private static final AccountId NODE_ACCOUNT_ID = AccountId.fromString("0.0.3");
+
+    private static Client.Operator newOperator() {
+        return new Client.Operator(OPERATOR_ACCOUNT_ID, PRIVATE_KEY.getPublicKey(), PRIVATE_KEY::sign);
+    }
+
+    @Test
+    @DisplayName("Pool is filled after the first payment and hands out signed payments")
+    void takeFromPool() throws Exception {
+        var operator = newOperator();
+        var pool = new PaymentTransactionPool(operator, 2, Duration.ofMinutes(1), MoreExecutors.directExecutor());
+
+        assertThat(pool.take(operator, NODE_ACCOUNT_ID, Hbar.from(1))).isNull();
+
+        var first = pool.take(operator, NODE_ACCOUNT_ID, Hbar.from(1));
+        var second = pool.take(operator, NODE_ACCOUNT_ID, Hbar.from(1));
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(first.transactionId).isNotEqualTo(second.transactionId);
+
+        var body = TransactionBody.parseFrom(SignedTransaction.parseFrom(first.transaction.getSignedTransactionBytes())
+                .getBodyBytes());
+        assertThat(TransactionId.fromProtobuf(body.getTransactionID())).isEqualTo(first.transactionId);
+        assertThat(AccountId.fromProtobuf(body.getNodeAccountID())).isEqualTo(NODE_ACCOUNT_ID);
+        assertThat(body.getCryptoTransfer().getTransfers().getAccountAmountsList())
+                .anySatisfy(amount -> assertThat(amount.getAmount()).isEqualTo(Hbar.from(1).toTinybars()));
+
+        // Payments for another amount are kept separately
+        assertThat(pool.take(operator, NODE_ACCOUNT_ID, Hbar.from(2))).isNull();
+    }
+
+    @Test
+    @DisplayName("Pool hands out no payments of another operator")
+    void otherOperator() {
+        var operator = newOperator();
+        var pool = new PaymentTransactionPool(operator, 2, Duration.ofMinutes(1), MoreExecutors.directExecutor());
+        pool.take(operator, NODE_ACCOUNT_ID, Hbar.from(1));
+
+        assertThat(pool.take(newOperator(), NODE_ACCOUNT_ID, Hbar.from(1))).isNull();
+    }
+
+    @Test
+    @DisplayName("Expired payments are discarded")
+    void expiredPayments() {
+        var operator = newOperator();
+        var pool = new PaymentTransactionPool(operator, 2, Duration.ZERO, MoreExecutors.directExecutor());
+        pool.take(operator, NODE_ACCOUNT_ID, Hbar.from(1));
+
+        assertThat(pool.take(operator, NODE_ACCOUNT_ID, Hbar.from(1))).isNull();
+    }
+}
@@ -30,6 +30,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -371,6 +376,167 @@ class TopicMessageQueryTest {
         Assertions.assertThat(received).isEmpty();
     }
 
+    @Test
+    @Timeout(3)
+    void publisherHonorsDemand() {
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(response(1L));
+        consensusServiceStub.responses.add(response(2L));
+        consensusServiceStub.responses.add(response(3L));
+
+        var subscriber = new TestSubscriber(1);
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+
+        subscriber.awaitReceived(1);
+        Uninterruptibles.sleepUninterruptibly(200, TimeUnit.MILLISECONDS);
+        assertThat(subscriber.received).hasSize(1);
+        assertThat(subscriber.complete).isFalse();
+
+        subscriber.subscription.request(2);
+        subscriber.awaitComplete();
+
+        assertThat(subscriber.errors).isEmpty();
+        Assertions.assertThat(subscriber.received)
+                .extracting(t -> t.sequenceNumber)
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @Timeout(3)
+    void publisherChunked() {
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(response(1L, 2));
+        consensusServiceStub.responses.add(response(2L, 2));
+
+        var subscriber = new TestSubscriber(1);
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+        subscriber.awaitComplete();
+
+        assertThat(subscriber.errors).isEmpty();
+        Assertions.assertThat(subscriber.received)
+                .hasSize(1)
+                .first()
+                .extracting(t -> t.chunks)
+                .asInstanceOf(InstanceOfAssertFactories.ARRAY)
+                .hasSize(2);
+    }
+
+    @Test
+    @Timeout(3)
+    void publisherRetryRecovers() {
+        ConsensusTopicResponse response = response(1L);
+        Instant nextTimestamp = toInstant(response.getConsensusTimestamp()).plusNanos(1L);
+        ConsensusTopicQuery.Builder request = request();
+
+        consensusServiceStub.requests.add(request.build());
+        consensusServiceStub.requests.add(
+                request.setConsensusStartTime(toTimestamp(nextTimestamp)).build());
+        consensusServiceStub.responses.add(response);
+        consensusServiceStub.responses.add(Status.UNAVAILABLE.asRuntimeException());
+        consensusServiceStub.responses.add(response(2L));
+
+        var subscriber = new TestSubscriber(Long.MAX_VALUE);
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+        subscriber.awaitComplete();
+
+        assertThat(subscriber.errors).isEmpty();
+        Assertions.assertThat(subscriber.received)
+                .extracting(t -> t.sequenceNumber)
+                .containsExactly(1L, 2L);
+        assertThat(complete).isFalse();
+    }
+
+    @Test
+    @Timeout(3)
+    void publisherNoRetry() {
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(Status.INVALID_ARGUMENT.asRuntimeException());
+
+        var subscriber = new TestSubscriber(1);
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+        subscriber.awaitComplete();
+
+        assertThat(subscriber.received).isEmpty();
+        assertThat(subscriber.errors).hasSize(1).first().isInstanceOf(StatusRuntimeException.class);
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    @Timeout(3)
+    void resumesFromCheckpoint() {
+        var checkpoints = new ConcurrentHashMap<TopicId, Instant>();
+        var store = new SubscriptionCheckpointStore() {
+            @Override
+            public Instant load(TopicId topicId) {
+                return checkpoints.get(topicId);
+            }
+
+            @Override
+            public void save(TopicId topicId, Instant consensusTimestamp) {
+                checkpoints.put(topicId, consensusTimestamp);
+            }
+        };
+        var topicId = TopicId.fromString("0.0.1000");
+        checkpoints.put(topicId, START_TIME.plusSeconds(1L));
+        topicMessageQuery.setCheckpointStore(store).setCheckpointInterval(2);
+
+        consensusServiceStub.requests.add(request()
+                .setConsensusStartTime(toTimestamp(START_TIME.plusSeconds(1L).plusNanos(1L)))
+                .build());
+        consensusServiceStub.responses.add(response(2L));
+        consensusServiceStub.responses.add(response(3L));
+        consensusServiceStub.responses.add(response(4L));
+
+        subscribeToMirror(received::add);
+
+        assertThat(errors).isEmpty();
+        Assertions.assertThat(received).extracting(t -> t.sequenceNumber).containsExactly(2L, 3L, 4L);
+        // Saved after the second message and when the subscription completed
+        assertThat(checkpoints).containsEntry(topicId, START_TIME.plusSeconds(4L));
+    }
+
+    @Test
+    @Timeout(30)
+    void retriesDoNotBlockExecutor() throws Exception {
+        var failingService = new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+            @Override
+            public void subscribeTopic(
+                    ConsensusTopicQuery consensusTopicQuery, StreamObserver<ConsensusTopicResponse> streamObserver) {
+                streamObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+            }
+        };
+        var failingServer = InProcessServerBuilder.forName("failing")
+                .addService(failingService)
+                .directExecutor()
+                .build()
+                .start();
+        var executor = Executors.newFixedThreadPool(4);
+        var failingClient = Client.forNetwork(Collections.emptyMap(), executor);
+        failingClient.setMirrorNetwork(List.of("in-process:failing"));
+
+        var failures = new CountDownLatch(1000);
+        var query = new TopicMessageQuery()
+                .setTopicId(TopicId.fromString("0.0.1000"))
+                .setMaxAttempts(1)
+                .setMaxBackoff(Duration.ofMillis(500L))
+                .setErrorHandler((t, r) -> failures.countDown());
+
+        var handles = new ArrayList<SubscriptionHandle>();
+        for (int i = 0; i < 1000; i++) {
+            handles.add(query.subscribe(failingClient, message -> {}));
+        }
+
+        // With the 4 threads parked while waiting 500 ms for each retry, this would take more than 2 minutes
+        assertThat(executor.submit(() -> true).get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(failures.await(10, TimeUnit.SECONDS)).isTrue();
+
+        handles.forEach(SubscriptionHandle::unsubscribe);
+        failingClient.close();
+        executor.shutdownNow();
+        failingServer.shutdown();
+        failingServer.awaitTermination();
+    }
+
     private void subscribeToMirror(Consumer<TopicMessage> onNext) {
         SubscriptionHandle subscriptionHandle = topicMessageQuery.subscribe(client, onNext);
         Stopwatch stopwatch = Stopwatch.createStarted();
@@ -463,6 +629,51 @@ class TopicMessageQueryTest {
         }
     }
 
+    private static class TestSubscriber implements Flow.Subscriber<TopicMessage> {
+        private final long initialRequest;
+        private final List<TopicMessage> received = new CopyOnWriteArrayList<>();
+        private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        private volatile boolean complete = false;
+        private volatile Flow.Subscription subscription;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(TopicMessage item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            errors.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+
+        void awaitReceived(int count) {
+            while (received.size() < count) {
+                Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        void awaitComplete() {
+            while (!complete && errors.isEmpty()) {
+                Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
     private byte[] combine(byte[] array1, byte[] array2) {
         byte[] joinedArray = new byte[array1.length + array2.length];
         System.arraycopy(array1, 0, joinedArray, 0, array1.length);
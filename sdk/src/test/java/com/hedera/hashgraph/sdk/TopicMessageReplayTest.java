@@ -0,0 +1,139 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.ConsensusMessageChunkInfo;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class TopicMessageReplayTest {
+    private static final Instant START_TIME = Instant.ofEpochSecond(1554158542);
+    private static final int MESSAGES = 100;
+
+    // The chunks of one message, on both sides of the boundary of the second and third of four slices
+    private static final int FIRST_CHUNK = 49;
+    private static final int SECOND_CHUNK = 52;
+
+    private final List<ConsensusTopicResponse> responses = new ArrayList<>();
+    private Client client;
+    private Server server;
+
+    @BeforeEach
+    void setup() throws Exception {
+        for (int i = 1; i <= MESSAGES; i++) {
+            var response = ConsensusTopicResponse.newBuilder()
+                    .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(START_TIME.getEpochSecond() + i))
+                    .setSequenceNumber(i)
+                    .setMessage(ByteString.copyFromUtf8("message " + i))
+                    .setRunningHash(ByteString.copyFromUtf8("hash " + i));
+            if (i == FIRST_CHUNK || i == SECOND_CHUNK) {
+                response.setChunkInfo(ConsensusMessageChunkInfo.newBuilder()
+                        .setInitialTransactionID(new TransactionId(new AccountId(3), START_TIME).toProtobuf())
+                        .setNumber(i == FIRST_CHUNK ? 1 : 2)
+                        .setTotal(2));
+            }
+            responses.add(response.build());
+        }
+
+        client = Client.forNetwork(Collections.emptyMap());
+        client.setMirrorNetwork(List.of("in-process:topicMessageReplay"));
+        server = InProcessServerBuilder.forName("topicMessageReplay")
+                .addService(new HistoryService())
+                .directExecutor()
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        client.close();
+        server.shutdown();
+        server.awaitTermination();
+    }
+
+    @Test
+    @Timeout(10)
+    void replaysInConsensusOrder() throws Exception {
+        var received = new CopyOnWriteArrayList<TopicMessage>();
+
+        query().replay(client, 4, TopicMessageQuery.ReplayOrder.ORDERED, received::add)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(received).hasSize(MESSAGES - 1);
+        assertThat(received)
+                .extracting(message -> message.consensusTimestamp)
+                .isSortedAccordingTo(Instant::compareTo)
+                .doesNotHaveDuplicates();
+
+        var chunked = received.stream()
+                .filter(message -> message.sequenceNumber == SECOND_CHUNK)
+                .findFirst()
+                .orElseThrow();
+        assertThat(chunked.chunks).hasSize(2);
+        assertThat(chunked.contents).isEqualTo(("message " + FIRST_CHUNK + "message " + SECOND_CHUNK).getBytes());
+    }
+
+    @Test
+    @Timeout(10)
+    void replaysUnordered() throws Exception {
+        var received = new CopyOnWriteArrayList<TopicMessage>();
+
+        query().replay(client, 8, TopicMessageQuery.ReplayOrder.UNORDERED, received::add)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(received).hasSize(MESSAGES - 1);
+        assertThat(received).extracting(message -> message.sequenceNumber).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void requiresStartAndEndTime() {
+        var query = new TopicMessageQuery().setTopicId(TopicId.fromString("0.0.1000"));
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> query.replay(client, 4, TopicMessageQuery.ReplayOrder.ORDERED, message -> {}));
+    }
+
+    private static TopicMessageQuery query() {
+        return new TopicMessageQuery()
+                .setTopicId(TopicId.fromString("0.0.1000"))
+                .setStartTime(START_TIME)
+                .setEndTime(START_TIME.plusSeconds(MESSAGES + 1));
+    }
+
+    private class HistoryService extends ConsensusServiceGrpc.ConsensusServiceImplBase {
+        @Override
+        public void subscribeTopic(ConsensusTopicQuery query, StreamObserver<ConsensusTopicResponse> observer) {
+            var start = toInstant(query.getConsensusStartTime());
+            var end = toInstant(query.getConsensusEndTime());
+            for (var response : responses) {
+                var consensusTimestamp = toInstant(response.getConsensusTimestamp());
+                if (!consensusTimestamp.isBefore(start) && consensusTimestamp.isBefore(end)) {
+                    observer.onNext(response);
+                }
+            }
+            observer.onCompleted();
+        }
+
+        private Instant toInstant(Timestamp timestamp) {
+            return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+        }
+    }
+}
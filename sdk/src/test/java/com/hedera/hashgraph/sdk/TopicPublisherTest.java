@@ -0,0 +1,181 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TopicPublisherTest {
+    private static final TopicId TOPIC_ID = TopicId.fromString("0.0.5005");
+
+    private static final TransactionResponse OK = TransactionResponse.newBuilder()
+            .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+            .build();
+
+    private static final TransactionResponse BUSY = TransactionResponse.newBuilder()
+            .setNodeTransactionPrecheckCode(ResponseCodeEnum.BUSY)
+            .build();
+
+    @Test
+    @DisplayName("Messages are published with one transaction each")
+    void publishesMessages() throws Exception {
+        var bodies = new CopyOnWriteArrayList<TransactionBody>();
+        var service = new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+            @Override
+            public void submitMessage(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                bodies.add(parseBody(request));
+                responseObserver.onNext(OK);
+                responseObserver.onCompleted();
+            }
+        };
+        var server = new TestServer("topicPublisherPublishes", service);
+        var publisher = new TopicPublisher(server.client, TOPIC_ID).setMaxInFlightPerNode(2);
+
+        var messages = new ArrayList<String>();
+        var futures = new ArrayList<CompletableFuture<com.hedera.hashgraph.sdk.TransactionResponse>>();
+        for (int i = 0; i < 20; i++) {
+            messages.add("message " + i);
+            futures.add(publisher.publish(messages.get(i)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+
+        assertThat(bodies).hasSize(20);
+        assertThat(bodies)
+                .extracting(body -> body.getConsensusSubmitMessage().getMessage().toStringUtf8())
+                .containsExactlyInAnyOrderElementsOf(messages);
+        assertThat(bodies)
+                .extracting(body -> TopicId.fromProtobuf(body.getConsensusSubmitMessage().getTopicID()))
+                .containsOnly(TOPIC_ID);
+
+        var statistics = publisher.getStatistics();
+        assertThat(statistics.getPublishedCount()).isEqualTo(20);
+        assertThat(statistics.getFailedCount()).isZero();
+        assertThat(statistics.getInFlightCount()).isZero();
+        assertThat(statistics.getMedianLatency()).isNotNull();
+
+        publisher.close();
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> publisher.publish("closed"));
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Messages are rejected when all nodes are saturated and the queue is full")
+    void rejectsWhenSaturated() throws Exception {
+        var pending = new CopyOnWriteArrayList<StreamObserver<TransactionResponse>>();
+        var service = new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+            @Override
+            public void submitMessage(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                pending.add(responseObserver);
+            }
+        };
+        var server = new TestServer("topicPublisherRejects", service);
+        var publisher = new TopicPublisher(server.client, TOPIC_ID, 1)
+                .setMaxInFlightPerNode(1)
+                .setBackpressure(TopicPublisher.Backpressure.REJECT);
+
+        // One message in flight on each of the two nodes
+        var futures = new ArrayList<CompletableFuture<com.hedera.hashgraph.sdk.TransactionResponse>>();
+        futures.add(publisher.publish("first"));
+        futures.add(publisher.publish("second"));
+        awaitSize(pending, 2);
+
+        // One message prepared for each of the two nodes
+        futures.add(publisher.publish("third"));
+        futures.add(publisher.publish("fourth"));
+        awaitPrepared(publisher, 2);
+
+        futures.add(publisher.publish("queued"));
+        var rejected = publisher.publish("rejected");
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(rejected::get)
+                .withCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(publisher.getStatistics().getRejectedCount()).isEqualTo(1);
+        assertThat(publisher.getStatistics().getQueuedCount()).isEqualTo(1);
+        assertThat(publisher.getStatistics().getPreparedCount()).isEqualTo(2);
+
+        // Answering a transaction frees its node for the next message
+        for (int i = 0; i < 5; i++) {
+            awaitSize(pending, i + 1);
+            pending.get(i).onNext(OK);
+            pending.get(i).onCompleted();
+        }
+
+        for (var future : futures) {
+            assertThat(future.get()).isNotNull();
+        }
+        assertThat(publisher.getStatistics().getPublishedCount()).isEqualTo(5);
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("A message is sent to another node when its node is busy")
+    void failsOverToAnotherNode() throws Exception {
+        var nodeIds = new CopyOnWriteArrayList<AccountId>();
+        var service = new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+            @Override
+            public void submitMessage(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                nodeIds.add(AccountId.fromProtobuf(parseBody(request).getNodeAccountID()));
+                responseObserver.onNext(nodeIds.size() == 1 ? BUSY : OK);
+                responseObserver.onCompleted();
+            }
+        };
+        var server = new TestServer("topicPublisherFailsOver", service);
+        var publisher = new TopicPublisher(server.client, TOPIC_ID);
+
+        var response = publisher.publish("message").get();
+
+        assertThat(nodeIds).hasSize(2).doesNotHaveDuplicates();
+        assertThat(response.nodeId).isEqualTo(nodeIds.get(1));
+
+        var statistics = publisher.getStatistics();
+        assertThat(statistics.getPublishedCount()).isEqualTo(1);
+        assertThat(statistics.getPreparedCount()).isZero();
+        assertThat(statistics.getInFlightCount()).isZero();
+
+        server.close();
+    }
+
+    private static TransactionBody parseBody(Transaction request) {
+        try {
+            var signedTransaction = SignedTransaction.parseFrom(request.getSignedTransactionBytes());
+            return TransactionBody.parseFrom(signedTransaction.getBodyBytes());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitPrepared(TopicPublisher publisher, int count) throws InterruptedException {
+        for (int i = 0; i < 500 && publisher.getStatistics().getPreparedCount() < count; i++) {
+            Thread.sleep(10);
+        }
+
+        assertThat(publisher.getStatistics().getPreparedCount()).isEqualTo(count);
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        for (int i = 0; i < 500 && list.size() < size; i++) {
+            Thread.sleep(10);
+        }
+
+        assertThat(list).hasSize(size);
+    }
+}
@@ -0,0 +1,136 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class TopicSubscriptionManagerTest {
+    private static final int TOPICS = 10;
+    private static final int MESSAGES_PER_TOPIC = 50;
+    private static final Instant START_TIME = Instant.now().minusSeconds(60);
+
+    private Client client;
+    private Server server;
+
+    @BeforeEach
+    void setup() throws Exception {
+        client = Client.forNetwork(Collections.emptyMap());
+        client.setMirrorNetwork(List.of("in-process:topicSubscriptionManager"));
+        server = InProcessServerBuilder.forName("topicSubscriptionManager")
+                .addService(new MessageService())
+                .directExecutor()
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        client.close();
+        server.shutdown();
+        server.awaitTermination();
+    }
+
+    @Test
+    @Timeout(10)
+    void dispatchesEachTopicInOrderOverBoundedChannels() throws Exception {
+        var manager = new TopicSubscriptionManager(client, 2)
+                .setMaxChannels(2)
+                .setMaxStreamsPerChannel(3)
+                .setMaxQueuedMessagesPerTopic(4);
+
+        var received = new ConcurrentHashMap<TopicId, List<Long>>();
+        var completed = new CountDownLatch(TOPICS);
+        for (int i = 1; i <= TOPICS; i++) {
+            var topicId = new TopicId(0, 0, 1000 + i);
+            var messages = new CopyOnWriteArrayList<Long>();
+            received.put(topicId, messages);
+
+            var query = new TopicMessageQuery()
+                    .setTopicId(topicId)
+                    .setCompletionHandler(completed::countDown)
+                    .setErrorHandler((t, message) -> {});
+            manager.subscribe(query, message -> messages.add(message.sequenceNumber));
+        }
+
+        assertThat(manager.getChannelCount()).isEqualTo(2);
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var expected = new Long[MESSAGES_PER_TOPIC];
+        for (int i = 0; i < MESSAGES_PER_TOPIC; i++) {
+            expected[i] = i + 1L;
+        }
+        for (Map.Entry<TopicId, List<Long>> entry : received.entrySet()) {
+            assertThat(entry.getValue()).as("messages of %s", entry.getKey()).containsExactly(expected);
+        }
+        assertThat(manager.getSubscriptionCount()).isZero();
+
+        manager.close();
+    }
+
+    @Test
+    @Timeout(10)
+    void reportsLagPerTopic() throws Exception {
+        var manager = new TopicSubscriptionManager(client, 1);
+        var topicId = new TopicId(0, 0, 2000);
+        var lastMessage = new CountDownLatch(1);
+
+        // Blocks the consumer on the last message, so the subscription is still active
+        var release = new CountDownLatch(1);
+        manager.subscribe(new TopicMessageQuery().setTopicId(topicId), message -> {
+            if (message.sequenceNumber == MESSAGES_PER_TOPIC) {
+                lastMessage.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        assertThat(lastMessage.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(manager.getLag()).containsOnlyKeys(topicId);
+        assertThat(manager.getLag().get(topicId)).isGreaterThan(Duration.ofSeconds(59));
+
+        release.countDown();
+        manager.close();
+    }
+
+    private static class MessageService extends ConsensusServiceGrpc.ConsensusServiceImplBase {
+        @Override
+        public void subscribeTopic(ConsensusTopicQuery query, StreamObserver<ConsensusTopicResponse> observer) {
+            for (long sequenceNumber = 1; sequenceNumber <= MESSAGES_PER_TOPIC; sequenceNumber++) {
+                var timestamp = START_TIME.plusMillis(sequenceNumber);
+                observer.onNext(ConsensusTopicResponse.newBuilder()
+                        .setConsensusTimestamp(Timestamp.newBuilder()
+                                .setSeconds(timestamp.getEpochSecond())
+                                .setNanos(timestamp.getNano()))
+                        .setSequenceNumber(sequenceNumber)
+                        .setMessage(ByteString.copyFromUtf8("message " + sequenceNumber))
+                        .setRunningHash(ByteString.copyFromUtf8("hash " + sequenceNumber))
+                        .build());
+            }
+            observer.onCompleted();
+        }
+    }
+}
@@ -9,8 +9,12 @@ import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import com.hedera.hashgraph.sdk.proto.TokenAssociateTransactionBody;
 import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.Test;
 
@@ -93,6 +97,45 @@ public class TransactionTest {
         assertThat(tokenAssociateTransactionFromBytes).isInstanceOf(TokenAssociateTransaction.class);
     }
 
+    @Test
+    void parallelSigningProducesSameBytesAsSerialSigning() {
+        var nodeAccountIds = new ArrayList<AccountId>();
+        for (int i = 3; i < 13; i++) {
+            nodeAccountIds.add(new AccountId(i));
+        }
+        var keys = List.of(unusedPrivateKey, PrivateKey.generateECDSA(), PrivateKey.generateECDSA());
+
+        var serial = spawnTransferTransaction(nodeAccountIds, keys);
+        var parallel = spawnTransferTransaction(nodeAccountIds, keys).setSigningExecutor(ForkJoinPool.commonPool());
+        assertThat(parallel.toBytes()).isEqualTo(serial.toBytes());
+
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var helped = spawnTransferTransaction(nodeAccountIds, keys).setSigningExecutor(executor);
+            assertThat(helped.toBytes()).isEqualTo(serial.toBytes());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var rejected = spawnTransferTransaction(nodeAccountIds, keys).setSigningExecutor(command -> {
+            throw new RejectedExecutionException();
+        });
+        assertThat(rejected.toBytes()).isEqualTo(serial.toBytes());
+    }
+
+    private TransferTransaction spawnTransferTransaction(List<AccountId> nodeAccountIds, List<PrivateKey> keys) {
+        var transaction = new TransferTransaction()
+                .addHbarTransfer(testAccountId, new Hbar(1).negated())
+                .addHbarTransfer(new AccountId(1800), new Hbar(1))
+                .setNodeAccountIds(nodeAccountIds)
+                .setTransactionId(TransactionId.withValidStart(testAccountId, validStart))
+                .freeze();
+        for (var key : keys) {
+            transaction.sign(key);
+        }
+        return transaction;
+    }
+
     private TokenAssociateTransaction spawnTestTransaction(TransactionBody txBody) {
         return new TokenAssociateTransaction(txBody)
                 .setNodeAccountIds(testNodeAccountIds)